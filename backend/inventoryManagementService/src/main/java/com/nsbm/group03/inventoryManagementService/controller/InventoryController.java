@@ -1,9 +1,14 @@
 package com.nsbm.group03.inventoryManagementService.controller;
 
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductRequestDTO;
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductResultDTO;
 import com.nsbm.group03.inventoryManagementService.dto.InventoryItemDTO;
 import com.nsbm.group03.inventoryManagementService.service.InventoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -13,10 +18,11 @@ class InventoryController {
     @Autowired
     private InventoryService inventoryService;
 
-    // Get all inventory items
+    // Get all inventory items (with an ETag; a matching If-None-Match gets 304 Not Modified)
     @GetMapping
-    public List<InventoryItemDTO> getInventory() {
-        return inventoryService.getAllItem();
+    public ResponseEntity<List<InventoryItemDTO>> getInventory() {
+        List<InventoryItemDTO> items = inventoryService.getAllItem();
+        return ResponseEntity.ok().eTag(inventoryService.etagOf(items)).body(items);
     }
 
     // Create new inventory item
@@ -31,10 +37,17 @@ class InventoryController {
         return inventoryService.updateStock(id, amountUsed);
     }
 
-    // Get inventory item by id
+    // Deduct many items at once (kitchen orders); one result per line
+    @PostMapping("/deduct")
+    public List<InventoryDeductResultDTO> deductItems(@RequestBody List<InventoryDeductRequestDTO> lines) {
+        return inventoryService.deductBatch(lines);
+    }
+
+    // Get inventory item by id (with an ETag, as above)
     @GetMapping("/{id}")
-    public InventoryItemDTO getItemById(@PathVariable Long id) {
-        return inventoryService.getItemById(id);
+    public ResponseEntity<InventoryItemDTO> getItemById(@PathVariable Long id) {
+        InventoryItemDTO item = inventoryService.getItemById(id);
+        return ResponseEntity.ok().eTag(inventoryService.etagOf(List.of(item))).body(item);
     }
 
     // Update inventory item
@@ -61,10 +74,22 @@ class InventoryController {
         return inventoryService.getLowStockItems();
     }
 
+    // Stream low stock changes (SSE): a snapshot, then an event whenever an item crosses its threshold
+    @GetMapping(value = "/low-stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLowStock() {
+        return inventoryService.streamLowStock();
+    }
+
     // Search inventory items
     @GetMapping("/search")
     public List<InventoryItemDTO> searchItems(@RequestParam String keyword) {
         return inventoryService.searchItems(keyword);
     }
 
+    // Item names for typeahead
+    @GetMapping("/suggest")
+    public List<String> suggestNames(@RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+        return inventoryService.suggestNames(prefix, limit);
+    }
+
 }
@@ -0,0 +1,11 @@
+package com.nsbm.group03.inventoryManagementService.dto;
+
+import lombok.Data;
+
+// One line of a batch deduction (sent by the kitchen service)
+@Data
+public class InventoryDeductRequestDTO {
+    private String itemName;
+    private int quantity;
+    private String requestId; // optional idempotency key; a line with a known requestId is not deducted again
+}
@@ -0,0 +1,25 @@
+package com.nsbm.group03.inventoryManagementService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of one line of a batch deduction
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryDeductResultDTO {
+
+    public enum Outcome {
+        DEDUCTED,
+        DUPLICATE,          // requestId was already applied
+        INSUFFICIENT_STOCK,
+        NOT_FOUND,
+        INVALID
+    }
+
+    private String itemName;
+    private String requestId;
+    private int quantity;
+    private Outcome outcome;
+}
@@ -0,0 +1,28 @@
+package com.nsbm.group03.inventoryManagementService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// An item crossing its low-stock threshold (sent over SSE and to the webhook)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockEventDTO {
+
+    public enum Type {
+        LOW,        // quantity dropped to or below the threshold
+        RECOVERED,  // back above the threshold
+        REMOVED     // a low item was deleted
+    }
+
+    private Type type;
+    private Long itemId;
+    private String name;
+    private String category;
+    private int quantity;
+    private int threshold;
+    private LocalDateTime occurredAt;
+}
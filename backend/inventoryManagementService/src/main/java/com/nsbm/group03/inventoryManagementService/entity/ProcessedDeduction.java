@@ -0,0 +1,22 @@
+package com.nsbm.group03.inventoryManagementService.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// requestId of a deduction line that has been applied, so a redelivered line is skipped
+@Entity
+@Table(name = "processed_deduction")
+@Data
+public class ProcessedDeduction {
+    @Id
+    @Column(length = 100)
+    private String requestId;
+    private Long itemId;
+    private int quantity;
+    private LocalDateTime processedAt;
+}
@@ -2,7 +2,12 @@ package com.nsbm.group03.inventoryManagementService.repository;
 
 import com.nsbm.group03.inventoryManagementService.entity.InventoryItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 import java.util.List;
 
 public interface InventoryRepository extends JpaRepository<InventoryItem, Long> {
@@ -14,4 +19,20 @@ public interface InventoryRepository extends JpaRepository<InventoryItem, Long>
 
     @Query("SELECT i FROM InventoryItem i WHERE i.quantity <= CASE WHEN i.lowStock > 0 THEN i.lowStock ELSE 10 END")
     List<InventoryItem> findItemsAtOrBelowLowStock();
+
+    // Items of a batch deduction in one query (names matched case-insensitively)
+    @Query("SELECT i FROM InventoryItem i WHERE LOWER(TRIM(i.name)) IN :names ORDER BY i.id")
+    List<InventoryItem> findByLowerNameIn(@Param("names") Collection<String> names);
+
+    // Atomic stock changes: the database applies them to the current quantity, so concurrent calls never lose an update.
+    // Consume returns 0 when the item is missing or has less than the amount left.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryItem i SET i.quantity = i.quantity - :amount WHERE i.id = :id AND i.quantity >= :amount")
+    int consumeStock(@Param("id") Long id, @Param("amount") int amount);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryItem i SET i.quantity = i.quantity + :amount WHERE i.id = :id")
+    int addStock(@Param("id") Long id, @Param("amount") int amount);
 }
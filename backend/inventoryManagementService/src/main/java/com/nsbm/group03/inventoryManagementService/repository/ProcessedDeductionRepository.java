@@ -0,0 +1,7 @@
+package com.nsbm.group03.inventoryManagementService.repository;
+
+import com.nsbm.group03.inventoryManagementService.entity.ProcessedDeduction;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProcessedDeductionRepository extends JpaRepository<ProcessedDeduction, String> {
+}
@@ -0,0 +1,377 @@
+package com.nsbm.group03.inventoryManagementService.service;
+
+import com.nsbm.group03.inventoryManagementService.dto.InventoryItemDTO;
+import com.nsbm.group03.inventoryManagementService.entity.InventoryItem;
+import com.nsbm.group03.inventoryManagementService.repository.InventoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search over item name and category, so search and typeahead never hit the database.
+ * Keywords of three or more characters are looked up in a trigram index and checked against the text;
+ * shorter ones scan the items. Name words are also kept in a sorted map for prefix typeahead.
+ * InventoryService updates the index on every change it makes; the full rebuild at startup and every
+ * inventory.search.rebuild-interval picks up changes made by other instances.
+ */
+@Component
+public class InventorySearchIndex {
+    private static final int GRAM = 3;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private Index index = new Index();           // guarded by lock
+    private Map<Long, Entry> changedDuringRebuild; // guarded by lock, set while a rebuild reads the table; null value = removed
+    private volatile boolean built;
+
+    // Same matches as name or category LIKE %keyword% (ignoring case), best match first
+    public List<InventoryItemDTO> search(String keyword) {
+        String key = keyword == null ? "" : keyword.toLowerCase(Locale.ROOT);
+        ensureBuilt();
+        List<Entry> matches;
+        lock.readLock().lock();
+        try {
+            matches = index.matches(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.<Entry>comparingInt(entry -> rank(entry, key))
+                .thenComparing(entry -> entry.nameKey, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(entry -> entry.id));
+        List<InventoryItemDTO> results = new ArrayList<>(matches.size());
+        for (Entry entry : matches) {
+            results.add(entry.toDTO());
+        }
+        return results;
+    }
+
+    // Distinct item names with a word starting with the prefix, names starting with it first
+    public List<String> suggest(String prefix, int limit) {
+        String key = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        if (key.isEmpty() || limit <= 0) return List.of();
+        ensureBuilt();
+        List<Entry> matches;
+        lock.readLock().lock();
+        try {
+            matches = index.wordPrefixMatches(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.<Entry>comparingInt(entry -> entry.nameKey.startsWith(key) ? 0 : 1)
+                .thenComparing(entry -> entry.nameKey)
+                .thenComparing(entry -> entry.id));
+        Set<String> names = new LinkedHashSet<>();
+        for (Entry entry : matches) {
+            if (names.size() == limit) break;
+            names.add(entry.name);
+        }
+        return new ArrayList<>(names);
+    }
+
+    public void put(InventoryItem item) {
+        Entry entry = new Entry(item.getId(), item.getName(), item.getCategory(), item.getQuantity(), item.getLowStock());
+        lock.writeLock().lock();
+        try {
+            index.put(entry);
+            if (changedDuringRebuild != null) changedDuringRebuild.put(entry.id, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            index.remove(id);
+            if (changedDuringRebuild != null) changedDuringRebuild.put(id, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.search.rebuild-interval:600000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildFromTable();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return index.slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureBuilt() {
+        if (built) return;
+        rebuildLock.lock();
+        try {
+            if (!built) rebuildFromTable();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Reads the table without blocking searches, then swaps the new index in and replays the changes made meanwhile
+    private void rebuildFromTable() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index fresh = new Index();
+        try {
+            for (InventoryItem item : inventoryRepository.findAll()) {
+                fresh.put(new Entry(item.getId(), item.getName(), item.getCategory(), item.getQuantity(), item.getLowStock()));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, Entry> change : changedDuringRebuild.entrySet()) {
+                if (change.getValue() == null) {
+                    fresh.remove(change.getKey());
+                } else {
+                    fresh.put(change.getValue());
+                }
+            }
+            index = fresh;
+            changedDuringRebuild = null;
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 0 exact name, 1 name prefix, 2 start of a word in the name, 3 elsewhere in the name, 4 category only
+    private static int rank(Entry entry, String key) {
+        String name = entry.nameKey;
+        if (name == null) return 4;
+        if (name.equals(key)) return 0;
+        if (name.startsWith(key)) return 1;
+        int at = name.indexOf(key);
+        if (at < 0) return 4;
+        for (; at >= 0; at = name.indexOf(key, at + 1)) {
+            if (!Character.isLetterOrDigit(name.charAt(at - 1))) return 2;
+        }
+        return 3;
+    }
+
+    private static Set<String> grams(String text, Set<String> into) {
+        if (text != null) {
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                into.add(text.substring(i, i + GRAM));
+            }
+        }
+        return into;
+    }
+
+    private static final class Entry {
+        final Long id;
+        final String name;
+        final String category;
+        final int quantity;
+        final int lowStock;
+        final String nameKey;
+        final String categoryKey;
+
+        Entry(Long id, String name, String category, int quantity, int lowStock) {
+            this.id = id;
+            this.name = name;
+            this.category = category;
+            this.quantity = quantity;
+            this.lowStock = lowStock;
+            this.nameKey = name == null ? null : name.toLowerCase(Locale.ROOT);
+            this.categoryKey = category == null ? null : category.toLowerCase(Locale.ROOT);
+        }
+
+        boolean matches(String key) {
+            return (nameKey != null && nameKey.contains(key)) || (categoryKey != null && categoryKey.contains(key));
+        }
+
+        boolean sameText(Entry other) {
+            return Objects.equals(nameKey, other.nameKey) && Objects.equals(categoryKey, other.categoryKey);
+        }
+
+        Set<String> words() {
+            Set<String> words = new HashSet<>();
+            if (nameKey != null) {
+                for (String word : nameKey.split("[^\\p{L}\\p{N}]+")) {
+                    if (!word.isEmpty()) words.add(word);
+                }
+            }
+            return words;
+        }
+
+        InventoryItemDTO toDTO() {
+            InventoryItemDTO dto = new InventoryItemDTO();
+            dto.setId(id);
+            dto.setName(name);
+            dto.setCategory(category);
+            dto.setQuantity(quantity);
+            dto.setLowStock(lowStock);
+            return dto;
+        }
+    }
+
+    // Items live in numbered slots; posting lists hold sorted slot numbers
+    private static final class Index {
+        final Map<Long, Integer> slotById = new HashMap<>();
+        final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+        final Map<String, Postings> grams = new HashMap<>();
+        final TreeMap<String, Postings> words = new TreeMap<>();
+        Entry[] entries = new Entry[64];
+        int used;
+
+        Entry get(Long id) {
+            Integer slot = slotById.get(id);
+            return slot == null ? null : entries[slot];
+        }
+
+        void put(Entry entry) {
+            Integer slot = slotById.get(entry.id);
+            if (slot != null) {
+                Entry old = entries[slot];
+                entries[slot] = entry;
+                if (old.sameText(entry)) return;
+                unlink(slot, old);
+            } else {
+                slot = freeSlots.isEmpty() ? used++ : freeSlots.pop();
+                if (slot == entries.length) entries = Arrays.copyOf(entries, slot * 2);
+                entries[slot] = entry;
+                slotById.put(entry.id, slot);
+            }
+            for (String gram : grams(entry.categoryKey, grams(entry.nameKey, new HashSet<>()))) {
+                grams.computeIfAbsent(gram, g -> new Postings()).add(slot);
+            }
+            for (String word : entry.words()) {
+                words.computeIfAbsent(word, w -> new Postings()).add(slot);
+            }
+        }
+
+        void remove(Long id) {
+            Integer slot = slotById.remove(id);
+            if (slot == null) return;
+            unlink(slot, entries[slot]);
+            entries[slot] = null;
+            freeSlots.push(slot);
+        }
+
+        private void unlink(int slot, Entry entry) {
+            for (String gram : grams(entry.categoryKey, grams(entry.nameKey, new HashSet<>()))) {
+                Postings postings = grams.get(gram);
+                if (postings != null && postings.remove(slot)) grams.remove(gram);
+            }
+            for (String word : entry.words()) {
+                Postings postings = words.get(word);
+                if (postings != null && postings.remove(slot)) words.remove(word);
+            }
+        }
+
+        List<Entry> matches(String key) {
+            List<Entry> matches = new ArrayList<>();
+            if (key.length() < GRAM) {
+                for (int slot = 0; slot < used; slot++) {
+                    Entry entry = entries[slot];
+                    if (entry != null && entry.matches(key)) matches.add(entry);
+                }
+                return matches;
+            }
+            List<Postings> lists = new ArrayList<>();
+            for (String gram : grams(key, new HashSet<>())) {
+                Postings postings = grams.get(gram);
+                if (postings == null) return matches;
+                lists.add(postings);
+            }
+            lists.sort(Comparator.comparingInt(postings -> postings.size));
+            Postings smallest = lists.get(0);
+            candidates:
+            for (int i = 0; i < smallest.size; i++) {
+                int slot = smallest.slots[i];
+                for (int l = 1; l < lists.size(); l++) {
+                    if (!lists.get(l).contains(slot)) continue candidates;
+                }
+                // all grams present, but not necessarily adjacent or in one field
+                Entry entry = entries[slot];
+                if (entry.matches(key)) matches.add(entry);
+            }
+            return matches;
+        }
+
+        List<Entry> wordPrefixMatches(String prefix) {
+            Set<Integer> slots = new HashSet<>();
+            for (Postings postings : words.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                for (int i = 0; i < postings.size; i++) {
+                    slots.add(postings.slots[i]);
+                }
+            }
+            List<Entry> matches = new ArrayList<>(slots.size());
+            for (int slot : slots) {
+                matches.add(entries[slot]);
+            }
+            return matches;
+        }
+    }
+
+    private static final class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            if (at >= 0) return;
+            at = -at - 1;
+            if (size == slots.length) slots = Arrays.copyOf(slots, size * 2);
+            System.arraycopy(slots, at, slots, at + 1, size - at);
+            slots[at] = slot;
+            size++;
+        }
+
+        // true when the list is now empty
+        boolean remove(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            if (at >= 0) {
+                System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+                size--;
+            }
+            return size == 0;
+        }
+
+        boolean contains(int slot) {
+            return Arrays.binarySearch(slots, 0, size, slot) >= 0;
+        }
+    }
+}
@@ -1,12 +1,33 @@
 package com.nsbm.group03.inventoryManagementService.service;
 
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductRequestDTO;
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductResultDTO;
 import com.nsbm.group03.inventoryManagementService.dto.InventoryItemDTO;
 import com.nsbm.group03.inventoryManagementService.entity.InventoryItem;
+import com.nsbm.group03.inventoryManagementService.entity.ProcessedDeduction;
 import com.nsbm.group03.inventoryManagementService.repository.InventoryRepository;
+import com.nsbm.group03.inventoryManagementService.repository.ProcessedDeductionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -14,8 +35,24 @@ public class InventoryService {
     @Autowired
     private InventoryRepository inventoryRepository;
 
+    @Autowired
+    private ProcessedDeductionRepository processedDeductionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StockLocks stockLocks;
+
+    @Autowired
+    private InventorySearchIndex searchIndex;
+
+    @Autowired
+    private LowStockTracker lowStockTracker;
+
     public List<InventoryItemDTO> getAllItem() {
-        return inventoryRepository.findAll().stream()
+        // stable order, so the ETag only changes when the items do
+        return inventoryRepository.findAll(Sort.by("id")).stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
     }
@@ -23,25 +60,146 @@ public class InventoryService {
     public InventoryItemDTO addItem(InventoryItemDTO itemDTO) {
         InventoryItem item = mapToEntity(itemDTO);
         InventoryItem savedItem = inventoryRepository.save(item);
+        itemChanged(savedItem);
         return mapToDTO(savedItem);
     }
 
     public InventoryItemDTO updateStock(Long id, int amountUsed) {
-        InventoryItem item = inventoryRepository.findById(id).orElseThrow(() -> new RuntimeException("Item not found"));
-        int newQuantity = item.getQuantity() - amountUsed;
-        if (newQuantity < 0) {
-            throw new org.springframework.web.server.ResponseStatusException(
-                    org.springframework.http.HttpStatus.BAD_REQUEST,
-                    "Cannot consume more than available stock. Available stock: " + item.getQuantity() + ", Requested: "
-                            + amountUsed);
+        return stockLocks.withLock(id, () -> {
+            if (inventoryRepository.consumeStock(id, amountUsed) == 0) {
+                InventoryItem item = inventoryRepository.findById(id).orElseThrow(() -> new RuntimeException("Item not found"));
+                throw new org.springframework.web.server.ResponseStatusException(
+                        org.springframework.http.HttpStatus.BAD_REQUEST,
+                        "Cannot consume more than available stock. Available stock: " + item.getQuantity() + ", Requested: "
+                                + amountUsed);
+            }
+            return stockChanged(id);
+        });
+    }
+
+    /**
+     * Deduct many lines in one transaction: items are resolved by name in one query and all decrements
+     * go out as one JDBC batch of conditional updates, so stock never goes below zero.
+     * Lines with a requestId that was already applied are reported as DUPLICATE and not deducted again.
+     */
+    @Transactional
+    public List<InventoryDeductResultDTO> deductBatch(List<InventoryDeductRequestDTO> lines) {
+        InventoryDeductResultDTO[] results = new InventoryDeductResultDTO[lines.size()];
+
+        Set<String> names = new HashSet<>();
+        Set<String> requestIds = new HashSet<>();
+        for (InventoryDeductRequestDTO line : lines) {
+            if (line.getItemName() != null) names.add(line.getItemName().trim().toLowerCase());
+            if (line.getRequestId() != null) requestIds.add(line.getRequestId());
         }
-        item.setQuantity(newQuantity);
-        InventoryItem updatedItem = inventoryRepository.save(item);
-        return mapToDTO(updatedItem);
+
+        // first item of each name (lowest id) in case names are not unique
+        Map<String, InventoryItem> itemsByName = new HashMap<>();
+        if (!names.isEmpty()) {
+            for (InventoryItem item : inventoryRepository.findByLowerNameIn(names)) {
+                itemsByName.putIfAbsent(item.getName().trim().toLowerCase(), item);
+            }
+        }
+        Set<String> alreadyApplied = new HashSet<>();
+        if (!requestIds.isEmpty()) {
+            for (ProcessedDeduction processed : processedDeductionRepository.findAllById(requestIds)) {
+                alreadyApplied.add(processed.getRequestId());
+            }
+        }
+
+        List<Integer> toDeduct = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> processedRows = new ArrayList<>();
+        Set<String> seenInBatch = new HashSet<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < lines.size(); i++) {
+            InventoryDeductRequestDTO line = lines.get(i);
+            String requestId = line.getRequestId();
+            InventoryItem item = line.getItemName() != null ? itemsByName.get(line.getItemName().trim().toLowerCase()) : null;
+            if (line.getItemName() == null || line.getItemName().isBlank() || line.getQuantity() <= 0) {
+                results[i] = result(line, InventoryDeductResultDTO.Outcome.INVALID);
+            } else if (requestId != null && (alreadyApplied.contains(requestId) || !seenInBatch.add(requestId))) {
+                results[i] = result(line, InventoryDeductResultDTO.Outcome.DUPLICATE);
+            } else if (item == null) {
+                results[i] = result(line, InventoryDeductResultDTO.Outcome.NOT_FOUND);
+            } else {
+                toDeduct.add(i);
+                updates.add(new Object[] {line.getQuantity(), item.getId(), line.getQuantity()});
+                if (requestId != null) {
+                    processedRows.add(new Object[] {requestId, item.getId(), line.getQuantity(), now});
+                }
+            }
+        }
+        if (toDeduct.isEmpty()) return List.of(results);
+
+        // recorded before deducting: a concurrent delivery of the same requestId waits on this insert and then fails
+        if (!processedRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO processed_deduction (request_id, item_id, quantity, processed_at) VALUES (?, ?, ?, ?)",
+                    processedRows);
+        }
+        int[] counts = jdbcTemplate.batchUpdate(
+                "UPDATE inventory_item SET quantity = quantity - ? WHERE id = ? AND quantity >= ?", updates);
+
+        List<Object[]> notApplied = new ArrayList<>();
+        List<Long> deductedIds = new ArrayList<>();
+        for (int n = 0; n < toDeduct.size(); n++) {
+            InventoryDeductRequestDTO line = lines.get(toDeduct.get(n));
+            boolean deducted = counts[n] != 0; // 0 rows: not enough stock left
+            results[toDeduct.get(n)] = result(line, deducted
+                    ? InventoryDeductResultDTO.Outcome.DEDUCTED
+                    : InventoryDeductResultDTO.Outcome.INSUFFICIENT_STOCK);
+            if (deducted) {
+                deductedIds.add((Long) updates.get(n)[1]);
+            } else if (line.getRequestId() != null) {
+                notApplied.add(new Object[] {line.getRequestId()});
+            }
+        }
+        // a line that was not deducted may be sent again once stock is back
+        if (!notApplied.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM processed_deduction WHERE request_id = ?", notApplied);
+        }
+        if (!deductedIds.isEmpty()) {
+            refreshItems(deductedIds);
+        }
+        return List.of(results);
+    }
+
+    // The batch bypassed the persistence context, so the changed rows are read back with JDBC. That waits for
+    // the commit: a rolled back batch never reaches the search index or the low-stock notifications, and of
+    // two batches on the same item the one committed last reads both deductions
+    private void refreshItems(List<Long> ids) {
+        afterCommit(() -> {
+            String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            List<InventoryItem> items = jdbcTemplate.query(
+                    "SELECT id, name, category, quantity, low_stock FROM inventory_item WHERE id IN (" + placeholders + ")",
+                    new BeanPropertyRowMapper<>(InventoryItem.class), ids.toArray());
+            items.forEach(this::itemChanged);
+        });
+    }
+
+    // Runs once the current transaction commits (never on rollback), or right away outside a transaction
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private InventoryDeductResultDTO result(InventoryDeductRequestDTO line, InventoryDeductResultDTO.Outcome outcome) {
+        return new InventoryDeductResultDTO(line.getItemName(), line.getRequestId(), line.getQuantity(), outcome);
     }
 
     public InventoryItemDTO getItemById(Long id) {
-        InventoryItem item = inventoryRepository.findById(id).orElseThrow(() -> new RuntimeException("Item not found"));
+        // 404 rather than 500, so callers (and the kitchen service's circuit breaker) can tell it from a failure
+        InventoryItem item = inventoryRepository.findById(id).orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(
+                org.springframework.http.HttpStatus.NOT_FOUND, "Item not found"));
         return mapToDTO(item);
     }
 
@@ -52,45 +210,68 @@ public class InventoryService {
         item.setQuantity(itemDetail.getQuantity());
         item.setLowStock(itemDetail.getLowStock());
         InventoryItem updatedItem = inventoryRepository.save(item);
+        itemChanged(updatedItem);
         return mapToDTO(updatedItem);
     }
 
     public void deleteItem(Long id) {
         InventoryItem item = inventoryRepository.findById(id).orElseThrow(() -> new RuntimeException("Item not found"));
         inventoryRepository.delete(item);
+        searchIndex.remove(id);
+        lowStockTracker.remove(id);
     }
 
     public InventoryItemDTO restockItem(Long id, int amount) {
-        InventoryItem item = inventoryRepository.findById(id).orElseThrow(() -> new RuntimeException("Item not found"));
         if (amount <= 0) {
             throw new RuntimeException("Restock amount must be greater than zero");
         }
-        item.setQuantity(item.getQuantity() + amount);
-        InventoryItem updatedItem = inventoryRepository.save(item);
-        return mapToDTO(updatedItem);
+        return stockLocks.withLock(id, () -> {
+            if (inventoryRepository.addStock(id, amount) == 0) {
+                throw new RuntimeException("Item not found");
+            }
+            return stockChanged(id);
+        });
     }
 
+    // Kept up to date by LowStockTracker, no query
     public List<InventoryItemDTO> getLowStockItems() {
-        return inventoryRepository.findItemsAtOrBelowLowStock().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return lowStockTracker.lowItems();
     }
 
+    public SseEmitter streamLowStock() {
+        return lowStockTracker.subscribe();
+    }
+
+    // Served from the in-memory index, best matches first
     public List<InventoryItemDTO> searchItems(String keyword) {
-        List<InventoryItem> itemsByName = inventoryRepository.findByNameContainingIgnoreCase(keyword);
-        List<InventoryItem> itemsByCategory = inventoryRepository.findByCategoryContainingIgnoreCase(keyword);
-
-        // Merge and remove duplicates if any item matches both name and category
-        List<InventoryItem> combinedItems = itemsByName;
-        for (InventoryItem item : itemsByCategory) {
-            if (!combinedItems.contains(item)) {
-                combinedItems.add(item);
-            }
-        }
+        return searchIndex.search(keyword);
+    }
 
-        return combinedItems.stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public List<String> suggestNames(String prefix, int limit) {
+        return searchIndex.suggest(prefix, limit);
+    }
+
+    // Re-read after an UPDATE query changed the quantity
+    private InventoryItemDTO stockChanged(Long id) {
+        InventoryItem item = inventoryRepository.findById(id).orElseThrow(() -> new RuntimeException("Item not found"));
+        itemChanged(item);
+        return mapToDTO(item);
+    }
+
+    // Keeps the search index and the low-stock list in step with the table
+    private void itemChanged(InventoryItem item) {
+        searchIndex.put(item);
+        lowStockTracker.update(item);
+    }
+
+    // Hash of the returned items for ETag/If-None-Match; the same data gives the same tag on every instance
+    public String etagOf(List<InventoryItemDTO> items) {
+        StringBuilder content = new StringBuilder();
+        for (InventoryItemDTO item : items) {
+            content.append(item.getId()).append('|').append(item.getName()).append('|').append(item.getCategory())
+                    .append('|').append(item.getQuantity()).append('|').append(item.getLowStock()).append('\n');
+        }
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
     }
 
     private InventoryItemDTO mapToDTO(InventoryItem item) {
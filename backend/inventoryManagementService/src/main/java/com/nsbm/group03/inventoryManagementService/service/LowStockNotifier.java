@@ -0,0 +1,106 @@
+package com.nsbm.group03.inventoryManagementService.service;
+
+import com.nsbm.group03.inventoryManagementService.dto.InventoryItemDTO;
+import com.nsbm.group03.inventoryManagementService.dto.LowStockEventDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Sends low-stock events to SSE subscribers and, when inventory.low-stock.webhook-url is set, POSTs them there.
+// One sender thread keeps the order of events and keeps slow clients off the request threads.
+@Component
+public class LowStockNotifier {
+    private static final Logger logger = LoggerFactory.getLogger(LowStockNotifier.class);
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "low-stock-notifier");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final RestClient webhookClient;
+    private final String webhookUrl;
+    private final long streamTimeout;
+
+    public LowStockNotifier(@Value("${inventory.low-stock.webhook-url:}") String webhookUrl,
+                            @Value("${inventory.low-stock.stream-timeout:1800000}") long streamTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofSeconds(2));
+        requestFactory.setReadTimeout(Duration.ofSeconds(5));
+        this.webhookClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.webhookUrl = webhookUrl;
+        this.streamTimeout = streamTimeout;
+    }
+
+    // The current low items go out as a "snapshot" event before any later "low-stock" event
+    public SseEmitter subscribe(List<InventoryItemDTO> current) {
+        SseEmitter emitter = new SseEmitter(streamTimeout);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> emitters.remove(emitter));
+        sender.execute(() -> {
+            try {
+                emitter.send(SseEmitter.event().name("snapshot").data(current, MediaType.APPLICATION_JSON));
+                emitters.add(emitter);
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    public void publish(LowStockEventDTO event) {
+        sender.execute(() -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().name("low-stock").data(event, MediaType.APPLICATION_JSON));
+                } catch (Exception e) {
+                    // client went away
+                    emitters.remove(emitter);
+                    emitter.completeWithError(e);
+                }
+            }
+            if (!webhookUrl.isBlank()) {
+                try {
+                    webhookClient.post().uri(webhookUrl).contentType(MediaType.APPLICATION_JSON).body(event)
+                            .retrieve().toBodilessEntity();
+                } catch (RestClientException e) {
+                    logger.warn("Low-stock webhook failed for item {} ({}): {}", event.getItemId(), event.getType(), e.getMessage());
+                }
+            }
+        });
+    }
+
+    int subscribers() {
+        return emitters.size();
+    }
+
+    // Before the web server stops, so open streams do not hold up a graceful shutdown
+    @EventListener(ContextClosedEvent.class)
+    void closeStreams() {
+        for (SseEmitter emitter : emitters) {
+            emitter.complete();
+        }
+        emitters.clear();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+}
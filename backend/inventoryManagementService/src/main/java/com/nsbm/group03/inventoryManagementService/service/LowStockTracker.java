@@ -0,0 +1,185 @@
+package com.nsbm.group03.inventoryManagementService.service;
+
+import com.nsbm.group03.inventoryManagementService.dto.InventoryItemDTO;
+import com.nsbm.group03.inventoryManagementService.dto.LowStockEventDTO;
+import com.nsbm.group03.inventoryManagementService.entity.InventoryItem;
+import com.nsbm.group03.inventoryManagementService.repository.InventoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the items at or below their low-stock threshold (lowStock, or 10 when it is not set, as in
+ * findItemsAtOrBelowLowStock). InventoryService reports every change it makes, so the list is read without a
+ * query and threshold crossings are published as they happen. The periodic resync picks up changes made by
+ * other instances.
+ */
+@Component
+public class LowStockTracker {
+    static final int DEFAULT_THRESHOLD = 10;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private LowStockNotifier notifier;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock resyncLock = new ReentrantLock();
+    private final Map<Long, InventoryItemDTO> lowItems = new TreeMap<>(); // guarded by lock
+    private Set<Long> changedDuringResync;                                // guarded by lock
+    private volatile List<InventoryItemDTO> snapshot = List.of();
+    private volatile boolean loaded;
+
+    public List<InventoryItemDTO> lowItems() {
+        ensureLoaded();
+        return snapshot;
+    }
+
+    public void update(InventoryItem item) {
+        int threshold = threshold(item.getLowStock());
+        boolean low = item.getQuantity() <= threshold;
+        lock.lock();
+        try {
+            InventoryItemDTO previous = low ? lowItems.put(item.getId(), toDTO(item)) : lowItems.remove(item.getId());
+            if (low || previous != null) {
+                snapshot = List.copyOf(lowItems.values());
+            }
+            if (changedDuringResync != null) changedDuringResync.add(item.getId());
+            // published under the lock so subscribers see events in the order of the changes;
+            // nothing is published before the first load, when every low item would look new
+            if (!loaded) return;
+            if (low && previous == null) {
+                notifier.publish(event(LowStockEventDTO.Type.LOW, toDTO(item)));
+            } else if (!low && previous != null) {
+                notifier.publish(event(LowStockEventDTO.Type.RECOVERED, toDTO(item)));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.lock();
+        try {
+            InventoryItemDTO previous = lowItems.remove(id);
+            if (changedDuringResync != null) changedDuringResync.add(id);
+            if (previous != null) {
+                snapshot = List.copyOf(lowItems.values());
+                if (loaded) notifier.publish(event(LowStockEventDTO.Type.REMOVED, previous));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Current low items first, then every crossing after them
+    public SseEmitter subscribe() {
+        ensureLoaded();
+        lock.lock();
+        try {
+            return notifier.subscribe(snapshot);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Reloads the low items and publishes the differences; the first load only fills the list
+    @Scheduled(fixedDelayString = "${inventory.low-stock.resync-interval:60000}")
+    public void resync() {
+        resyncLock.lock();
+        try {
+            reload();
+        } finally {
+            resyncLock.unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        resyncLock.lock();
+        try {
+            if (!loaded) reload();
+        } finally {
+            resyncLock.unlock();
+        }
+    }
+
+    private void reload() {
+        lock.lock();
+        try {
+            changedDuringResync = new HashSet<>();
+        } finally {
+            lock.unlock();
+        }
+        Map<Long, InventoryItemDTO> fresh = new TreeMap<>();
+        try {
+            for (InventoryItem item : inventoryRepository.findItemsAtOrBelowLowStock()) {
+                fresh.put(item.getId(), toDTO(item));
+            }
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                changedDuringResync = null;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+        lock.lock();
+        try {
+            // items changed here while the query ran are already up to date
+            for (Long id : changedDuringResync) {
+                InventoryItemDTO current = lowItems.get(id);
+                if (current == null) {
+                    fresh.remove(id);
+                } else {
+                    fresh.put(id, current);
+                }
+            }
+            changedDuringResync = null;
+            if (loaded) {
+                for (InventoryItemDTO item : fresh.values()) {
+                    if (!lowItems.containsKey(item.getId())) notifier.publish(event(LowStockEventDTO.Type.LOW, item));
+                }
+                for (InventoryItemDTO item : lowItems.values()) {
+                    if (!fresh.containsKey(item.getId())) notifier.publish(event(LowStockEventDTO.Type.RECOVERED, item));
+                }
+            }
+            lowItems.clear();
+            lowItems.putAll(fresh);
+            snapshot = List.copyOf(lowItems.values());
+            loaded = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static int threshold(int lowStock) {
+        return lowStock > 0 ? lowStock : DEFAULT_THRESHOLD;
+    }
+
+    private LowStockEventDTO event(LowStockEventDTO.Type type, InventoryItemDTO item) {
+        return new LowStockEventDTO(type, item.getId(), item.getName(), item.getCategory(), item.getQuantity(),
+                threshold(item.getLowStock()), LocalDateTime.now());
+    }
+
+    private InventoryItemDTO toDTO(InventoryItem item) {
+        InventoryItemDTO dto = new InventoryItemDTO();
+        dto.setId(item.getId());
+        dto.setName(item.getName());
+        dto.setCategory(item.getCategory());
+        dto.setQuantity(item.getQuantity());
+        dto.setLowStock(item.getLowStock());
+        return dto;
+    }
+}
@@ -0,0 +1,37 @@
+package com.nsbm.group03.inventoryManagementService.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Striped locks for stock changes of one item. Calls for a hot item wait here instead of each holding a pooled
+// connection while blocked on the same row lock; the conditional UPDATE still keeps quantities exact across instances.
+@Component
+public class StockLocks {
+    private final ReentrantLock[] stripes;
+
+    public StockLocks(@Value("${inventory.stock.lock-stripes:64}") int stripes) {
+        this.stripes = new ReentrantLock[Math.max(1, stripes)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(Long itemId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(itemId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    ReentrantLock stripeFor(Long itemId) {
+        int hash = itemId == null ? 0 : Long.hashCode(itemId);
+        hash ^= hash >>> 16;
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+}
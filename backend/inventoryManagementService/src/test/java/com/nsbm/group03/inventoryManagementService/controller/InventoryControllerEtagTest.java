@@ -0,0 +1,67 @@
+package com.nsbm.group03.inventoryManagementService.controller;
+
+import com.nsbm.group03.inventoryManagementService.entity.InventoryItem;
+import com.nsbm.group03.inventoryManagementService.repository.InventoryRepository;
+import com.nsbm.group03.inventoryManagementService.service.InventoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GET /api/inventory and /api/inventory/{id} carry an ETag and answer a matching If-None-Match with 304.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class InventoryControllerEtagTest {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void getInventory_RevalidatesWithEtag() throws Exception {
+        InventoryItem rice = new InventoryItem();
+        rice.setName("Rice");
+        rice.setCategory("Grains");
+        rice.setQuantity(50);
+        rice.setLowStock(10);
+        Long id = inventoryRepository.save(rice).getId();
+
+        for (String path : new String[] {"/api/inventory", "/api/inventory/" + id}) {
+            HttpResponse<String> first = get(path, null);
+            assertEquals(200, first.statusCode());
+            String etag = first.headers().firstValue("ETag").orElseThrow();
+
+            HttpResponse<String> unchanged = get(path, etag);
+            assertEquals(304, unchanged.statusCode(), path);
+            assertTrue(unchanged.body().isEmpty());
+
+            inventoryService.updateStock(id, 1);
+            HttpResponse<String> changed = get(path, etag);
+            assertEquals(200, changed.statusCode(), path);
+            assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+        }
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (ifNoneMatch != null) request.header("If-None-Match", ifNoneMatch);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,140 @@
+package com.nsbm.group03.inventoryManagementService.service;
+
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductRequestDTO;
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductResultDTO;
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductResultDTO.Outcome;
+import com.nsbm.group03.inventoryManagementService.dto.InventoryItemDTO;
+import com.nsbm.group03.inventoryManagementService.entity.InventoryItem;
+import com.nsbm.group03.inventoryManagementService.repository.InventoryRepository;
+import com.nsbm.group03.inventoryManagementService.repository.ProcessedDeductionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Batch deduction on H2: one result per line in input order, no negative stock, and requestIds applied once.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InventoryDeductTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProcessedDeductionRepository processedDeductionRepository;
+
+    @Autowired
+    private LowStockTracker lowStockTracker;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryItem rice;
+    private InventoryItem oil;
+
+    @BeforeEach
+    void setUp() {
+        processedDeductionRepository.deleteAll();
+        inventoryRepository.deleteAll();
+        rice = inventoryRepository.save(item("Rice", 10));
+        oil = inventoryRepository.save(item("Coconut Oil", 3));
+    }
+
+    @Test
+    void deductBatch_ReportsEveryLineInOrder() {
+        List<InventoryDeductResultDTO> results = inventoryService.deductBatch(List.of(
+                line("rice", 4, "order-1-0"),
+                line("Coconut Oil", 5, "order-1-1"),    // only 3 left
+                line("Salt", 1, "order-1-2"),
+                line(" ", 1, null),
+                line("Rice", 0, null),
+                line("RICE", 6, null),                   // exactly what is left after the first line
+                line("Rice", 1, "order-1-0")));          // same requestId again in the same batch
+
+        assertEquals(List.of(Outcome.DEDUCTED, Outcome.INSUFFICIENT_STOCK, Outcome.NOT_FOUND, Outcome.INVALID,
+                        Outcome.INVALID, Outcome.DEDUCTED, Outcome.DUPLICATE),
+                results.stream().map(InventoryDeductResultDTO::getOutcome).toList());
+        assertEquals(0, inventoryRepository.findById(rice.getId()).orElseThrow().getQuantity());
+        assertEquals(3, inventoryRepository.findById(oil.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void deductBatch_RedeliveredLinesAreDeductedOnce() {
+        List<InventoryDeductRequestDTO> batch = List.of(line("Rice", 2, "order-7-0"), line("Coconut Oil", 4, "order-7-1"));
+
+        inventoryService.deductBatch(batch);
+        List<InventoryDeductResultDTO> again = inventoryService.deductBatch(batch);
+
+        assertEquals(Outcome.DUPLICATE, again.get(0).getOutcome());
+        // the oil line was not applied, so it can succeed once stock is back
+        assertEquals(Outcome.INSUFFICIENT_STOCK, again.get(1).getOutcome());
+        assertEquals(8, inventoryRepository.findById(rice.getId()).orElseThrow().getQuantity());
+
+        inventoryService.restockItem(oil.getId(), 5);
+        assertEquals(Outcome.DEDUCTED, inventoryService.deductBatch(batch).get(1).getOutcome());
+        assertEquals(4, inventoryRepository.findById(oil.getId()).orElseThrow().getQuantity());
+        assertEquals(8, inventoryRepository.findById(rice.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void deductBatch_IndexAndLowStockChangeOnlyOnCommit() {
+        Long flour = inventoryService.addItem(dto("Flour", 5)).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            inventoryService.deductBatch(List.of(line("Flour", 4, "order-9-0")));
+            assertEquals(5, indexedQuantity(flour), "not before the commit");
+            tx.setRollbackOnly();
+        });
+        assertEquals(5, inventoryRepository.findById(flour).orElseThrow().getQuantity());
+        assertEquals(5, indexedQuantity(flour));
+        assertTrue(lowStockTracker.lowItems().stream().noneMatch(item -> item.getId().equals(flour)));
+
+        assertEquals(Outcome.DEDUCTED, inventoryService.deductBatch(List.of(line("Flour", 4, "order-9-0"))).get(0).getOutcome());
+        assertEquals(1, indexedQuantity(flour));
+        assertTrue(lowStockTracker.lowItems().stream().anyMatch(item -> item.getId().equals(flour)));
+    }
+
+    private int indexedQuantity(Long id) {
+        return inventoryService.searchItems("flour").stream()
+                .filter(item -> item.getId().equals(id))
+                .findFirst().orElseThrow().getQuantity();
+    }
+
+    private InventoryItemDTO dto(String name, int quantity) {
+        InventoryItemDTO dto = new InventoryItemDTO();
+        dto.setName(name);
+        dto.setCategory("Dry goods");
+        dto.setQuantity(quantity);
+        dto.setLowStock(2);
+        return dto;
+    }
+
+    private InventoryItem item(String name, int quantity) {
+        InventoryItem item = new InventoryItem();
+        item.setName(name);
+        item.setCategory("Dry goods");
+        item.setQuantity(quantity);
+        item.setLowStock(2);
+        return item;
+    }
+
+    private InventoryDeductRequestDTO line(String itemName, int quantity, String requestId) {
+        InventoryDeductRequestDTO line = new InventoryDeductRequestDTO();
+        line.setItemName(itemName);
+        line.setQuantity(quantity);
+        line.setRequestId(requestId);
+        return line;
+    }
+}
@@ -0,0 +1,121 @@
+package com.nsbm.group03.inventoryManagementService.service;
+
+import com.nsbm.group03.inventoryManagementService.dto.InventoryItemDTO;
+import com.nsbm.group03.inventoryManagementService.entity.InventoryItem;
+import com.nsbm.group03.inventoryManagementService.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The search index returns the same items as the name/category LIKE queries, ranked, and follows changes.
+ */
+@SpringBootTest(properties = {
+        "inventory.search.rebuild-interval=3600000"
+})
+@ActiveProfiles("test")
+class InventorySearchIndexTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventorySearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository.deleteAll();
+        inventoryRepository.saveAll(List.of(
+                item("Basmati Rice", "Grains"),
+                item("Rice Flour", "Baking"),
+                item("Brown rice", "Grains"),
+                item("Licorice", "Sweets"),
+                item("Coconut Oil", "Oils"),
+                item("Sunflower Oil", "Oils"),
+                item("Rice", "Grains"),
+                item("Ground Pepper", "Spices"),
+                item("Paprika", "Spices")));
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void search_SameItemsAsLikeQueries() {
+        for (String keyword : List.of("rice", "RICE", "oil", "gr", "i", "", "ain", "pep", "xyz", "rice flour", "ce f")) {
+            assertEquals(likeIds(keyword), ids(inventoryService.searchItems(keyword)), "keyword '" + keyword + "'");
+        }
+    }
+
+    @Test
+    void search_RanksExactThenPrefixThenWordStartThenContainedThenCategory() {
+        List<String> names = inventoryService.searchItems("rice").stream().map(InventoryItemDTO::getName).toList();
+        assertEquals(List.of("Rice", "Rice Flour", "Basmati Rice", "Brown rice", "Licorice"), names);
+
+        names = inventoryService.searchItems("gr").stream().map(InventoryItemDTO::getName).toList();
+        // "Ground Pepper" by name, then the Grains items by category
+        assertEquals(List.of("Ground Pepper", "Basmati Rice", "Brown rice", "Rice"), names);
+    }
+
+    @Test
+    void changes_AreSearchableWithoutRebuild() {
+        InventoryItemDTO dto = new InventoryItemDTO();
+        dto.setName("Jasmine Rice");
+        dto.setCategory("Grains");
+        dto.setQuantity(40);
+        dto.setLowStock(5);
+        InventoryItemDTO added = inventoryService.addItem(dto);
+        assertTrue(ids(inventoryService.searchItems("jasm")).contains(added.getId()));
+
+        dto.setName("Jasmine Tea");
+        dto.setCategory("Beverages");
+        inventoryService.updateItem(added.getId(), dto);
+        assertTrue(inventoryService.searchItems("jasmine rice").isEmpty());
+        assertTrue(ids(inventoryService.searchItems("bever")).contains(added.getId()));
+
+        inventoryService.updateStock(added.getId(), 15);
+        assertEquals(25, inventoryService.searchItems("jasmine tea").get(0).getQuantity());
+
+        inventoryService.deleteItem(added.getId());
+        assertTrue(inventoryService.searchItems("jasm").isEmpty());
+        assertEquals(9, searchIndex.size());
+    }
+
+    @Test
+    void suggest_WordPrefixesNameStartsFirst() {
+        assertEquals(List.of("Rice", "Rice Flour", "Basmati Rice"), inventoryService.suggestNames("ri", 3));
+        assertEquals(List.of("Coconut Oil", "Sunflower Oil"), inventoryService.suggestNames("Oi", 10));
+        assertEquals(List.of(), inventoryService.suggestNames(" ", 10));
+    }
+
+    private Set<Long> likeIds(String keyword) {
+        return Stream.concat(inventoryRepository.findByNameContainingIgnoreCase(keyword).stream(),
+                        inventoryRepository.findByCategoryContainingIgnoreCase(keyword).stream())
+                .map(InventoryItem::getId)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private Set<Long> ids(List<InventoryItemDTO> items) {
+        return items.stream().map(InventoryItemDTO::getId).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private InventoryItem item(String name, String category) {
+        InventoryItem item = new InventoryItem();
+        item.setName(name);
+        item.setCategory(category);
+        item.setQuantity(20);
+        item.setLowStock(5);
+        return item;
+    }
+}
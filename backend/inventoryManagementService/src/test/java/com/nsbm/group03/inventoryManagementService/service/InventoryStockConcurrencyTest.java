@@ -0,0 +1,119 @@
+package com.nsbm.group03.inventoryManagementService.service;
+
+import com.nsbm.group03.inventoryManagementService.entity.InventoryItem;
+import com.nsbm.group03.inventoryManagementService.repository.InventoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Thousands of parallel consume and restock calls on H2; final quantities must be exact.
+ */
+@SpringBootTest(properties = {
+        "inventory.stock.lock-stripes=4"
+})
+@ActiveProfiles("test")
+class InventoryStockConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Test
+    void consumeAndRestock_ManyItems_FinalQuantitiesExact() throws Exception {
+        // more items than stripes, so items share locks
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(inventoryRepository.save(item("Item " + i, 1_000)).getId());
+        }
+        List<Callable<Boolean>> calls = new ArrayList<>();
+        for (Long id : ids) {
+            for (int n = 0; n < 300; n++) {
+                calls.add(() -> consume(id, 3));
+                calls.add(() -> restock(id, 2));
+            }
+        }
+        Collections.shuffle(calls);
+
+        assertEquals(calls.size(), runAll(calls));
+        for (Long id : ids) {
+            // 1000 - 300 * 3 + 300 * 2
+            assertEquals(700, inventoryRepository.findById(id).orElseThrow().getQuantity());
+        }
+    }
+
+    @Test
+    void consume_HotItem_NeverSellsMoreThanAvailable() throws Exception {
+        Long id = inventoryRepository.save(item("Eggs", 500)).getId();
+        AtomicInteger consumed = new AtomicInteger();
+        List<Callable<Boolean>> calls = new ArrayList<>();
+        for (int n = 0; n < 2_000; n++) {
+            calls.add(() -> consume(id, 1) && consumed.incrementAndGet() > 0);
+        }
+        for (int n = 0; n < 500; n++) {
+            calls.add(() -> restock(id, 1));
+        }
+        Collections.shuffle(calls);
+
+        runAll(calls);
+
+        // 2,000 buyers for 500 eggs plus 500 restocked: at least the first 500 and never more than 1,000 sell
+        int left = inventoryRepository.findById(id).orElseThrow().getQuantity();
+        assertTrue(consumed.get() >= 500 && consumed.get() <= 1_000, "consumed " + consumed.get());
+        assertEquals(500 + 500 - consumed.get(), left);
+    }
+
+    // true when the call changed the stock
+    private boolean consume(Long id, int amount) {
+        try {
+            inventoryService.updateStock(id, amount);
+            return true;
+        } catch (ResponseStatusException e) {
+            return false; // not enough stock at that moment
+        }
+    }
+
+    private boolean restock(Long id, int amount) {
+        inventoryService.restockItem(id, amount);
+        return true;
+    }
+
+    private int runAll(List<Callable<Boolean>> calls) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            int succeeded = 0;
+            for (Future<Boolean> result : pool.invokeAll(calls)) {
+                if (result.get()) succeeded++;
+            }
+            return succeeded;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private InventoryItem item(String name, int quantity) {
+        InventoryItem item = new InventoryItem();
+        item.setName(name);
+        item.setCategory("Fresh");
+        item.setQuantity(quantity);
+        item.setLowStock(10);
+        return item;
+    }
+}
@@ -0,0 +1,204 @@
+package com.nsbm.group03.inventoryManagementService.service;
+
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductRequestDTO;
+import com.nsbm.group03.inventoryManagementService.dto.InventoryItemDTO;
+import com.nsbm.group03.inventoryManagementService.entity.InventoryItem;
+import com.nsbm.group03.inventoryManagementService.repository.InventoryRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The low-stock list follows consume, restock, update, delete and batch deduct without a query, and every
+ * threshold crossing reaches SSE subscribers and a local stand-in for the webhook.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "inventory.low-stock.resync-interval=3600000"
+})
+@ActiveProfiles("test")
+class LowStockTrackerTest {
+
+    private static final BlockingQueue<String> webhookCalls = new LinkedBlockingQueue<>();
+    private static final HttpServer webhook = startWebhook();
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private LowStockTracker lowStockTracker;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void webhookUrl(DynamicPropertyRegistry registry) {
+        registry.add("inventory.low-stock.webhook-url",
+                () -> "http://localhost:" + webhook.getAddress().getPort() + "/low-stock");
+    }
+
+    @AfterAll
+    static void stopWebhook() {
+        webhook.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        inventoryRepository.deleteAll();
+        lowStockTracker.resync();
+        // drop the events about the previous test's items
+        while (webhookCalls.poll(300, TimeUnit.MILLISECONDS) != null) {
+            // keep draining until quiet
+        }
+    }
+
+    @Test
+    void crossings_UpdateListAndCallWebhook() throws Exception {
+        Long flour = inventoryService.addItem(item("Flour", 15, 10)).getId();
+        Long salt = inventoryService.addItem(item("Salt", 12, 0)).getId();   // default threshold 10
+        assertTrue(inventoryService.getLowStockItems().isEmpty());
+
+        inventoryService.updateStock(flour, 6);
+        assertWebhook("\"type\":\"LOW\"", "\"itemId\":" + flour, "\"quantity\":9", "\"threshold\":10");
+        inventoryService.updateStock(flour, 1);   // still low, no new event
+        assertEquals(8, inventoryService.getLowStockItems().get(0).getQuantity());
+
+        inventoryService.restockItem(flour, 5);
+        assertWebhook("\"type\":\"RECOVERED\"", "\"quantity\":13");
+
+        InventoryDeductRequestDTO line = new InventoryDeductRequestDTO();
+        line.setItemName("salt");
+        line.setQuantity(2);
+        inventoryService.deductBatch(List.of(line));
+        assertWebhook("\"type\":\"LOW\"", "\"itemId\":" + salt, "\"quantity\":10");
+
+        // raising the threshold makes flour low as well
+        inventoryService.updateItem(flour, item("Flour", 13, 20));
+        assertWebhook("\"type\":\"LOW\"", "\"itemId\":" + flour);
+        assertEquals(List.of(flour, salt), ids(inventoryService.getLowStockItems()));
+        assertEquals(ids(inventoryRepository.findItemsAtOrBelowLowStock().stream().map(this::toDTO).toList()),
+                ids(inventoryService.getLowStockItems()));
+
+        inventoryService.deleteItem(salt);
+        assertWebhook("\"type\":\"REMOVED\"", "\"itemId\":" + salt);
+        assertEquals(List.of(flour), ids(inventoryService.getLowStockItems()));
+        assertNull(webhookCalls.poll(200, TimeUnit.MILLISECONDS), "no other calls");
+    }
+
+    @Test
+    void resync_PublishesChangesMadeElsewhere() throws Exception {
+        Long oil = inventoryService.addItem(item("Oil", 30, 5)).getId();
+
+        // another instance consumed it
+        InventoryItem row = inventoryRepository.findById(oil).orElseThrow();
+        row.setQuantity(3);
+        inventoryRepository.save(row);
+        assertTrue(inventoryService.getLowStockItems().isEmpty());
+
+        lowStockTracker.resync();
+        assertWebhook("\"type\":\"LOW\"", "\"itemId\":" + oil, "\"quantity\":3");
+        assertEquals(List.of(oil), ids(inventoryService.getLowStockItems()));
+    }
+
+    @Test
+    void stream_SendsSnapshotThenCrossings() throws Exception {
+        Long eggs = inventoryService.addItem(item("Eggs", 4, 6)).getId();
+        Long milk = inventoryService.addItem(item("Milk", 20, 6)).getId();
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/inventory/low-stock/stream"))
+                .header("Accept", "text/event-stream").build();
+        HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        Iterator<String> lines = response.body().iterator();
+
+        String snapshot = nextData(lines, "snapshot");
+        assertTrue(snapshot.contains("\"id\":" + eggs) && !snapshot.contains("\"id\":" + milk), snapshot);
+
+        inventoryService.updateStock(milk, 15);
+        String event = nextData(lines, "low-stock");
+        assertTrue(event.contains("\"type\":\"LOW\"") && event.contains("\"itemId\":" + milk), event);
+        response.body().close();
+    }
+
+    // data of the next event with this name
+    private String nextData(Iterator<String> lines, String name) {
+        boolean named = false;
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.equals("event:" + name)) named = true;
+            else if (named && line.startsWith("data:")) return line.substring("data:".length());
+        }
+        fail("stream ended before a " + name + " event");
+        return null;
+    }
+
+    private void assertWebhook(String... parts) throws InterruptedException {
+        String body = webhookCalls.poll(5, TimeUnit.SECONDS);
+        assertNotNull(body, "webhook not called");
+        for (String part : parts) {
+            assertTrue(body.contains(part), body + " should contain " + part);
+        }
+    }
+
+    private List<Long> ids(List<InventoryItemDTO> items) {
+        return items.stream().map(InventoryItemDTO::getId).toList();
+    }
+
+    private InventoryItemDTO toDTO(InventoryItem item) {
+        InventoryItemDTO dto = new InventoryItemDTO();
+        dto.setId(item.getId());
+        return dto;
+    }
+
+    private InventoryItemDTO item(String name, int quantity, int lowStock) {
+        InventoryItemDTO dto = new InventoryItemDTO();
+        dto.setName(name);
+        dto.setCategory("Dry goods");
+        dto.setQuantity(quantity);
+        dto.setLowStock(lowStock);
+        return dto;
+    }
+
+    private static HttpServer startWebhook() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/low-stock", exchange -> {
+                webhookCalls.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                exchange.sendResponseHeaders(204, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,22 +1,35 @@
 package com.nsbm.group03.kitchenManagementService.client;
 
-import java.util.Arrays;
+import java.net.URI;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import com.nsbm.group03.kitchenManagementService.dto.InventoryDeductResultDTO;
 import com.nsbm.group03.kitchenManagementService.dto.InventoryItemDTO;
 import com.nsbm.group03.kitchenManagementService.dto.InventoryRequestDTO;
 
 /**
  * REST client to communicate with the Inventory Management Service.
  * Kitchen does NOT store inventory — it sends requests to Inventory Service.
+ * Item reads are cached for inventory.client.cache-ttl and then revalidated with If-None-Match, so an
+ * unchanged item list costs a 304 without a body. While the Inventory Service is failing, the circuit
+ * breaker stops calling it and the last cached copy is served.
  */
 @Component
 public class InventoryClient {
@@ -24,59 +37,59 @@ public class InventoryClient {
     private static final Logger logger = LoggerFactory.getLogger(InventoryClient.class);
 
     private final RestTemplate restTemplate;
+    private final String inventoryServiceUrl;
+    private final long cacheTtlNanos;
+    private final CircuitBreaker circuitBreaker;
+    private final LongSupplier nanoClock;
 
-    @Value("${inventory.service.url}")
-    private String inventoryServiceUrl;
+    // URL → last response
+    private final Map<String, CachedResponse<?>> cache = new ConcurrentHashMap<>();
 
-    public InventoryClient(RestTemplate restTemplate) {
+    @Autowired
+    public InventoryClient(RestTemplate restTemplate,
+                           @Value("${inventory.service.url}") String inventoryServiceUrl,
+                           @Value("${inventory.client.cache-ttl:30s}") Duration cacheTtl,
+                           @Value("${inventory.client.breaker.failure-threshold:5}") int failureThreshold,
+                           @Value("${inventory.client.breaker.open-duration:30s}") Duration openDuration) {
+        this(restTemplate, inventoryServiceUrl, cacheTtl, failureThreshold, openDuration, System::nanoTime);
+    }
+
+    // nanoClock drives both the cache TTL and the circuit breaker, so tests can move time on
+    InventoryClient(RestTemplate restTemplate, String inventoryServiceUrl, Duration cacheTtl,
+                    int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
         this.restTemplate = restTemplate;
+        this.inventoryServiceUrl = inventoryServiceUrl;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration, nanoClock);
+        this.nanoClock = nanoClock;
     }
 
     /**
-     * Send inventory consumption request when a kitchen order is created.
-     * Deducts ingredient quantities from the Inventory Service.
+     * Deduct ingredient quantities from the Inventory Service in one call, returning one result per line.
+     * Called by InventoryOutboxDispatcher, which retries on RestClientException; every line carries
+     * a requestId, so a batch that is sent again is not deducted twice.
      */
-    public boolean deductInventory(List<InventoryRequestDTO> items) {
-        try {
-            String url = inventoryServiceUrl + "/api/inventory/deduct";
-            restTemplate.postForEntity(url, items, Void.class);
-            logger.info("Inventory deduction request sent successfully for {} items", items.size());
-            return true;
-        } catch (RestClientException e) {
-            logger.warn("Failed to connect to Inventory Service: {}. Order will proceed without inventory deduction.", e.getMessage());
-            return false;
-        }
+    public List<InventoryDeductResultDTO> deductInventory(List<InventoryRequestDTO> items) {
+        String url = inventoryServiceUrl + "/api/inventory/deduct";
+        InventoryDeductResultDTO[] results = restTemplate.postForObject(url, items, InventoryDeductResultDTO[].class);
+        logger.info("Inventory deduction request sent successfully for {} items", items.size());
+        return results != null ? List.of(results) : Collections.emptyList();
     }
 
     /**
-     * Get all inventory items from Inventory Service.
+     * Get all inventory items from Inventory Service (cached).
      */
     public List<InventoryItemDTO> getAllInventoryItems() {
-        try {
-            String url = inventoryServiceUrl + "/api/inventory";
-            InventoryItemDTO[] items = restTemplate.getForObject(url, InventoryItemDTO[].class);
-            if (items != null) {
-                logger.info("Retrieved {} inventory items from Inventory Service", items.length);
-                return Arrays.asList(items);
-            }
-            return Collections.emptyList();
-        } catch (RestClientException e) {
-            logger.warn("Failed to fetch inventory items: {}", e.getMessage());
-            return Collections.emptyList();
-        }
+        InventoryItemDTO[] items = cachedGet(inventoryServiceUrl + "/api/inventory", InventoryItemDTO[].class);
+        return items != null ? List.of(items) : Collections.emptyList();
     }
 
     /**
-     * Get a specific inventory item by ID from Inventory Service.
+     * Get a specific inventory item by ID from Inventory Service (cached). Null if it does not exist or
+     * cannot be fetched.
      */
     public InventoryItemDTO getInventoryItemById(Long itemId) {
-        try {
-            String url = inventoryServiceUrl + "/api/inventory/" + itemId;
-            return restTemplate.getForObject(url, InventoryItemDTO.class);
-        } catch (RestClientException e) {
-            logger.warn("Failed to fetch inventory item {}: {}", itemId, e.getMessage());
-            return null;
-        }
+        return cachedGet(inventoryServiceUrl + "/api/inventory/" + itemId, InventoryItemDTO.class);
     }
 
     /**
@@ -92,4 +105,67 @@ public class InventoryClient {
             return true; // Allow order to proceed if inventory service is unreachable
         }
     }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    // ══════════════════════════════════════
+    //  Cache, revalidation and circuit breaker
+    // ══════════════════════════════════════
+
+    @SuppressWarnings("unchecked")
+    private <T> T cachedGet(String url, Class<T> type) {
+        CachedResponse<T> cached = (CachedResponse<T>) cache.get(url);
+        long now = nanoClock.getAsLong();
+        if (cached != null && now - cached.fetchedAt < cacheTtlNanos) {
+            return cached.body;
+        }
+        if (!circuitBreaker.allowRequest()) {
+            // Inventory Service is failing: stale copy, or nothing
+            return cached != null ? cached.body : null;
+        }
+        try {
+            RequestEntity.HeadersBuilder<?> request = RequestEntity.get(URI.create(url));
+            if (cached != null && cached.etag != null) {
+                request.ifNoneMatch(cached.etag);
+            }
+            ResponseEntity<T> response = restTemplate.exchange(request.build(), type);
+            circuitBreaker.recordSuccess();
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+                cache.put(url, new CachedResponse<>(cached.body, cached.etag, now));
+                return cached.body;
+            }
+            T body = response.getBody();
+            cache.put(url, new CachedResponse<>(body, response.getHeaders().getETag(), now));
+            return body;
+        } catch (HttpClientErrorException e) {
+            // the service answered (e.g. 404 for an unknown item), so it is not a failure of the service
+            circuitBreaker.recordSuccess();
+            cache.remove(url);
+            logger.warn("Inventory Service returned {} for {}", e.getStatusCode(), url);
+            return null;
+        } catch (RestClientException e) {
+            circuitBreaker.recordFailure();
+            if (cached != null) {
+                logger.warn("Failed to fetch {} ({}), serving copy from {}s ago", url, e.getMessage(),
+                        Duration.ofNanos(now - cached.fetchedAt).toSeconds());
+                return cached.body;
+            }
+            logger.warn("Failed to fetch {}: {}", url, e.getMessage());
+            return null;
+        }
+    }
+
+    private static final class CachedResponse<T> {
+        private final T body;
+        private final String etag;
+        private final long fetchedAt; // nanoClock time of the last fetch or revalidation
+
+        private CachedResponse(T body, String etag, long fetchedAt) {
+            this.body = body;
+            this.etag = etag;
+            this.fetchedAt = fetchedAt;
+        }
+    }
 }
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,13 +14,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.nsbm.group03.kitchenManagementService.dto.InventoryItemDTO;
 import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenTicketDTO;
+import com.nsbm.group03.kitchenManagementService.dto.OrderTransitionDTO;
+import com.nsbm.group03.kitchenManagementService.dto.StationLoadDTO;
+import com.nsbm.group03.kitchenManagementService.dto.StatusLatencyDTO;
 import com.nsbm.group03.kitchenManagementService.response.ApiResponse;
+import com.nsbm.group03.kitchenManagementService.service.KitchenDisplayStream;
 import com.nsbm.group03.kitchenManagementService.service.KitchenOrderService;
+import com.nsbm.group03.kitchenManagementService.service.KitchenTicketScheduler;
+import com.nsbm.group03.kitchenManagementService.service.OrderLatencyTracker;
 
 import jakarta.validation.Valid;
 
@@ -30,9 +41,16 @@ import jakarta.validation.Valid;
 public class KitchenOrderController {
 
     private final KitchenOrderService orderService;
+    private final KitchenDisplayStream displayStream;
+    private final KitchenTicketScheduler ticketScheduler;
+    private final OrderLatencyTracker latencyTracker;
 
-    public KitchenOrderController(KitchenOrderService orderService) {
+    public KitchenOrderController(KitchenOrderService orderService, KitchenDisplayStream displayStream,
+                                  KitchenTicketScheduler ticketScheduler, OrderLatencyTracker latencyTracker) {
         this.orderService = orderService;
+        this.displayStream = displayStream;
+        this.ticketScheduler = ticketScheduler;
+        this.latencyTracker = latencyTracker;
     }
 
     // ══════════════════════════════════════
@@ -119,6 +137,29 @@ public class KitchenOrderController {
                 new ApiResponse<>(true, "Order status updated to " + status.toUpperCase(), updated));
     }
 
+    /**
+     * GET /api/kitchen/orders/{id}/transitions — Status changes of an order and the time spent in each status
+     */
+    @GetMapping("/{id}/transitions")
+    public ResponseEntity<ApiResponse<List<OrderTransitionDTO>>> getOrderTransitions(@PathVariable Long id) {
+        List<OrderTransitionDTO> transitions = orderService.getOrderTransitions(id);
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, "Transitions retrieved for order: " + id, transitions));
+    }
+
+    /**
+     * GET /api/kitchen/orders/latency?restaurantId=1&category=Main — p50/p95/p99 time spent in each status
+     * by the orders that left it in the last kitchen.latency.window; both filters are optional
+     */
+    @GetMapping("/latency")
+    public ResponseEntity<ApiResponse<List<StatusLatencyDTO>>> getStatusLatency(
+            @RequestParam(required = false) Long restaurantId,
+            @RequestParam(required = false) String category) {
+        List<StatusLatencyDTO> latency = latencyTracker.latency(restaurantId, category);
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, "Status latency retrieved", latency));
+    }
+
     // ══════════════════════════════════════
     //  Filtering Endpoints
     // ══════════════════════════════════════
@@ -156,6 +197,23 @@ public class KitchenOrderController {
                 new ApiResponse<>(true, "Orders retrieved for restaurant: " + restaurantId, orders));
     }
 
+    // ══════════════════════════════════════
+    //  Kitchen Display Stream (server-sent events)
+    // ══════════════════════════════════════
+
+    /**
+     * GET /api/kitchen/orders/stream?restaurantId=1&station=Main — Push new tickets and status changes
+     * Events: order-created, status-changed; station is a menu category, omit it for all lines.
+     * Browsers resume with the Last-Event-ID header; a "reset" event means reload the tickets.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(
+            @RequestParam Long restaurantId,
+            @RequestParam(required = false) String station,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return displayStream.subscribe(restaurantId, station, lastEventId);
+    }
+
     // ══════════════════════════════════════
     //  Staff Assignment
     // ══════════════════════════════════════
@@ -179,6 +237,30 @@ public class KitchenOrderController {
                 new ApiResponse<>(true, "Staff assigned successfully", updated));
     }
 
+    // ══════════════════════════════════════
+    //  Station Scheduling
+    // ══════════════════════════════════════
+
+    /**
+     * GET /api/kitchen/orders/stations — Queue depth and predicted wait per station, most loaded first
+     */
+    @GetMapping("/stations")
+    public ResponseEntity<ApiResponse<List<StationLoadDTO>>> getStationLoads() {
+        List<StationLoadDTO> loads = ticketScheduler.stationLoads();
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, "Station loads retrieved", loads));
+    }
+
+    /**
+     * GET /api/kitchen/orders/stations/{station}/queue — Open tickets of a station, next to start first
+     */
+    @GetMapping("/stations/{station}/queue")
+    public ResponseEntity<ApiResponse<List<KitchenTicketDTO>>> getStationQueue(@PathVariable String station) {
+        List<KitchenTicketDTO> tickets = ticketScheduler.queue(station);
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, "Queue retrieved for station: " + station, tickets));
+    }
+
     // ══════════════════════════════════════
     //  Dashboard
     // ══════════════════════════════════════
@@ -0,0 +1,76 @@
+package com.nsbm.group03.kitchenManagementService.dto;
+
+/**
+ * DTO for the outcome of one line of a batched deduction, as returned by the Inventory Management Service.
+ * Results come back in request order and carry the requestId of their line.
+ */
+public class InventoryDeductResultDTO {
+
+    public enum Outcome {
+        DEDUCTED,
+        DUPLICATE,          // requestId was already applied
+        INSUFFICIENT_STOCK,
+        NOT_FOUND,
+        INVALID
+    }
+
+    private String itemName;
+    private String requestId;
+    private int quantity;
+    private Outcome outcome;
+
+    // ── Constructors ──
+    public InventoryDeductResultDTO() {
+    }
+
+    public InventoryDeductResultDTO(String itemName, String requestId, int quantity, Outcome outcome) {
+        this.itemName = itemName;
+        this.requestId = requestId;
+        this.quantity = quantity;
+        this.outcome = outcome;
+    }
+
+    // ── Getters and Setters ──
+    public String getItemName() {
+        return itemName;
+    }
+
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    // ── toString ──
+    @Override
+    public String toString() {
+        return "InventoryDeductResultDTO{" +
+                "itemName='" + itemName + '\'' +
+                ", requestId='" + requestId + '\'' +
+                ", quantity=" + quantity +
+                ", outcome=" + outcome +
+                '}';
+    }
+}
@@ -8,6 +8,7 @@ public class InventoryRequestDTO {
 
     private String itemName;
     private int quantity;
+    private String requestId; // idempotency key of this line; repeated deliveries are applied once
 
     // ── Constructors ──
     public InventoryRequestDTO() {
@@ -18,6 +19,12 @@ public class InventoryRequestDTO {
         this.quantity = quantity;
     }
 
+    public InventoryRequestDTO(String itemName, int quantity, String requestId) {
+        this.itemName = itemName;
+        this.quantity = quantity;
+        this.requestId = requestId;
+    }
+
     // ── Getters and Setters ──
     public String getItemName() {
         return itemName;
@@ -35,12 +42,21 @@ public class InventoryRequestDTO {
         this.quantity = quantity;
     }
 
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
     // ── toString ──
     @Override
     public String toString() {
         return "InventoryRequestDTO{" +
                 "itemName='" + itemName + '\'' +
                 ", quantity=" + quantity +
+                ", requestId='" + requestId + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,116 @@
+package com.nsbm.group03.kitchenManagementService.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One ticket update on a kitchen display stream. Items are the lines of the stream's station,
+ * or all lines on a restaurant-wide stream.
+ */
+public class KitchenDisplayEventDTO {
+
+    private long sequence;          // per stream, no gaps
+    private String type;            // CREATED, UPDATED, STATUS_CHANGED, STAFF_ASSIGNED, DELETED
+    private Long orderId;
+    private Long restaurantId;
+    private String station;         // null on a restaurant-wide stream
+    private String tableNumber;
+    private String previousStatus;  // STATUS_CHANGED only
+    private String orderStatus;
+    private String specialInstructions;
+    private List<KitchenOrderItemDTO> items;
+    private LocalDateTime occurredAt;
+
+    // ── Constructors ──
+    public KitchenDisplayEventDTO() {
+    }
+
+    // ── Getters and Setters ──
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public String getStation() {
+        return station;
+    }
+
+    public void setStation(String station) {
+        this.station = station;
+    }
+
+    public String getTableNumber() {
+        return tableNumber;
+    }
+
+    public void setTableNumber(String tableNumber) {
+        this.tableNumber = tableNumber;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(String previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public String getOrderStatus() {
+        return orderStatus;
+    }
+
+    public void setOrderStatus(String orderStatus) {
+        this.orderStatus = orderStatus;
+    }
+
+    public String getSpecialInstructions() {
+        return specialInstructions;
+    }
+
+    public void setSpecialInstructions(String specialInstructions) {
+        this.specialInstructions = specialInstructions;
+    }
+
+    public List<KitchenOrderItemDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<KitchenOrderItemDTO> items) {
+        this.items = items;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
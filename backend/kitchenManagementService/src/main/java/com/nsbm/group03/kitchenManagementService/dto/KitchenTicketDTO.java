@@ -0,0 +1,97 @@
+package com.nsbm.group03.kitchenManagementService.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The part of an order one station prepares, in the order the station should start them.
+ */
+public class KitchenTicketDTO {
+
+    private Long orderId;
+    private Long restaurantId;
+    private String station;
+    private String tableNumber;
+    private String state;               // WAITING, COOKING
+    private Long staffId;
+    private long estimatedPrepSeconds;
+    private LocalDateTime startBy;      // start now or earlier so the order's tickets are ready together
+    private List<KitchenOrderItemDTO> items;
+
+    // ── Constructors ──
+    public KitchenTicketDTO() {
+    }
+
+    // ── Getters and Setters ──
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public String getStation() {
+        return station;
+    }
+
+    public void setStation(String station) {
+        this.station = station;
+    }
+
+    public String getTableNumber() {
+        return tableNumber;
+    }
+
+    public void setTableNumber(String tableNumber) {
+        this.tableNumber = tableNumber;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public Long getStaffId() {
+        return staffId;
+    }
+
+    public void setStaffId(Long staffId) {
+        this.staffId = staffId;
+    }
+
+    public long getEstimatedPrepSeconds() {
+        return estimatedPrepSeconds;
+    }
+
+    public void setEstimatedPrepSeconds(long estimatedPrepSeconds) {
+        this.estimatedPrepSeconds = estimatedPrepSeconds;
+    }
+
+    public LocalDateTime getStartBy() {
+        return startBy;
+    }
+
+    public void setStartBy(LocalDateTime startBy) {
+        this.startBy = startBy;
+    }
+
+    public List<KitchenOrderItemDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<KitchenOrderItemDTO> items) {
+        this.items = items;
+    }
+}
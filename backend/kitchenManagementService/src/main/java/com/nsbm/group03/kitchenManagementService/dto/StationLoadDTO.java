@@ -0,0 +1,66 @@
+package com.nsbm.group03.kitchenManagementService.dto;
+
+/**
+ * Current load of one kitchen station, as estimated by KitchenTicketScheduler.
+ */
+public class StationLoadDTO {
+
+    private String station;
+    private int waiting;                // tickets not started yet (order PENDING)
+    private int cooking;                // tickets in progress (order COOKING)
+    private int cooks;                  // staff configured for the station, at least 1
+    private long predictedWaitSeconds;  // until a ticket added now could be started
+
+    // ── Constructors ──
+    public StationLoadDTO() {
+    }
+
+    public StationLoadDTO(String station, int waiting, int cooking, int cooks, long predictedWaitSeconds) {
+        this.station = station;
+        this.waiting = waiting;
+        this.cooking = cooking;
+        this.cooks = cooks;
+        this.predictedWaitSeconds = predictedWaitSeconds;
+    }
+
+    // ── Getters and Setters ──
+    public String getStation() {
+        return station;
+    }
+
+    public void setStation(String station) {
+        this.station = station;
+    }
+
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public void setWaiting(int waiting) {
+        this.waiting = waiting;
+    }
+
+    public int getCooking() {
+        return cooking;
+    }
+
+    public void setCooking(int cooking) {
+        this.cooking = cooking;
+    }
+
+    public int getCooks() {
+        return cooks;
+    }
+
+    public void setCooks(int cooks) {
+        this.cooks = cooks;
+    }
+
+    public long getPredictedWaitSeconds() {
+        return predictedWaitSeconds;
+    }
+
+    public void setPredictedWaitSeconds(long predictedWaitSeconds) {
+        this.predictedWaitSeconds = predictedWaitSeconds;
+    }
+}
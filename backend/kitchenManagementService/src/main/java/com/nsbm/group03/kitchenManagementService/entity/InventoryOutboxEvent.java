@@ -0,0 +1,175 @@
+package com.nsbm.group03.kitchenManagementService.entity;
+
+import java.time.LocalDateTime;
+
+import com.nsbm.group03.kitchenManagementService.enums.OutboxStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * One pending inventory deduction, written in the same transaction as its kitchen order
+ * and delivered to the Inventory Service later by InventoryOutboxDispatcher.
+ */
+@Entity
+@Table(name = "inventory_outbox", indexes = {
+        @Index(name = "idx_inventory_outbox_due", columnList = "status, nextAttemptAt")
+})
+public class InventoryOutboxEvent {
+
+    @Id
+    // pooled sequence instead of IDENTITY, so Hibernate can batch the inserts of one order
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventoryOutboxSeq")
+    @SequenceGenerator(name = "inventoryOutboxSeq", sequenceName = "inventory_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false)
+    private String itemName;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    // sent with the deduction, so a redelivered line is applied only once by the Inventory Service
+    @Column(nullable = false, unique = true, length = 100)
+    private String requestId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    // ── Lifecycle callbacks ──
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (status == null) {
+            status = OutboxStatus.PENDING;
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    // ── Constructors ──
+    public InventoryOutboxEvent() {
+    }
+
+    public InventoryOutboxEvent(Long orderId, String itemName, int quantity, String requestId) {
+        this.orderId = orderId;
+        this.itemName = itemName;
+        this.quantity = quantity;
+        this.requestId = requestId;
+    }
+
+    // ── Getters and Setters ──
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public OutboxStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OutboxStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+}
@@ -51,11 +51,14 @@ public class KitchenOrder {
 
     private LocalDateTime updatedAt;
 
+    private LocalDateTime statusChangedAt; // when orderStatus was last set, for the dwell time in it
+
     // ── Lifecycle callbacks ──
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        statusChangedAt = createdAt;
         if (orderStatus == null) {
             orderStatus = OrderStatus.PENDING;
         }
@@ -173,6 +176,14 @@ public class KitchenOrder {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDateTime getStatusChangedAt() {
+        return statusChangedAt;
+    }
+
+    public void setStatusChangedAt(LocalDateTime statusChangedAt) {
+        this.statusChangedAt = statusChangedAt;
+    }
+
     // ── toString ──
     @Override
     public String toString() {
@@ -8,6 +8,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
@@ -15,7 +16,9 @@ import jakarta.persistence.Table;
 public class KitchenOrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled sequence instead of IDENTITY, so Hibernate can batch the inserts of one order
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "kitchenOrderItemSeq")
+    @SequenceGenerator(name = "kitchenOrderItemSeq", sequenceName = "kitchen_order_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,135 @@
+package com.nsbm.group03.kitchenManagementService.entity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import com.nsbm.group03.kitchenManagementService.enums.OrderStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * One status change of a kitchen order, written in the same transaction as the change.
+ * Kept when the order is deleted, as the history the dwell-time statistics come from.
+ */
+@Entity
+@Table(name = "kitchen_order_transitions", indexes = {
+        @Index(name = "idx_kitchen_order_transitions_order", columnList = "orderId")
+})
+public class KitchenOrderTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "kitchenOrderTransitionSeq")
+    @SequenceGenerator(name = "kitchenOrderTransitionSeq", sequenceName = "kitchen_order_transitions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false)
+    private Long restaurantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus toStatus;
+
+    @Column(nullable = false)
+    private LocalDateTime enteredAt;  // when the order got fromStatus
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    private long dwellMillis;         // time spent in fromStatus
+
+    // ── Constructors ──
+    public KitchenOrderTransition() {
+    }
+
+    public KitchenOrderTransition(Long orderId, Long restaurantId, OrderStatus fromStatus, OrderStatus toStatus,
+                                  LocalDateTime enteredAt, LocalDateTime changedAt) {
+        this.orderId = orderId;
+        this.restaurantId = restaurantId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.enteredAt = enteredAt;
+        this.changedAt = changedAt;
+        this.dwellMillis = Math.max(0, Duration.between(enteredAt, changedAt).toMillis());
+    }
+
+    // ── Getters and Setters ──
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public OrderStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(OrderStatus fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public OrderStatus getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(OrderStatus toStatus) {
+        this.toStatus = toStatus;
+    }
+
+    public LocalDateTime getEnteredAt() {
+        return enteredAt;
+    }
+
+    public void setEnteredAt(LocalDateTime enteredAt) {
+        this.enteredAt = enteredAt;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public long getDwellMillis() {
+        return dwellMillis;
+    }
+
+    public void setDwellMillis(long dwellMillis) {
+        this.dwellMillis = dwellMillis;
+    }
+}
@@ -0,0 +1,61 @@
+package com.nsbm.group03.kitchenManagementService.event;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
+import com.nsbm.group03.kitchenManagementService.enums.OrderStatus;
+
+/**
+ * Published by KitchenOrderServiceImpl when an order is created, changed, assigned to staff or deleted.
+ * Listeners use @TransactionalEventListener, so they only see orders that were committed.
+ */
+public class KitchenOrderEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        STAFF_ASSIGNED,
+        DELETED
+    }
+
+    private final Type type;
+    private final OrderStatus previousStatus; // STATUS_CHANGED only
+    private final Duration previousStatusDwell; // STATUS_CHANGED only: how long the order was in previousStatus
+    private final KitchenOrderDTO order;      // the order after the change (before, for DELETED), with its items
+    private final LocalDateTime occurredAt;
+
+    public KitchenOrderEvent(Type type, OrderStatus previousStatus, KitchenOrderDTO order) {
+        this(type, previousStatus, null, order);
+    }
+
+    public KitchenOrderEvent(Type type, OrderStatus previousStatus, Duration previousStatusDwell, KitchenOrderDTO order) {
+        this.type = type;
+        this.previousStatus = previousStatus;
+        this.previousStatusDwell = previousStatusDwell;
+        this.order = order;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // ── Getters ──
+    public Type getType() {
+        return type;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Duration getPreviousStatusDwell() {
+        return previousStatusDwell;
+    }
+
+    public KitchenOrderDTO getOrder() {
+        return order;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
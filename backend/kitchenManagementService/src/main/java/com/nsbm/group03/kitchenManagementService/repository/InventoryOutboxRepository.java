@@ -0,0 +1,35 @@
+package com.nsbm.group03.kitchenManagementService.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nsbm.group03.kitchenManagementService.entity.InventoryOutboxEvent;
+import com.nsbm.group03.kitchenManagementService.enums.OutboxStatus;
+
+@Repository
+public interface InventoryOutboxRepository extends JpaRepository<InventoryOutboxEvent, Long> {
+
+    // ── Deductions due for delivery, oldest first ──
+    List<InventoryOutboxEvent> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            OutboxStatus status, LocalDateTime now, Limit limit);
+
+    // ── Backlog size and age (lag metrics) ──
+    long countByStatus(OutboxStatus status);
+
+    @Query("SELECT MIN(e.createdAt) FROM InventoryOutboxEvent e WHERE e.status = :status")
+    LocalDateTime findOldestCreatedAt(@Param("status") OutboxStatus status);
+
+    // ── Housekeeping of delivered rows ──
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM InventoryOutboxEvent e WHERE e.status = :status AND e.sentAt < :before")
+    int deleteSentBefore(@Param("status") OutboxStatus status, @Param("before") LocalDateTime before);
+}
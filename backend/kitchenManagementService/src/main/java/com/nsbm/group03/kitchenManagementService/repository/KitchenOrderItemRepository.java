@@ -1,15 +1,23 @@
 package com.nsbm.group03.kitchenManagementService.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.nsbm.group03.kitchenManagementService.entity.KitchenOrderItem;
+import com.nsbm.group03.kitchenManagementService.enums.OrderStatus;
 
 @Repository
 public interface KitchenOrderItemRepository extends JpaRepository<KitchenOrderItem, Long> {
 
     // ── Find items by order ID ──
     List<KitchenOrderItem> findByKitchenOrderId(Long kitchenOrderId);
+
+    // ── Items of all orders in these statuses, with their order (scheduler start-up) ──
+    @Query("SELECT i FROM KitchenOrderItem i JOIN FETCH i.kitchenOrder o WHERE o.orderStatus IN :statuses ORDER BY o.id, i.id")
+    List<KitchenOrderItem> findWithOrderByOrderStatusIn(@Param("statuses") Collection<OrderStatus> statuses);
 }
@@ -0,0 +1,15 @@
+package com.nsbm.group03.kitchenManagementService.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.nsbm.group03.kitchenManagementService.entity.KitchenOrderTransition;
+
+@Repository
+public interface KitchenOrderTransitionRepository extends JpaRepository<KitchenOrderTransition, Long> {
+
+    // ── Status history of one order, oldest first ──
+    List<KitchenOrderTransition> findByOrderIdOrderByChangedAtAscIdAsc(Long orderId);
+}
@@ -0,0 +1,247 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nsbm.group03.kitchenManagementService.client.InventoryClient;
+import com.nsbm.group03.kitchenManagementService.dto.InventoryDeductResultDTO;
+import com.nsbm.group03.kitchenManagementService.dto.InventoryRequestDTO;
+import com.nsbm.group03.kitchenManagementService.entity.InventoryOutboxEvent;
+import com.nsbm.group03.kitchenManagementService.enums.OutboxStatus;
+import com.nsbm.group03.kitchenManagementService.repository.InventoryOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Delivers the inventory deductions that KitchenOrderServiceImpl records in the inventory_outbox table.
+ * Due rows are sent in batches of up to inventory.outbox.batch-size lines per call, and each row is settled by
+ * the outcome of its line: DEDUCTED and DUPLICATE are SENT, INSUFFICIENT_STOCK is retried like a failed call,
+ * NOT_FOUND and INVALID are FAILED at once. Retries use exponential backoff and jitter, and rows are marked
+ * FAILED after inventory.outbox.max-attempts.
+ * Each line carries its requestId, so a batch that is delivered twice (e.g. sent but not marked, or sent by
+ * two instances) is deducted only once by the Inventory Service.
+ */
+@Component
+public class InventoryOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryOutboxDispatcher.class);
+
+    private final InventoryOutboxRepository outboxRepository;
+    private final InventoryClient inventoryClient;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+    private final Timer deliveryTimer;
+
+    // backlog as of the last run, so metric scrapes never hit the database
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicReference<LocalDateTime> oldestPending = new AtomicReference<>();
+
+    public InventoryOutboxDispatcher(InventoryOutboxRepository outboxRepository,
+                                     InventoryClient inventoryClient,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${inventory.outbox.batch-size:100}") int batchSize,
+                                     @Value("${inventory.outbox.max-attempts:20}") int maxAttempts,
+                                     @Value("${inventory.outbox.initial-backoff:1s}") Duration initialBackoff,
+                                     @Value("${inventory.outbox.max-backoff:5m}") Duration maxBackoff,
+                                     @Value("${inventory.outbox.retention:7d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.inventoryClient = inventoryClient;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+
+        this.sentCounter = Counter.builder("kitchen.inventory.outbox.sent")
+                .description("Inventory deduction lines delivered")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("kitchen.inventory.outbox.retries")
+                .description("Inventory deduction lines rescheduled after a failed delivery")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("kitchen.inventory.outbox.failed")
+                .description("Inventory deduction lines given up after the last attempt")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("kitchen.inventory.outbox.delivery")
+                .description("Duration of one batched deduction call to the Inventory Service")
+                .register(meterRegistry);
+        Gauge.builder("kitchen.inventory.outbox.pending", pending, AtomicLong::get)
+                .description("Inventory deduction lines waiting for delivery")
+                .register(meterRegistry);
+        Gauge.builder("kitchen.inventory.outbox.lag", this, InventoryOutboxDispatcher::lagSeconds)
+                .description("Age of the oldest undelivered inventory deduction")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    // ══════════════════════════════════════
+    //  Delivery
+    // ══════════════════════════════════════
+
+    @Scheduled(fixedDelayString = "${inventory.outbox.poll-interval:1000}")
+    public void dispatchPending() {
+        try {
+            // keep sending while full batches are due, so a backlog drains without waiting for the next poll
+            while (dispatchBatch() == batchSize) {
+                // next batch
+            }
+        } finally {
+            refreshBacklog();
+        }
+    }
+
+    /**
+     * Send one batch of due deductions. Returns the number of lines the Inventory Service answered for,
+     * 0 if the call failed.
+     */
+    public int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<InventoryOutboxEvent> batch = outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                OutboxStatus.PENDING, now, Limit.of(batchSize));
+        if (batch.isEmpty()) return 0;
+
+        List<InventoryRequestDTO> lines = new ArrayList<>(batch.size());
+        for (InventoryOutboxEvent event : batch) {
+            lines.add(new InventoryRequestDTO(event.getItemName(), event.getQuantity(), event.getRequestId()));
+        }
+
+        List<InventoryDeductResultDTO> results;
+        try {
+            results = deliveryTimer.recordCallable(() -> inventoryClient.deductInventory(lines));
+        } catch (Exception e) {
+            // RestClientException, or anything else the call threw
+            reschedule(batch, e.getClass().getSimpleName() + ": " + e.getMessage());
+            outboxRepository.saveAll(batch);
+            return 0; // stop draining until the next poll
+        }
+        // if this fails the batch stays PENDING and is sent again, which the requestIds make harmless
+        applyOutcomes(batch, results);
+        return batch.size();
+    }
+
+    // Only applied (or already applied) lines are SENT; short stock is retried, rejected lines are FAILED
+    private void applyOutcomes(List<InventoryOutboxEvent> batch, List<InventoryDeductResultDTO> results) {
+        Map<String, InventoryDeductResultDTO.Outcome> outcomes = new HashMap<>();
+        for (InventoryDeductResultDTO result : results) {
+            outcomes.put(result.getRequestId(), result.getOutcome());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<InventoryOutboxEvent> retry = new ArrayList<>();
+        int sent = 0;
+        int rejected = 0;
+        for (InventoryOutboxEvent event : batch) {
+            InventoryDeductResultDTO.Outcome outcome = outcomes.get(event.getRequestId());
+            if (outcome == null || outcome == InventoryDeductResultDTO.Outcome.INSUFFICIENT_STOCK) {
+                event.setLastError(outcome == null ? "no result for this line" : outcome.name());
+                retry.add(event);
+                continue;
+            }
+            event.setAttempts(event.getAttempts() + 1);
+            event.setLastError(null);
+            switch (outcome) {
+                case DEDUCTED, DUPLICATE -> {
+                    event.setStatus(OutboxStatus.SENT);
+                    event.setSentAt(now);
+                    sent++;
+                }
+                default -> {
+                    // NOT_FOUND or INVALID: sending the line again cannot succeed
+                    event.setStatus(OutboxStatus.FAILED);
+                    event.setLastError(outcome.name());
+                    rejected++;
+                    logger.warn("Inventory rejected deduction {} of {} x {}: {}",
+                            event.getRequestId(), event.getQuantity(), event.getItemName(), outcome);
+                }
+            }
+        }
+        if (!retry.isEmpty()) {
+            reschedule(retry, null);
+        }
+        outboxRepository.saveAll(batch);
+        sentCounter.increment(sent);
+        failedCounter.increment(rejected);
+    }
+
+    // Schedule the next attempt of each event, or mark it FAILED after maxAttempts (saved by the caller).
+    // A null error keeps the one already set on each event.
+    private void reschedule(List<InventoryOutboxEvent> events, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        if (error != null && error.length() > 500) {
+            error = error.substring(0, 500);
+        }
+        int failed = 0;
+        for (InventoryOutboxEvent event : events) {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            if (error != null) {
+                event.setLastError(error);
+            }
+            if (attempts >= maxAttempts) {
+                event.setStatus(OutboxStatus.FAILED);
+                failed++;
+            } else {
+                event.setNextAttemptAt(now.plus(backoff(attempts)));
+            }
+        }
+        retryCounter.increment(events.size() - failed);
+        failedCounter.increment(failed);
+        logger.warn("Inventory deduction of {} lines failed, {} given up: {}",
+                events.size(), failed, error != null ? error : events.get(0).getLastError());
+    }
+
+    // initialBackoff * 2^(attempts-1), capped at maxBackoff, with up to 20% jitter so retries do not align
+    Duration backoff(int attempts) {
+        long millis = initialBackoff.toMillis() << Math.min(attempts - 1, 30);
+        if (millis <= 0 || millis > maxBackoff.toMillis()) {
+            millis = maxBackoff.toMillis();
+        }
+        long jitter = (long) (millis * 0.2 * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis(millis - jitter);
+    }
+
+    // ══════════════════════════════════════
+    //  Housekeeping and metrics
+    // ══════════════════════════════════════
+
+    @Scheduled(cron = "${inventory.outbox.cleanup-cron:0 15 3 * * *}")
+    public void deleteDelivered() {
+        int deleted = outboxRepository.deleteSentBefore(OutboxStatus.SENT, LocalDateTime.now().minus(retention));
+        logger.info("Deleted {} delivered inventory outbox rows", deleted);
+    }
+
+    private void refreshBacklog() {
+        pending.set(outboxRepository.countByStatus(OutboxStatus.PENDING));
+        oldestPending.set(outboxRepository.findOldestCreatedAt(OutboxStatus.PENDING));
+    }
+
+    // grows between runs, so a stalled dispatcher shows up as rising lag
+    double lagSeconds() {
+        LocalDateTime oldest = oldestPending.get();
+        return oldest == null ? 0.0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0);
+    }
+}
@@ -0,0 +1,323 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.nsbm.group03.kitchenManagementService.dto.KitchenDisplayEventDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderItemDTO;
+import com.nsbm.group03.kitchenManagementService.event.KitchenOrderEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Server-sent event streams for kitchen display screens, one per restaurant and station.
+ * A station is a menu category ("Main", "Dessert"...); each order line goes to the station of its
+ * menu item (KitchenMenuStore.stationOf), and the restaurant-wide stream (no station) gets every line.
+ * <p>
+ * Every stream numbers its events 1, 2, 3... and keeps the last kitchen.kds.replay-size of them.
+ * Event ids are "{epoch}-{sequence}", where the epoch changes on every start and for every new stream.
+ * A screen that reconnects with Last-Event-ID gets the events it missed; if they are no longer kept
+ * (or the service restarted) it gets a "reset" event and should reload the tickets with
+ * GET /api/kitchen/orders/restaurant/{id}.
+ * <p>
+ * Events are numbered in the order the after-commit listener sees them. Changes to different orders
+ * committed at about the same time may be numbered in either order, so the sequence is only for
+ * replay and gap detection; the order status in each event is the state as of its own commit.
+ * <p>
+ * Restaurant ids and stations come from the clients, so a stream with no screens and no events for
+ * kitchen.kds.idle-eviction is dropped; a screen that comes back later with its old id gets "reset".
+ * <p>
+ * Events are sent by one thread, in the order they were numbered, so slow screens never hold up
+ * the request that changed the order.
+ */
+@Component
+public class KitchenDisplayStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(KitchenDisplayStream.class);
+    private static final String ALL_STATIONS = "*";
+
+    private final KitchenMenuStore menuStore;
+    private final int replaySize;
+    private final long streamTimeout;
+    private final long idleEviction;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong streamsCreated = new AtomicLong();
+
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "kitchen-display-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public KitchenDisplayStream(KitchenMenuStore menuStore,
+                                @Value("${kitchen.kds.replay-size:500}") int replaySize,
+                                @Value("${kitchen.kds.stream-timeout:1800000}") long streamTimeout,
+                                @Value("${kitchen.kds.idle-eviction:3600000}") long idleEviction) {
+        this.menuStore = menuStore;
+        this.replaySize = replaySize;
+        this.streamTimeout = streamTimeout;
+        this.idleEviction = idleEviction;
+    }
+
+    // ══════════════════════════════════════
+    //  Subscribe
+    // ══════════════════════════════════════
+
+    /**
+     * Open a stream for one restaurant, and one station if given. The first event is "ready" (or "reset"
+     * when the missed events cannot be replayed), followed by any missed events and then live ones.
+     */
+    public SseEmitter subscribe(Long restaurantId, String station, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(streamTimeout);
+        withPartition(restaurantId, station, partition -> {
+            emitter.onCompletion(() -> partition.remove(emitter));
+            emitter.onTimeout(emitter::complete);
+            emitter.onError(error -> partition.remove(emitter));
+            partition.subscribe(emitter, lastEventId);
+        });
+        return emitter;
+    }
+
+    // ══════════════════════════════════════
+    //  Publish
+    // ══════════════════════════════════════
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(KitchenOrderEvent event) {
+        KitchenOrderDTO order = event.getOrder();
+        Map<String, List<KitchenOrderItemDTO>> itemsByStation = new LinkedHashMap<>();
+        List<KitchenOrderItemDTO> items = order.getOrderItems() == null ? List.of() : order.getOrderItems();
+        for (KitchenOrderItemDTO item : items) {
+            itemsByStation.computeIfAbsent(menuStore.stationOf(item.getMenuItemId()), s -> new ArrayList<>()).add(item);
+        }
+
+        publish(order.getRestaurantId(), event, null, items);
+        for (Map.Entry<String, List<KitchenOrderItemDTO>> station : itemsByStation.entrySet()) {
+            publish(order.getRestaurantId(), event, station.getKey(), station.getValue());
+        }
+    }
+
+    private void publish(Long restaurantId, KitchenOrderEvent event, String station, List<KitchenOrderItemDTO> items) {
+        KitchenOrderDTO order = event.getOrder();
+        KitchenDisplayEventDTO dto = new KitchenDisplayEventDTO();
+        dto.setType(event.getType().name());
+        dto.setOrderId(order.getId());
+        dto.setRestaurantId(order.getRestaurantId());
+        dto.setStation(station);
+        dto.setTableNumber(order.getTableNumber());
+        dto.setPreviousStatus(event.getPreviousStatus() == null ? null : event.getPreviousStatus().name());
+        dto.setOrderStatus(order.getOrderStatus());
+        dto.setSpecialInstructions(order.getSpecialInstructions());
+        dto.setItems(items);
+        dto.setOccurredAt(event.getOccurredAt());
+        withPartition(restaurantId, station, partition -> partition.publish(dto));
+    }
+
+    // Inside compute, so evictIdle cannot drop the stream between finding and using it
+    private void withPartition(Long restaurantId, String station, Consumer<Partition> action) {
+        String key = restaurantId + "/" + (station == null || station.isBlank()
+                ? ALL_STATIONS
+                : station.trim().toLowerCase(Locale.ROOT));
+        partitions.compute(key, (k, existing) -> {
+            Partition partition = existing != null ? existing : new Partition();
+            action.accept(partition);
+            return partition;
+        });
+    }
+
+    // ══════════════════════════════════════
+    //  Housekeeping
+    // ══════════════════════════════════════
+
+    // Keeps idle connections open through proxies and finds screens that went away
+    @Scheduled(fixedDelayString = "${kitchen.kds.heartbeat-interval:15000}")
+    public void heartbeat() {
+        for (Partition partition : partitions.values()) {
+            partition.heartbeat();
+        }
+        evictIdle();
+    }
+
+    // Drops the streams without screens that had no events for idleEviction
+    void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEviction;
+        for (String key : partitions.keySet()) {
+            partitions.computeIfPresent(key, (k, partition) -> partition.idleSince(cutoff) ? null : partition);
+        }
+    }
+
+    int streams() {
+        return partitions.size();
+    }
+
+    int subscribers() {
+        int count = 0;
+        for (Partition partition : partitions.values()) {
+            count += partition.emitters.size();
+        }
+        return count;
+    }
+
+    // Before the web server stops, so open streams do not hold up a graceful shutdown
+    @EventListener(ContextClosedEvent.class)
+    void closeStreams() {
+        for (Partition partition : partitions.values()) {
+            partition.closeAll();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    // ── One stream: its numbering, recent events and screens ──
+    private final class Partition {
+        // a stream created again after eviction numbers from 1 again, so its ids must not match the old ones
+        private final String epoch = KitchenDisplayStream.this.epoch + "." + Long.toString(streamsCreated.incrementAndGet(), 36);
+        private final ArrayDeque<KitchenDisplayEventDTO> recent = new ArrayDeque<>(); // guarded by this
+        private final List<SseEmitter> emitters = new ArrayList<>();                 // guarded by this
+        private long sequence;                                                        // guarded by this
+        private long lastActive = System.currentTimeMillis();                         // guarded by this
+
+        // Numbering, the copy of the subscriber list and the hand-off to the sender all happen under
+        // the lock, so a screen that subscribes concurrently sees each event exactly once, in order
+        synchronized void publish(KitchenDisplayEventDTO event) {
+            lastActive = System.currentTimeMillis();
+            event.setSequence(++sequence);
+            recent.addLast(event);
+            if (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+            List<SseEmitter> targets = List.copyOf(emitters);
+            sender.execute(() -> {
+                for (SseEmitter emitter : targets) {
+                    send(emitter, eventName(event), event.getSequence(), event);
+                }
+            });
+        }
+
+        synchronized void subscribe(SseEmitter emitter, String lastEventId) {
+            long resumeAfter = resumePoint(lastEventId);
+            List<KitchenDisplayEventDTO> missed = new ArrayList<>();
+            String first = "ready";
+            if (resumeAfter >= 0) {
+                long oldestKept = recent.isEmpty() ? sequence + 1 : recent.getFirst().getSequence();
+                if (resumeAfter + 1 < oldestKept) {
+                    first = "reset"; // some of the missed events are no longer kept
+                } else {
+                    for (KitchenDisplayEventDTO event : recent) {
+                        if (event.getSequence() > resumeAfter) missed.add(event);
+                    }
+                }
+            } else if (lastEventId != null && !lastEventId.isBlank()) {
+                first = "reset"; // from before a restart, or not one of ours
+            }
+            emitters.add(emitter);
+
+            String firstEvent = first;
+            long position = sequence;
+            sender.execute(() -> {
+                if (!send(emitter, firstEvent, position - missed.size(), Map.of("sequence", position))) return;
+                for (KitchenDisplayEventDTO event : missed) {
+                    if (!send(emitter, eventName(event), event.getSequence(), event)) return;
+                }
+            });
+        }
+
+        // The sequence to resume after, or -1 if the id is missing, malformed or from another epoch
+        private long resumePoint(String lastEventId) {
+            if (lastEventId == null) return -1;
+            int dash = lastEventId.lastIndexOf('-');
+            if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) return -1;
+            try {
+                long after = Long.parseLong(lastEventId.substring(dash + 1));
+                return after >= 0 && after <= sequence ? after : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        synchronized void remove(SseEmitter emitter) {
+            emitters.remove(emitter);
+            lastActive = System.currentTimeMillis();
+        }
+
+        synchronized boolean idleSince(long cutoff) {
+            return emitters.isEmpty() && lastActive <= cutoff;
+        }
+
+        synchronized void heartbeat() {
+            List<SseEmitter> targets = List.copyOf(emitters);
+            sender.execute(() -> {
+                for (SseEmitter emitter : targets) {
+                    send(emitter, SseEmitter.event().comment("heartbeat"));
+                }
+            });
+        }
+
+        synchronized void closeAll() {
+            for (SseEmitter emitter : emitters) {
+                emitter.complete();
+            }
+            emitters.clear();
+        }
+
+        private boolean send(SseEmitter emitter, String name, long sequence, Object data) {
+            return send(emitter, SseEmitter.event()
+                    .id(epoch + "-" + sequence)
+                    .name(name)
+                    .data(data, MediaType.APPLICATION_JSON));
+        }
+
+        // A screen that went away resumes from its last event id when it reconnects
+        private boolean send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException e) {
+                logger.debug("Kitchen display stream closed: {}", e.getMessage());
+                remove(emitter);
+                emitter.completeWithError(e);
+                return false;
+            } catch (IllegalStateException e) {
+                // already completed (timeout, or the container saw the disconnect first)
+                remove(emitter);
+                return false;
+            }
+        }
+    }
+
+    private static String eventName(KitchenDisplayEventDTO event) {
+        return switch (KitchenOrderEvent.Type.valueOf(event.getType())) {
+            case CREATED -> "order-created";
+            case UPDATED -> "order-updated";
+            case STATUS_CHANGED -> "status-changed";
+            case STAFF_ASSIGNED -> "staff-assigned";
+            case DELETED -> "order-deleted";
+        };
+    }
+}
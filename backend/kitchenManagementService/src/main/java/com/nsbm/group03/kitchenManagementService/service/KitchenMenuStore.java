@@ -0,0 +1,301 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nsbm.group03.kitchenManagementService.entity.KitchenMenuItem;
+import com.nsbm.group03.kitchenManagementService.enums.MealType;
+import com.nsbm.group03.kitchenManagementService.enums.ServiceType;
+import com.nsbm.group03.kitchenManagementService.repository.KitchenMenuItemRepository;
+
+/**
+ * In-memory copy of the kitchen menu, indexed by restaurant, meal type, service type, date, category
+ * and price, so menu reads and order validation do not query the database.
+ * Readers use an immutable snapshot without locking; every change builds a new snapshot (copy-on-write),
+ * which is cheap because the menu is small and changes a few times a day.
+ * KitchenMenuItemServiceImpl reports each change it makes. Items saved by other means (another instance,
+ * a script) are read through on the first lookup by id and picked up by the reload every
+ * kitchen.menu.reload-interval.
+ */
+@Component
+public class KitchenMenuStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(KitchenMenuStore.class);
+
+    private final KitchenMenuItemRepository menuItemRepository;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot; // null until the first load
+
+    public KitchenMenuStore(KitchenMenuItemRepository menuItemRepository) {
+        this.menuItemRepository = menuItemRepository;
+    }
+
+    // ══════════════════════════════════════
+    //  Lookups
+    // ══════════════════════════════════════
+
+    /**
+     * Returns a copy of the item, or null if it does not exist.
+     */
+    public KitchenMenuItem get(Long id) {
+        if (id == null) return null;
+        KitchenMenuItem item = snapshot().byId.get(id);
+        if (item == null) {
+            item = readThrough(List.of(id)).get(id);
+        }
+        return item == null ? null : copyOf(item);
+    }
+
+    /**
+     * Returns copies of the items found, by id. Ids that do not exist are left out.
+     */
+    public Map<Long, KitchenMenuItem> findAllById(Collection<Long> ids) {
+        Snapshot current = snapshot();
+        Map<Long, KitchenMenuItem> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            if (id == null) continue;
+            KitchenMenuItem item = current.byId.get(id);
+            if (item != null) {
+                found.put(id, copyOf(item));
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            readThrough(missing).forEach((id, item) -> found.put(id, copyOf(item)));
+        }
+        return found;
+    }
+
+    /**
+     * The kitchen station that prepares a menu item: its category. Lines whose menu item is gone
+     * (deleted since the order was taken) go to the "General" station.
+     */
+    public String stationOf(Long menuItemId) {
+        KitchenMenuItem item = menuItemId == null ? null : snapshot().byId.get(menuItemId);
+        if (item == null && menuItemId != null) {
+            item = readThrough(List.of(menuItemId)).get(menuItemId);
+        }
+        return item == null ? "General" : item.getCategory();
+    }
+
+    // The list methods return the stored items in id order; callers map them and must not modify them
+
+    public List<KitchenMenuItem> all() {
+        return snapshot().all;
+    }
+
+    public List<KitchenMenuItem> byRestaurant(Long restaurantId) {
+        return snapshot().byRestaurant.getOrDefault(restaurantId, List.of());
+    }
+
+    public List<KitchenMenuItem> byMealType(MealType mealType) {
+        return snapshot().byMealType.getOrDefault(mealType, List.of());
+    }
+
+    public List<KitchenMenuItem> byServiceType(ServiceType serviceType) {
+        return snapshot().byServiceType.getOrDefault(serviceType, List.of());
+    }
+
+    public List<KitchenMenuItem> byDate(LocalDate menuDate) {
+        return snapshot().byDate.getOrDefault(menuDate, List.of());
+    }
+
+    public List<KitchenMenuItem> byCategory(String category) {
+        return snapshot().byCategory.getOrDefault(category, List.of());
+    }
+
+    public List<KitchenMenuItem> available() {
+        return snapshot().available;
+    }
+
+    public long countAvailable() {
+        return snapshot().available.size();
+    }
+
+    // Same matches as price BETWEEN min AND max
+    public List<KitchenMenuItem> byPriceRange(Double minPrice, Double maxPrice) {
+        Snapshot current = snapshot();
+        KitchenMenuItem[] byPrice = current.byPrice;
+        int from = firstAtLeast(byPrice, minPrice);
+        List<KitchenMenuItem> matches = new ArrayList<>();
+        for (int i = from; i < byPrice.length && byPrice[i].getPrice() <= maxPrice; i++) {
+            matches.add(byPrice[i]);
+        }
+        matches.sort(Comparator.comparing(KitchenMenuItem::getId));
+        return matches;
+    }
+
+    // Same matches as itemName LIKE %name% ignoring case
+    public List<KitchenMenuItem> searchByName(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        return filter(snapshot().all, item -> item.getItemName().toLowerCase(Locale.ROOT).contains(key));
+    }
+
+    /**
+     * Items of the given list that match, keeping their order. Used to combine an index with further conditions.
+     */
+    public static List<KitchenMenuItem> filter(List<KitchenMenuItem> items, Predicate<KitchenMenuItem> condition) {
+        List<KitchenMenuItem> matches = new ArrayList<>();
+        for (KitchenMenuItem item : items) {
+            if (condition.test(item)) matches.add(item);
+        }
+        return matches;
+    }
+
+    // ══════════════════════════════════════
+    //  Changes
+    // ══════════════════════════════════════
+
+    /**
+     * Record an item after it was saved.
+     */
+    public void put(KitchenMenuItem item) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null) return; // the first load reads it from the table
+            TreeMap<Long, KitchenMenuItem> items = new TreeMap<>(current.byId);
+            items.put(item.getId(), copyOf(item));
+            snapshot = new Snapshot(items);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Forget an item after it was deleted.
+     */
+    public void remove(Long id) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null || !current.byId.containsKey(id)) return;
+            TreeMap<Long, KitchenMenuItem> items = new TreeMap<>(current.byId);
+            items.remove(id);
+            snapshot = new Snapshot(items);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${kitchen.menu.reload-interval:300000}",
+               initialDelayString = "${kitchen.menu.reload-interval:300000}")
+    public void reload() {
+        // under the write lock, so a change reported while the table is read is applied after it
+        writeLock.lock();
+        try {
+            TreeMap<Long, KitchenMenuItem> items = new TreeMap<>();
+            for (KitchenMenuItem item : menuItemRepository.findAll()) {
+                items.put(item.getId(), copyOf(item));
+            }
+            snapshot = new Snapshot(items);
+            logger.debug("Loaded {} menu items", items.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            writeLock.lock();
+            try {
+                if (snapshot == null) reload();
+                current = snapshot;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private Map<Long, KitchenMenuItem> readThrough(List<Long> ids) {
+        Map<Long, KitchenMenuItem> found = new HashMap<>();
+        for (KitchenMenuItem item : menuItemRepository.findAllById(ids)) {
+            put(item);
+            found.put(item.getId(), item);
+        }
+        return found;
+    }
+
+    private static int firstAtLeast(KitchenMenuItem[] byPrice, double price) {
+        int low = 0;
+        int high = byPrice.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byPrice[mid].getPrice() < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Detached copy, so changes to a managed entity never leak into a published snapshot
+    private static KitchenMenuItem copyOf(KitchenMenuItem item) {
+        KitchenMenuItem copy = new KitchenMenuItem(item.getItemName(), item.getCategory(), item.getPrice(),
+                item.isAvailable(), item.getMealType(), item.getServiceType(), item.getMenuDate(),
+                item.getRestaurantId(), item.getDescription());
+        copy.setId(item.getId());
+        copy.setCreatedAt(item.getCreatedAt());
+        copy.setUpdatedAt(item.getUpdatedAt());
+        return copy;
+    }
+
+    // ── One immutable version of the menu ──
+    private static final class Snapshot {
+        final Map<Long, KitchenMenuItem> byId;
+        final List<KitchenMenuItem> all;
+        final List<KitchenMenuItem> available;
+        final Map<Long, List<KitchenMenuItem>> byRestaurant;
+        final Map<MealType, List<KitchenMenuItem>> byMealType;
+        final Map<ServiceType, List<KitchenMenuItem>> byServiceType;
+        final Map<LocalDate, List<KitchenMenuItem>> byDate;
+        final Map<String, List<KitchenMenuItem>> byCategory;
+        final KitchenMenuItem[] byPrice;
+
+        Snapshot(TreeMap<Long, KitchenMenuItem> items) {
+            this.byId = Collections.unmodifiableMap(items);
+            this.all = List.copyOf(items.values());
+            this.available = List.copyOf(KitchenMenuStore.filter(all, KitchenMenuItem::isAvailable));
+            this.byRestaurant = group(all, KitchenMenuItem::getRestaurantId);
+            this.byMealType = group(all, KitchenMenuItem::getMealType);
+            this.byServiceType = group(all, KitchenMenuItem::getServiceType);
+            this.byDate = group(all, KitchenMenuItem::getMenuDate);
+            this.byCategory = group(all, KitchenMenuItem::getCategory);
+            this.byPrice = all.toArray(new KitchenMenuItem[0]);
+            Arrays.sort(byPrice, Comparator.comparing(KitchenMenuItem::getPrice));
+        }
+
+        private static <K> Map<K, List<KitchenMenuItem>> group(List<KitchenMenuItem> items,
+                                                                Function<KitchenMenuItem, K> key) {
+            Map<K, List<KitchenMenuItem>> groups = new HashMap<>();
+            for (KitchenMenuItem item : items) {
+                groups.computeIfAbsent(key.apply(item), k -> new ArrayList<>()).add(item);
+            }
+            groups.replaceAll((k, group) -> List.copyOf(group));
+            return groups;
+        }
+    }
+}
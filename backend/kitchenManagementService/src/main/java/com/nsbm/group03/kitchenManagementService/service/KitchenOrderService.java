@@ -4,6 +4,7 @@ import java.util.List;
 
 import com.nsbm.group03.kitchenManagementService.dto.InventoryItemDTO;
 import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
+import com.nsbm.group03.kitchenManagementService.dto.OrderTransitionDTO;
 
 public interface KitchenOrderService {
 
@@ -21,6 +22,8 @@ public interface KitchenOrderService {
     // ── Status Management ──
     KitchenOrderDTO updateOrderStatus(Long id, String status);
 
+    List<OrderTransitionDTO> getOrderTransitions(Long id);
+
     // ── Filtering ──
     List<KitchenOrderDTO> getOrdersByStatus(String status);
 
@@ -0,0 +1,441 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderItemDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenTicketDTO;
+import com.nsbm.group03.kitchenManagementService.dto.StationLoadDTO;
+import com.nsbm.group03.kitchenManagementService.entity.KitchenOrder;
+import com.nsbm.group03.kitchenManagementService.entity.KitchenOrderItem;
+import com.nsbm.group03.kitchenManagementService.enums.OrderStatus;
+import com.nsbm.group03.kitchenManagementService.event.KitchenOrderEvent;
+import com.nsbm.group03.kitchenManagementService.repository.KitchenOrderItemRepository;
+
+/**
+ * Keeps a priority queue of open tickets per station and estimates how loaded each station is.
+ * <p>
+ * An open order (PENDING or COOKING) becomes one ticket per station it needs (KitchenMenuStore.stationOf).
+ * A ticket takes as long as its slowest item (PrepTimeEstimator). Tickets are ordered by the time they
+ * must start for all tickets of the order to be ready together: the order's slowest ticket first, the
+ * others as much later as they are shorter.
+ * <p>
+ * Orders created without staff are assigned to the least loaded cook of the station of their slowest
+ * ticket, from kitchen.scheduler.staff.{station} (or kitchen.scheduler.staff.default), when
+ * kitchen.scheduler.auto-assign is on. A cook's load is the estimated time left on their tickets.
+ * <p>
+ * When an order turns READY, the time since it was created is learned as the prep time of the items
+ * on its slowest ticket only: the other tickets were timed to finish with it, so the wait says
+ * nothing about their own items.
+ * <p>
+ * The queues are ConcurrentSkipListSets, so reading and scanning them take no locks. Changes to one
+ * order's tickets are made inside ticketsByOrder.compute, so an order's queued tickets always match
+ * its entry even when its events are handled on several threads at once.
+ * They are kept up to date from KitchenOrderEvents and rebuilt from the open orders at start-up.
+ */
+@Component
+public class KitchenTicketScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(KitchenTicketScheduler.class);
+    private static final String DEFAULT_STAFF = "default";
+
+    private static final Comparator<Ticket> PRIORITY = Comparator.<Ticket>comparingLong(ticket -> ticket.startByMillis)
+            .thenComparing(ticket -> ticket.orderId)
+            .thenComparing(ticket -> ticket.stationKey);
+
+    private final KitchenMenuStore menuStore;
+    private final PrepTimeEstimator prepTimeEstimator;
+    private final KitchenOrderService orderService;
+    private final KitchenOrderItemRepository orderItemRepository;
+    private final TransactionTemplate newTransaction;
+    private final boolean autoAssign;
+    private final Map<String, List<Long>> staffByStation = new HashMap<>();
+
+    private final Map<String, Station> stations = new ConcurrentHashMap<>();
+    private final Map<Long, List<Ticket>> ticketsByOrder = new ConcurrentHashMap<>();
+
+    public KitchenTicketScheduler(KitchenMenuStore menuStore,
+                                  PrepTimeEstimator prepTimeEstimator,
+                                  KitchenOrderService orderService,
+                                  KitchenOrderItemRepository orderItemRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  Environment environment,
+                                  @Value("${kitchen.scheduler.auto-assign:false}") boolean autoAssign) {
+        this.menuStore = menuStore;
+        this.prepTimeEstimator = prepTimeEstimator;
+        this.orderService = orderService;
+        this.orderItemRepository = orderItemRepository;
+        this.autoAssign = autoAssign;
+
+        // staff are assigned after the order's transaction committed, so in a transaction of their own
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Map<String, Long[]> staff = Binder.get(environment)
+                .bind("kitchen.scheduler.staff", Bindable.mapOf(String.class, Long[].class))
+                .orElse(Map.of());
+        staff.forEach((station, ids) -> staffByStation.put(key(station), List.of(ids)));
+    }
+
+    // ══════════════════════════════════════
+    //  Queue and load
+    // ══════════════════════════════════════
+
+    /**
+     * Load of every station that has open tickets, most loaded first.
+     */
+    public List<StationLoadDTO> stationLoads() {
+        long now = System.currentTimeMillis();
+        List<StationLoadDTO> loads = new ArrayList<>();
+        for (Station station : stations.values()) {
+            int waiting = 0;
+            int cooking = 0;
+            long remaining = 0;
+            for (Ticket ticket : station.queue) {
+                if (ticket.cookingSinceMillis == 0) waiting++;
+                else cooking++;
+                remaining += ticket.remainingMillis(now);
+            }
+            if (waiting + cooking == 0) continue;
+            int cooks = Math.max(1, staffFor(station.key).size());
+            loads.add(new StationLoadDTO(station.name, waiting, cooking, cooks,
+                    Duration.ofMillis(remaining / cooks).toSeconds()));
+        }
+        loads.sort(Comparator.comparingLong(StationLoadDTO::getPredictedWaitSeconds).reversed()
+                .thenComparing(StationLoadDTO::getStation));
+        return loads;
+    }
+
+    /**
+     * Open tickets of one station, in the order they should be started.
+     */
+    public List<KitchenTicketDTO> queue(String station) {
+        Station queue = stations.get(key(station));
+        List<KitchenTicketDTO> tickets = new ArrayList<>();
+        if (queue == null) return tickets;
+        for (Ticket ticket : queue.queue) {
+            tickets.add(ticket.toDTO());
+        }
+        return tickets;
+    }
+
+    /**
+     * Estimated time left on the open tickets assigned to one cook.
+     */
+    public Duration staffLoad(Long staffId) {
+        long now = System.currentTimeMillis();
+        long remaining = 0;
+        for (List<Ticket> tickets : ticketsByOrder.values()) {
+            for (Ticket ticket : tickets) {
+                if (staffId.equals(ticket.staffId)) remaining += ticket.remainingMillis(now);
+            }
+        }
+        return Duration.ofMillis(remaining);
+    }
+
+    // ══════════════════════════════════════
+    //  Order changes
+    // ══════════════════════════════════════
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(KitchenOrderEvent event) {
+        KitchenOrderDTO order = event.getOrder();
+        switch (event.getType()) {
+            case CREATED -> {
+                List<Ticket> tickets = open(order, event.getOccurredAt());
+                if (autoAssign && order.getStaffId() == null && !tickets.isEmpty()) {
+                    assignLeastLoaded(order.getId(), tickets);
+                }
+            }
+            case UPDATED -> open(order, event.getOccurredAt());
+            case STATUS_CHANGED -> {
+                OrderStatus status = OrderStatus.valueOf(order.getOrderStatus());
+                if (status == OrderStatus.COOKING) {
+                    long since = millis(event.getOccurredAt());
+                    ticketsByOrder.computeIfPresent(order.getId(), (id, tickets) -> {
+                        for (Ticket ticket : tickets) {
+                            ticket.cookingSinceMillis = since;
+                        }
+                        return tickets;
+                    });
+                } else if (status == OrderStatus.READY || status == OrderStatus.SERVED) {
+                    if (status == OrderStatus.READY && order.getCreatedAt() != null) {
+                        prepTimeEstimator.record(slowestTicketItemIds(order),
+                                Duration.between(order.getCreatedAt(), event.getOccurredAt()));
+                    }
+                    close(order.getId());
+                }
+            }
+            case STAFF_ASSIGNED -> ticketsByOrder.computeIfPresent(order.getId(), (id, tickets) -> {
+                for (Ticket ticket : tickets) {
+                    ticket.staffId = order.getStaffId();
+                }
+                return tickets;
+            });
+            case DELETED -> close(order.getId());
+        }
+    }
+
+    // Replaces the order's tickets; a COOKING order keeps the time it started
+    private List<Ticket> open(KitchenOrderDTO order, LocalDateTime now) {
+        OrderStatus status = OrderStatus.valueOf(order.getOrderStatus());
+        if (status != OrderStatus.PENDING && status != OrderStatus.COOKING) {
+            close(order.getId());
+            return List.of();
+        }
+        List<Ticket> tickets = tickets(order, status == OrderStatus.COOKING ? millis(now) : 0);
+        ticketsByOrder.compute(order.getId(), (id, old) -> {
+            if (old != null) {
+                if (status == OrderStatus.COOKING) {
+                    for (Ticket ticket : old) {
+                        if (ticket.cookingSinceMillis == 0) continue;
+                        for (Ticket replacement : tickets) {
+                            replacement.cookingSinceMillis = ticket.cookingSinceMillis;
+                        }
+                    }
+                }
+                dequeue(old);
+            }
+            enqueue(tickets);
+            return tickets;
+        });
+        return tickets;
+    }
+
+    private void close(Long orderId) {
+        ticketsByOrder.computeIfPresent(orderId, (id, tickets) -> {
+            dequeue(tickets);
+            return null;
+        });
+    }
+
+    // Only called inside ticketsByOrder.compute for the tickets' order
+    private void enqueue(List<Ticket> tickets) {
+        for (Ticket ticket : tickets) {
+            stations.computeIfAbsent(ticket.stationKey, k -> new Station(k, ticket.station)).queue.add(ticket);
+        }
+    }
+
+    private void dequeue(List<Ticket> tickets) {
+        for (Ticket ticket : tickets) {
+            Station station = stations.get(ticket.stationKey);
+            if (station != null) station.queue.remove(ticket);
+        }
+    }
+
+    private List<Ticket> tickets(KitchenOrderDTO order, long cookingSince) {
+        Map<String, List<KitchenOrderItemDTO>> itemsByStation = new LinkedHashMap<>();
+        List<KitchenOrderItemDTO> items = order.getOrderItems() == null ? List.of() : order.getOrderItems();
+        for (KitchenOrderItemDTO item : items) {
+            itemsByStation.computeIfAbsent(menuStore.stationOf(item.getMenuItemId()), s -> new ArrayList<>()).add(item);
+        }
+        Map<String, Long> prepByStation = new LinkedHashMap<>();
+        long orderPrep = 0;
+        for (Map.Entry<String, List<KitchenOrderItemDTO>> station : itemsByStation.entrySet()) {
+            long prep = 0;
+            for (KitchenOrderItemDTO item : station.getValue()) {
+                prep = Math.max(prep, prepTimeEstimator.estimate(item.getMenuItemId()).toMillis());
+            }
+            prepByStation.put(station.getKey(), prep);
+            orderPrep = Math.max(orderPrep, prep);
+        }
+        long created = order.getCreatedAt() == null ? System.currentTimeMillis() : millis(order.getCreatedAt());
+        List<Ticket> tickets = new ArrayList<>();
+        for (Map.Entry<String, List<KitchenOrderItemDTO>> station : itemsByStation.entrySet()) {
+            long prep = prepByStation.get(station.getKey());
+            tickets.add(new Ticket(order, station.getKey(), List.copyOf(station.getValue()), prep,
+                    created + (orderPrep - prep), cookingSince));
+        }
+        return List.copyOf(tickets);
+    }
+
+    private void assignLeastLoaded(Long orderId, List<Ticket> tickets) {
+        Ticket slowest = tickets.get(0);
+        for (Ticket ticket : tickets) {
+            if (ticket.prepMillis > slowest.prepMillis) slowest = ticket;
+        }
+        List<Long> candidates = staffFor(slowest.stationKey);
+        if (candidates.isEmpty()) return;
+        Long chosen = null;
+        Duration lowest = null;
+        for (Long staffId : candidates) {
+            Duration load = staffLoad(staffId);
+            if (lowest == null || load.compareTo(lowest) < 0) {
+                chosen = staffId;
+                lowest = load;
+            }
+        }
+        Long staffId = chosen;
+        try {
+            newTransaction.executeWithoutResult(status -> orderService.assignStaff(orderId, staffId));
+        } catch (RuntimeException e) {
+            // e.g. deleted in the meantime; staff can still be assigned by hand
+            logger.warn("Could not auto-assign staff {} to order {}: {}", staffId, orderId, e.getMessage());
+        }
+    }
+
+    private List<Long> staffFor(String stationKey) {
+        List<Long> staff = staffByStation.get(stationKey);
+        return staff != null ? staff : staffByStation.getOrDefault(DEFAULT_STAFF, List.of());
+    }
+
+    // ══════════════════════════════════════
+    //  Start-up
+    // ══════════════════════════════════════
+
+    /**
+     * Learn prep times from the orders still READY and queue the open ones. Orders that already got an
+     * event since start-up are left alone.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOpenOrders() {
+        Map<Long, List<KitchenOrderItem>> byOrder = new LinkedHashMap<>();
+        for (KitchenOrderItem item : orderItemRepository.findWithOrderByOrderStatusIn(
+                List.of(OrderStatus.PENDING, OrderStatus.COOKING, OrderStatus.READY))) {
+            byOrder.computeIfAbsent(item.getKitchenOrder().getId(), id -> new ArrayList<>()).add(item);
+        }
+        int queued = 0;
+        for (List<KitchenOrderItem> orderItems : byOrder.values()) {
+            KitchenOrder order = orderItems.get(0).getKitchenOrder();
+            List<KitchenOrderItemDTO> items = new ArrayList<>();
+            for (KitchenOrderItem item : orderItems) {
+                items.add(new KitchenOrderItemDTO(item.getId(), item.getMenuItemId(), item.getItemName(),
+                        item.getQuantity(), item.getPrice(), item.getNotes()));
+            }
+            KitchenOrderDTO dto = new KitchenOrderDTO();
+            dto.setId(order.getId());
+            dto.setRestaurantId(order.getRestaurantId());
+            dto.setTableNumber(order.getTableNumber());
+            dto.setStaffId(order.getStaffId());
+            dto.setOrderStatus(order.getOrderStatus().name());
+            dto.setCreatedAt(order.getCreatedAt());
+            dto.setOrderItems(items);
+            if (order.getOrderStatus() == OrderStatus.READY) {
+                // updatedAt is when it was marked READY, unless it was edited after that
+                prepTimeEstimator.record(slowestTicketItemIds(dto), Duration.between(order.getCreatedAt(), order.getUpdatedAt()));
+            } else if (!ticketsByOrder.containsKey(order.getId())) {
+                long cookingSince = order.getOrderStatus() == OrderStatus.COOKING ? millis(order.getUpdatedAt()) : 0;
+                List<Ticket> tickets = tickets(dto, cookingSince);
+                if (ticketsByOrder.computeIfAbsent(order.getId(), id -> {
+                    enqueue(tickets);
+                    return tickets;
+                }) == tickets) {
+                    queued++;
+                }
+            }
+        }
+        logger.info("Kitchen scheduler queued {} open orders", queued);
+    }
+
+    // ══════════════════════════════════════
+    //  Helpers
+    // ══════════════════════════════════════
+
+    // Menu items of the order's slowest ticket, the ones its total prep time is down to
+    private List<Long> slowestTicketItemIds(KitchenOrderDTO order) {
+        List<Long> ids = new ArrayList<>();
+        Ticket slowest = null;
+        for (Ticket ticket : tickets(order, 0)) {
+            if (slowest == null || ticket.prepMillis > slowest.prepMillis) slowest = ticket;
+        }
+        if (slowest != null) {
+            for (KitchenOrderItemDTO item : slowest.items) {
+                ids.add(item.getMenuItemId());
+            }
+        }
+        return ids;
+    }
+
+    private static String key(String station) {
+        return station == null ? "" : station.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // ── One station's queue ──
+    private static final class Station {
+        final String key;
+        final String name;
+        final ConcurrentSkipListSet<Ticket> queue = new ConcurrentSkipListSet<>(PRIORITY);
+
+        Station(String key, String name) {
+            this.key = key;
+            this.name = name;
+        }
+    }
+
+    // ── The part of one order a station prepares; the fields used for ordering never change ──
+    private static final class Ticket {
+        final Long orderId;
+        final Long restaurantId;
+        final String tableNumber;
+        final String station;
+        final String stationKey;
+        final List<KitchenOrderItemDTO> items;
+        final long prepMillis;
+        final long startByMillis;
+        volatile Long staffId;
+        volatile long cookingSinceMillis; // 0 while waiting
+
+        Ticket(KitchenOrderDTO order, String station, List<KitchenOrderItemDTO> items, long prepMillis,
+               long startByMillis, long cookingSinceMillis) {
+            this.orderId = order.getId();
+            this.restaurantId = order.getRestaurantId();
+            this.tableNumber = order.getTableNumber();
+            this.station = station;
+            this.stationKey = key(station);
+            this.items = items;
+            this.prepMillis = prepMillis;
+            this.startByMillis = startByMillis;
+            this.staffId = order.getStaffId();
+            this.cookingSinceMillis = cookingSinceMillis;
+        }
+
+        long remainingMillis(long now) {
+            long since = cookingSinceMillis;
+            return since == 0 ? prepMillis : Math.max(0, prepMillis - (now - since));
+        }
+
+        KitchenTicketDTO toDTO() {
+            KitchenTicketDTO dto = new KitchenTicketDTO();
+            dto.setOrderId(orderId);
+            dto.setRestaurantId(restaurantId);
+            dto.setStation(station);
+            dto.setTableNumber(tableNumber);
+            dto.setState(cookingSinceMillis == 0 ? "WAITING" : "COOKING");
+            dto.setStaffId(staffId);
+            dto.setEstimatedPrepSeconds(Duration.ofMillis(prepMillis).toSeconds());
+            dto.setStartBy(LocalDateTime.ofInstant(Instant.ofEpochMilli(startByMillis), ZoneId.systemDefault()));
+            dto.setItems(items);
+            return dto;
+        }
+    }
+}
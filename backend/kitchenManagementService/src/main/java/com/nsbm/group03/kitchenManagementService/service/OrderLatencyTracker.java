@@ -0,0 +1,141 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderItemDTO;
+import com.nsbm.group03.kitchenManagementService.dto.StatusLatencyDTO;
+import com.nsbm.group03.kitchenManagementService.enums.OrderStatus;
+import com.nsbm.group03.kitchenManagementService.event.KitchenOrderEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * How long kitchen orders stay in each status, from the STATUS_CHANGED events of committed changes.
+ * <p>
+ * Every dwell time is published as two Micrometer timers with percentile histograms,
+ * kitchen.order.status.dwell (restaurant, status) and kitchen.order.category.dwell (category, status),
+ * and kept in SlidingWindowHistograms for p50/p95/p99 over the last kitchen.latency.window, per status
+ * for all orders, per restaurant, per menu category and per both.
+ */
+@Component
+public class OrderLatencyTracker {
+
+    private static final String ALL = "*";
+
+    // SERVED is final, so orders never leave it
+    private static final List<OrderStatus> TIMED_STATUSES = List.of(OrderStatus.PENDING, OrderStatus.COOKING, OrderStatus.READY);
+
+    private final MeterRegistry meterRegistry;
+    private final KitchenMenuStore menuStore;
+    private final Duration window;
+    private final int slices;
+
+    // keyed restaurantId/category/status, "*" for any restaurant or category
+    private final Map<String, SlidingWindowHistogram> windows = new ConcurrentHashMap<>();
+
+    public OrderLatencyTracker(MeterRegistry meterRegistry,
+                               KitchenMenuStore menuStore,
+                               @Value("${kitchen.latency.window:15m}") Duration window,
+                               @Value("${kitchen.latency.slices:5}") int slices) {
+        this.meterRegistry = meterRegistry;
+        this.menuStore = menuStore;
+        this.window = window;
+        this.slices = slices;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(KitchenOrderEvent event) {
+        if (event.getType() != KitchenOrderEvent.Type.STATUS_CHANGED || event.getPreviousStatusDwell() == null) return;
+        KitchenOrderDTO order = event.getOrder();
+        record(order.getRestaurantId(), categoriesOf(order), event.getPreviousStatus(), event.getPreviousStatusDwell());
+    }
+
+    private void record(Long restaurantId, Set<String> categories, OrderStatus status, Duration dwell) {
+        String restaurant = restaurantId == null ? ALL : restaurantId.toString();
+        timer("kitchen.order.status.dwell", "Time kitchen orders spent in a status, per restaurant",
+                "restaurant", restaurant, status).record(dwell);
+
+        long now = System.currentTimeMillis();
+        long millis = dwell.toMillis();
+        windowFor(ALL, ALL, status).record(millis, now);
+        if (!restaurant.equals(ALL)) windowFor(restaurant, ALL, status).record(millis, now);
+        for (String category : categories) {
+            timer("kitchen.order.category.dwell", "Time kitchen orders spent in a status, per menu category",
+                    "category", category, status).record(dwell);
+            windowFor(ALL, key(category), status).record(millis, now);
+            if (!restaurant.equals(ALL)) windowFor(restaurant, key(category), status).record(millis, now);
+        }
+    }
+
+    /**
+     * p50/p95/p99 and max dwell time per status over the last window, for one restaurant and/or
+     * menu category (null for all).
+     */
+    public List<StatusLatencyDTO> latency(Long restaurantId, String category) {
+        String restaurant = restaurantId == null ? ALL : restaurantId.toString();
+        String categoryKey = category == null || category.isBlank() ? ALL : key(category);
+        long now = System.currentTimeMillis();
+        List<StatusLatencyDTO> latencies = new ArrayList<>();
+        for (OrderStatus status : TIMED_STATUSES) {
+            SlidingWindowHistogram histogram = windows.get(windowKey(restaurant, categoryKey, status));
+            SlidingWindowHistogram.Snapshot snapshot = histogram == null ? null : histogram.snapshot(now);
+            if (snapshot == null || snapshot.count() == 0) {
+                latencies.add(new StatusLatencyDTO(status.name(), 0, 0, 0, 0, 0, window.toSeconds()));
+                continue;
+            }
+            latencies.add(new StatusLatencyDTO(status.name(), snapshot.count(),
+                    snapshot.valueAtPercentile(50), snapshot.valueAtPercentile(95), snapshot.valueAtPercentile(99),
+                    snapshot.max(), window.toSeconds()));
+        }
+        return latencies;
+    }
+
+    // ── Helpers ──
+    private Set<String> categoriesOf(KitchenOrderDTO order) {
+        Set<String> categories = new LinkedHashSet<>();
+        if (order.getOrderItems() != null) {
+            for (KitchenOrderItemDTO item : order.getOrderItems()) {
+                categories.add(menuStore.stationOf(item.getMenuItemId()));
+            }
+        }
+        return categories;
+    }
+
+    // Micrometer keeps one timer per name and tags, so registering again returns the same one
+    private Timer timer(String name, String description, String tag, String value, OrderStatus status) {
+        return Timer.builder(name)
+                .description(description)
+                .tag(tag, value)
+                .tag("status", status.name())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofSeconds(1))
+                .maximumExpectedValue(Duration.ofHours(2))
+                .register(meterRegistry);
+    }
+
+    private SlidingWindowHistogram windowFor(String restaurant, String category, OrderStatus status) {
+        return windows.computeIfAbsent(windowKey(restaurant, category, status),
+                k -> new SlidingWindowHistogram(window, slices));
+    }
+
+    private static String windowKey(String restaurant, String category, OrderStatus status) {
+        return restaurant + "/" + category + "/" + status.name();
+    }
+
+    private static String key(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+}
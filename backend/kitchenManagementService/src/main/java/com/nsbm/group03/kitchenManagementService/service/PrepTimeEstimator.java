@@ -0,0 +1,53 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prep time per menu item, learned from how long its orders took from PENDING to READY.
+ * Each order's duration counts for every item in it, as an exponentially weighted moving average that
+ * starts from kitchen.scheduler.default-prep-time, so recent orders weigh most and one odd order does not
+ * decide the estimate.
+ * Updates are compare-and-set on one AtomicLong per item, no locks.
+ */
+@Component
+public class PrepTimeEstimator {
+
+    private final Map<Long, AtomicLong> averageMillis = new ConcurrentHashMap<>();
+    private final Duration defaultPrepTime;
+    private final Duration maxSample;
+    private final double weight;
+
+    public PrepTimeEstimator(@Value("${kitchen.scheduler.default-prep-time:10m}") Duration defaultPrepTime,
+                             @Value("${kitchen.scheduler.max-prep-sample:2h}") Duration maxSample,
+                             @Value("${kitchen.scheduler.prep-time-weight:0.2}") double weight) {
+        this.defaultPrepTime = defaultPrepTime;
+        this.maxSample = maxSample;
+        this.weight = weight;
+    }
+
+    public Duration estimate(Long menuItemId) {
+        AtomicLong average = menuItemId == null ? null : averageMillis.get(menuItemId);
+        return average == null ? defaultPrepTime : Duration.ofMillis(average.get());
+    }
+
+    /**
+     * Record one order that took this long from PENDING to READY. Durations that are not positive
+     * or longer than kitchen.scheduler.max-prep-sample (an order marked READY hours later) are ignored.
+     */
+    public void record(Collection<Long> menuItemIds, Duration took) {
+        if (took.isNegative() || took.isZero() || took.compareTo(maxSample) > 0) return;
+        long sample = took.toMillis();
+        for (Long menuItemId : menuItemIds) {
+            if (menuItemId == null) continue;
+            averageMillis.computeIfAbsent(menuItemId, id -> new AtomicLong(defaultPrepTime.toMillis()))
+                    .updateAndGet(current -> Math.round(current + weight * (sample - current)));
+        }
+    }
+}
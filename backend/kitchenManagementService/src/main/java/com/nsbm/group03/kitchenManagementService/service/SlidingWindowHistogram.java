@@ -0,0 +1,127 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations (ms) over a sliding time window, with HdrHistogram-style buckets: exact up to
+ * 64 ms, then every power of two is split into 32 buckets, so any percentile is within about 3% of the
+ * true value with a fixed footprint of 896 counters per slice.
+ * <p>
+ * The window is a ring of slices of window/slices each; a slice is cleared when the ring comes back to it.
+ * Recording is one atomic increment; only the first record of a new slice takes a lock.
+ */
+public class SlidingWindowHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final long MAX_VALUE = (1L << 32) - 1; // about 50 days; longer values are counted as this
+    private static final int BUCKETS = bucketOf(MAX_VALUE) + 1;
+
+    private final long sliceMillis;
+    private final AtomicLongArray[] counts;
+    private final AtomicLongArray maxes;
+    private final AtomicLongArray sliceEpochs; // which slice of time (epoch ms / sliceMillis) each slot holds
+
+    public SlidingWindowHistogram(Duration window, int slices) {
+        this.sliceMillis = Math.max(1, window.toMillis() / slices);
+        this.counts = new AtomicLongArray[slices];
+        this.maxes = new AtomicLongArray(slices);
+        this.sliceEpochs = new AtomicLongArray(slices);
+        for (int i = 0; i < slices; i++) {
+            counts[i] = new AtomicLongArray(BUCKETS);
+            sliceEpochs.set(i, -1);
+        }
+    }
+
+    public void record(long valueMillis, long nowMillis) {
+        long value = Math.min(Math.max(valueMillis, 0), MAX_VALUE);
+        long epoch = nowMillis / sliceMillis;
+        int slot = (int) (epoch % counts.length);
+        if (sliceEpochs.get(slot) != epoch) advance(slot, epoch);
+        counts[slot].incrementAndGet(bucketOf(value));
+        maxes.accumulateAndGet(slot, value, Math::max);
+    }
+
+    /**
+     * The values recorded in the last window up to now.
+     */
+    public Snapshot snapshot(long nowMillis) {
+        long epoch = nowMillis / sliceMillis;
+        long[] total = new long[BUCKETS];
+        long count = 0;
+        long max = 0;
+        for (int slot = 0; slot < counts.length; slot++) {
+            long sliceEpoch = sliceEpochs.get(slot);
+            if (sliceEpoch > epoch - counts.length && sliceEpoch <= epoch) {
+                for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                    long n = counts[slot].get(bucket);
+                    total[bucket] += n;
+                    count += n;
+                }
+                max = Math.max(max, maxes.get(slot));
+            }
+        }
+        return new Snapshot(total, count, max);
+    }
+
+    // Clears a slot that still holds an older slice; a late writer of the old slice may still land in it
+    private synchronized void advance(int slot, long epoch) {
+        if (sliceEpochs.get(slot) >= epoch) return;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts[slot].set(bucket, 0);
+        }
+        maxes.set(slot, 0);
+        sliceEpochs.set(slot, epoch);
+    }
+
+    // ── Buckets ──
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (int) (value >> shift) - HALF_SUB_BUCKETS;
+    }
+
+    private static long highestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = (bucket - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long subBucket = (bucket - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    // ── Values of one window ──
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.max = max;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long max() {
+            return max;
+        }
+
+        /**
+         * The value at or below which the given percentage (0-100) of the values fall, 0 if empty.
+         */
+        public long valueAtPercentile(double percentile) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                seen += counts[bucket];
+                if (seen >= rank) return Math.min(highestValueIn(bucket), max);
+            }
+            return max;
+        }
+    }
+}
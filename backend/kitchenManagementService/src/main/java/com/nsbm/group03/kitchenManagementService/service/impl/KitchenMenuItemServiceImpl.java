@@ -15,6 +15,7 @@ import com.nsbm.group03.kitchenManagementService.enums.ServiceType;
 import com.nsbm.group03.kitchenManagementService.exception.ResourceNotFoundException;
 import com.nsbm.group03.kitchenManagementService.repository.KitchenMenuItemRepository;
 import com.nsbm.group03.kitchenManagementService.service.KitchenMenuItemService;
+import com.nsbm.group03.kitchenManagementService.service.KitchenMenuStore;
 
 @Service
 public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
@@ -22,9 +23,11 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
     private static final Logger logger = LoggerFactory.getLogger(KitchenMenuItemServiceImpl.class);
 
     private final KitchenMenuItemRepository menuItemRepository;
+    private final KitchenMenuStore menuStore;
 
-    public KitchenMenuItemServiceImpl(KitchenMenuItemRepository menuItemRepository) {
+    public KitchenMenuItemServiceImpl(KitchenMenuItemRepository menuItemRepository, KitchenMenuStore menuStore) {
         this.menuItemRepository = menuItemRepository;
+        this.menuStore = menuStore;
     }
 
     // ══════════════════════════════════════
@@ -35,20 +38,23 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
     public KitchenMenuItemDTO createMenuItem(KitchenMenuItemDTO dto) {
         KitchenMenuItem entity = mapToEntity(dto);
         KitchenMenuItem saved = menuItemRepository.save(entity);
+        menuStore.put(saved);
         logger.info("Created menu item: {} (ID: {})", saved.getItemName(), saved.getId());
         return mapToDTO(saved);
     }
 
     @Override
     public KitchenMenuItemDTO getMenuItemById(Long id) {
-        KitchenMenuItem entity = menuItemRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Menu Item", id));
+        KitchenMenuItem entity = menuStore.get(id);
+        if (entity == null) {
+            throw new ResourceNotFoundException("Menu Item", id);
+        }
         return mapToDTO(entity);
     }
 
     @Override
     public List<KitchenMenuItemDTO> getAllMenuItems() {
-        return menuItemRepository.findAll()
+        return menuStore.all()
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -70,6 +76,7 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
         existing.setDescription(dto.getDescription());
 
         KitchenMenuItem updated = menuItemRepository.save(existing);
+        menuStore.put(updated);
         logger.info("Updated menu item: {} (ID: {})", updated.getItemName(), updated.getId());
         return mapToDTO(updated);
     }
@@ -79,16 +86,18 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
         KitchenMenuItem existing = menuItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Menu Item", id));
         menuItemRepository.delete(existing);
+        menuStore.remove(id);
         logger.info("Deleted menu item with ID: {}", id);
     }
 
     // ══════════════════════════════════════
     //  Filtering & Searching
+    //  (served from KitchenMenuStore, no query)
     // ══════════════════════════════════════
 
     @Override
     public List<KitchenMenuItemDTO> getMenuItemsByRestaurant(Long restaurantId) {
-        return menuItemRepository.findByRestaurantId(restaurantId)
+        return menuStore.byRestaurant(restaurantId)
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -97,7 +106,7 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
     @Override
     public List<KitchenMenuItemDTO> getMenuItemsByMealType(String mealType) {
         MealType type = MealType.valueOf(mealType.toUpperCase());
-        return menuItemRepository.findByMealType(type)
+        return menuStore.byMealType(type)
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -106,7 +115,7 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
     @Override
     public List<KitchenMenuItemDTO> getMenuItemsByServiceType(String serviceType) {
         ServiceType type = ServiceType.valueOf(serviceType.toUpperCase());
-        return menuItemRepository.findByServiceType(type)
+        return menuStore.byServiceType(type)
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -114,7 +123,7 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
 
     @Override
     public List<KitchenMenuItemDTO> getMenuItemsByDate(LocalDate menuDate) {
-        return menuItemRepository.findByMenuDate(menuDate)
+        return menuStore.byDate(menuDate)
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -122,7 +131,7 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
 
     @Override
     public List<KitchenMenuItemDTO> searchMenuItemsByName(String name) {
-        return menuItemRepository.findByItemNameContainingIgnoreCase(name)
+        return menuStore.searchByName(name)
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -130,7 +139,7 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
 
     @Override
     public List<KitchenMenuItemDTO> getMenuItemsByCategory(String category) {
-        return menuItemRepository.findByCategory(category)
+        return menuStore.byCategory(category)
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -138,7 +147,7 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
 
     @Override
     public List<KitchenMenuItemDTO> getMenuItemsByPriceRange(Double minPrice, Double maxPrice) {
-        return menuItemRepository.findByPriceBetween(minPrice, maxPrice)
+        return menuStore.byPriceRange(minPrice, maxPrice)
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -146,7 +155,7 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
 
     @Override
     public List<KitchenMenuItemDTO> getAvailableMenuItems() {
-        return menuItemRepository.findByAvailableTrue()
+        return menuStore.available()
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -154,7 +163,7 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
 
     @Override
     public long countAvailableMenuItems() {
-        return menuItemRepository.countByAvailableTrue();
+        return menuStore.countAvailable();
     }
 
     // ══════════════════════════════════════
@@ -164,7 +173,7 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
     @Override
     public List<KitchenMenuItemDTO> getAvailableMenuByServiceType(String serviceType) {
         ServiceType type = ServiceType.valueOf(serviceType.toUpperCase());
-        return menuItemRepository.findByServiceTypeAndAvailableTrue(type)
+        return KitchenMenuStore.filter(menuStore.byServiceType(type), KitchenMenuItem::isAvailable)
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -172,7 +181,7 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
 
     @Override
     public List<KitchenMenuItemDTO> getRestaurantMenuItems(Long restaurantId) {
-        return menuItemRepository.findByRestaurantIdAndAvailableTrue(restaurantId)
+        return KitchenMenuStore.filter(menuStore.byRestaurant(restaurantId), KitchenMenuItem::isAvailable)
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -180,7 +189,7 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
 
     @Override
     public List<KitchenMenuItemDTO> getEventMenuItems() {
-        return menuItemRepository.findByServiceTypeAndAvailableTrue(ServiceType.EVENT)
+        return KitchenMenuStore.filter(menuStore.byServiceType(ServiceType.EVENT), KitchenMenuItem::isAvailable)
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -192,7 +201,8 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
 
     @Override
     public List<KitchenMenuItemDTO> getMenuItemsByRestaurantAndDate(Long restaurantId, LocalDate menuDate) {
-        return menuItemRepository.findByRestaurantIdAndMenuDate(restaurantId, menuDate)
+        return KitchenMenuStore.filter(menuStore.byRestaurant(restaurantId),
+                        item -> item.getMenuDate().equals(menuDate))
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -201,7 +211,7 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
     @Override
     public List<KitchenMenuItemDTO> getMenuItemsByRestaurantAndMealType(Long restaurantId, String mealType) {
         MealType type = MealType.valueOf(mealType.toUpperCase());
-        return menuItemRepository.findByRestaurantIdAndMealType(restaurantId, type)
+        return KitchenMenuStore.filter(menuStore.byRestaurant(restaurantId), item -> item.getMealType() == type)
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -211,7 +221,8 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
     public List<KitchenMenuItemDTO> getMenuItemsByFilters(String mealType, String serviceType, LocalDate menuDate) {
         MealType meal = MealType.valueOf(mealType.toUpperCase());
         ServiceType service = ServiceType.valueOf(serviceType.toUpperCase());
-        return menuItemRepository.findByMealTypeAndServiceTypeAndMenuDateAndAvailableTrue(meal, service, menuDate)
+        return KitchenMenuStore.filter(menuStore.byDate(menuDate), item -> item.isAvailable()
+                        && item.getMealType() == meal && item.getServiceType() == service)
                 .stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
@@ -227,6 +238,7 @@ public class KitchenMenuItemServiceImpl implements KitchenMenuItemService {
                 .orElseThrow(() -> new ResourceNotFoundException("Menu Item", id));
         entity.setAvailable(!entity.isAvailable());
         KitchenMenuItem updated = menuItemRepository.save(entity);
+        menuStore.put(updated);
         logger.info("Toggled availability for menu item ID {}: now {}", id, updated.isAvailable());
         return mapToDTO(updated);
     }
@@ -1,27 +1,39 @@
 package com.nsbm.group03.kitchenManagementService.service.impl;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.nsbm.group03.kitchenManagementService.client.InventoryClient;
 import com.nsbm.group03.kitchenManagementService.dto.InventoryItemDTO;
-import com.nsbm.group03.kitchenManagementService.dto.InventoryRequestDTO;
 import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
 import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderItemDTO;
+import com.nsbm.group03.kitchenManagementService.dto.OrderTransitionDTO;
+import com.nsbm.group03.kitchenManagementService.entity.InventoryOutboxEvent;
 import com.nsbm.group03.kitchenManagementService.entity.KitchenMenuItem;
 import com.nsbm.group03.kitchenManagementService.entity.KitchenOrder;
 import com.nsbm.group03.kitchenManagementService.entity.KitchenOrderItem;
+import com.nsbm.group03.kitchenManagementService.entity.KitchenOrderTransition;
 import com.nsbm.group03.kitchenManagementService.enums.OrderStatus;
+import com.nsbm.group03.kitchenManagementService.event.KitchenOrderEvent;
 import com.nsbm.group03.kitchenManagementService.exception.MenuItemNotAvailableException;
 import com.nsbm.group03.kitchenManagementService.exception.ResourceNotFoundException;
-import com.nsbm.group03.kitchenManagementService.repository.KitchenMenuItemRepository;
+import com.nsbm.group03.kitchenManagementService.repository.InventoryOutboxRepository;
 import com.nsbm.group03.kitchenManagementService.repository.KitchenOrderRepository;
+import com.nsbm.group03.kitchenManagementService.repository.KitchenOrderTransitionRepository;
+import com.nsbm.group03.kitchenManagementService.service.KitchenMenuStore;
 import com.nsbm.group03.kitchenManagementService.service.KitchenOrderService;
 
 @Service
@@ -30,15 +42,24 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
     private static final Logger logger = LoggerFactory.getLogger(KitchenOrderServiceImpl.class);
 
     private final KitchenOrderRepository orderRepository;
-    private final KitchenMenuItemRepository menuItemRepository;
+    private final KitchenOrderTransitionRepository transitionRepository;
+    private final KitchenMenuStore menuStore;
     private final InventoryClient inventoryClient;
+    private final InventoryOutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public KitchenOrderServiceImpl(KitchenOrderRepository orderRepository,
-                                   KitchenMenuItemRepository menuItemRepository,
-                                   InventoryClient inventoryClient) {
+                                   KitchenOrderTransitionRepository transitionRepository,
+                                   KitchenMenuStore menuStore,
+                                   InventoryClient inventoryClient,
+                                   InventoryOutboxRepository outboxRepository,
+                                   ApplicationEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
-        this.menuItemRepository = menuItemRepository;
+        this.transitionRepository = transitionRepository;
+        this.menuStore = menuStore;
         this.inventoryClient = inventoryClient;
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     // ══════════════════════════════════════
@@ -55,13 +76,50 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
         order.setSpecialInstructions(dto.getSpecialInstructions());
         order.setOrderStatus(OrderStatus.PENDING);
 
-        double totalAmount = 0.0;
-        List<InventoryRequestDTO> inventoryRequests = new ArrayList<>();
-
         // Validate each item against the menu and build order items
-        for (KitchenOrderItemDTO itemDTO : dto.getOrderItems()) {
-            KitchenMenuItem menuItem = menuItemRepository.findById(itemDTO.getMenuItemId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Menu Item", itemDTO.getMenuItemId()));
+        double totalAmount = addOrderItems(order, dto.getOrderItems());
+
+        order.setTotalAmount(totalAmount);
+
+        KitchenOrder saved = orderRepository.save(order);
+        logger.info("Created kitchen order ID: {} with {} items, total: {}",
+                saved.getId(), saved.getOrderItems().size(), saved.getTotalAmount());
+
+        // Record the inventory deductions in the same transaction; InventoryOutboxDispatcher delivers them
+        List<InventoryOutboxEvent> deductions = new ArrayList<>();
+        List<KitchenOrderItem> items = saved.getOrderItems();
+        for (int line = 0; line < items.size(); line++) {
+            KitchenOrderItem item = items.get(line);
+            deductions.add(new InventoryOutboxEvent(saved.getId(), item.getItemName(), item.getQuantity(),
+                    "kitchen-order-" + saved.getId() + "-" + line));
+        }
+        outboxRepository.saveAll(deductions);
+
+        // Kitchen display screens are notified once the transaction commits
+        KitchenOrderDTO created = mapToDTO(saved);
+        eventPublisher.publishEvent(new KitchenOrderEvent(KitchenOrderEvent.Type.CREATED, null, created));
+        return created;
+    }
+
+    /**
+     * Adds one order item per line and returns the order total. Menu items come from KitchenMenuStore
+     * in one lookup; lines are then checked in order, so the first unknown or unavailable item is reported.
+     */
+    private double addOrderItems(KitchenOrder order, List<KitchenOrderItemDTO> lines) {
+        Set<Long> menuItemIds = new HashSet<>();
+        for (KitchenOrderItemDTO itemDTO : lines) {
+            if (itemDTO.getMenuItemId() != null) {
+                menuItemIds.add(itemDTO.getMenuItemId());
+            }
+        }
+        Map<Long, KitchenMenuItem> menuItems = menuStore.findAllById(menuItemIds);
+
+        double totalAmount = 0.0;
+        for (KitchenOrderItemDTO itemDTO : lines) {
+            KitchenMenuItem menuItem = menuItems.get(itemDTO.getMenuItemId());
+            if (menuItem == null) {
+                throw new ResourceNotFoundException("Menu Item", itemDTO.getMenuItemId());
+            }
 
             // Check availability
             if (!menuItem.isAvailable()) {
@@ -76,25 +134,9 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
             orderItem.setNotes(itemDTO.getNotes());
 
             order.addOrderItem(orderItem);
-
             totalAmount += menuItem.getPrice() * itemDTO.getQuantity();
-
-            // Prepare inventory deduction request
-            inventoryRequests.add(new InventoryRequestDTO(menuItem.getItemName(), itemDTO.getQuantity()));
         }
-
-        order.setTotalAmount(totalAmount);
-
-        KitchenOrder saved = orderRepository.save(order);
-        logger.info("Created kitchen order ID: {} with {} items, total: {}",
-                saved.getId(), saved.getOrderItems().size(), saved.getTotalAmount());
-
-        // Send inventory deduction request (non-blocking — order proceeds even if inventory service is down)
-        if (!inventoryRequests.isEmpty()) {
-            inventoryClient.deductInventory(inventoryRequests);
-        }
-
-        return mapToDTO(saved);
+        return totalAmount;
     }
 
     // ══════════════════════════════════════
@@ -137,32 +179,15 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
         // Update order items if provided
         if (dto.getOrderItems() != null && !dto.getOrderItems().isEmpty()) {
             existing.getOrderItems().clear();
-            double totalAmount = 0.0;
-
-            for (KitchenOrderItemDTO itemDTO : dto.getOrderItems()) {
-                KitchenMenuItem menuItem = menuItemRepository.findById(itemDTO.getMenuItemId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Menu Item", itemDTO.getMenuItemId()));
-
-                if (!menuItem.isAvailable()) {
-                    throw new MenuItemNotAvailableException(menuItem.getId());
-                }
-
-                KitchenOrderItem orderItem = new KitchenOrderItem();
-                orderItem.setMenuItemId(menuItem.getId());
-                orderItem.setItemName(menuItem.getItemName());
-                orderItem.setQuantity(itemDTO.getQuantity());
-                orderItem.setPrice(menuItem.getPrice());
-                orderItem.setNotes(itemDTO.getNotes());
-
-                existing.addOrderItem(orderItem);
-                totalAmount += menuItem.getPrice() * itemDTO.getQuantity();
-            }
+            double totalAmount = addOrderItems(existing, dto.getOrderItems());
             existing.setTotalAmount(totalAmount);
         }
 
         KitchenOrder updated = orderRepository.save(existing);
         logger.info("Updated kitchen order ID: {}", updated.getId());
-        return mapToDTO(updated);
+        KitchenOrderDTO changed = mapToDTO(updated);
+        eventPublisher.publishEvent(new KitchenOrderEvent(KitchenOrderEvent.Type.UPDATED, null, changed));
+        return changed;
     }
 
     // ══════════════════════════════════════
@@ -170,10 +195,13 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
     // ══════════════════════════════════════
 
     @Override
+    @Transactional
     public void deleteOrder(Long id) {
         KitchenOrder existing = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Kitchen Order", id));
+        KitchenOrderDTO deleted = mapToDTO(existing);
         orderRepository.delete(existing);
+        eventPublisher.publishEvent(new KitchenOrderEvent(KitchenOrderEvent.Type.DELETED, null, deleted));
         logger.info("Deleted kitchen order ID: {}", id);
     }
 
@@ -182,6 +210,7 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
     // ══════════════════════════════════════
 
     @Override
+    @Transactional
     public KitchenOrderDTO updateOrderStatus(Long id, String status) {
         KitchenOrder order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Kitchen Order", id));
@@ -192,10 +221,33 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
         // Validate status transitions
         validateStatusTransition(currentStatus, newStatus);
 
+        // orders from before statusChangedAt existed: the last update is the best guess
+        LocalDateTime enteredAt = order.getStatusChangedAt() != null ? order.getStatusChangedAt()
+                : currentStatus == OrderStatus.PENDING ? order.getCreatedAt() : order.getUpdatedAt();
+        // at the precision the columns keep, so the logged dwell matches the stored times
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         order.setOrderStatus(newStatus);
+        order.setStatusChangedAt(now);
         KitchenOrder updated = orderRepository.save(order);
-        logger.info("Order ID {} status changed: {} → {}", id, currentStatus, newStatus);
-        return mapToDTO(updated);
+        transitionRepository.save(new KitchenOrderTransition(id, order.getRestaurantId(), currentStatus, newStatus, enteredAt, now));
+
+        Duration dwell = Duration.between(enteredAt, now);
+        logger.info("Order ID {} status changed: {} → {} after {} ms", id, currentStatus, newStatus, dwell.toMillis());
+        KitchenOrderDTO changed = mapToDTO(updated);
+        eventPublisher.publishEvent(new KitchenOrderEvent(KitchenOrderEvent.Type.STATUS_CHANGED, currentStatus, dwell, changed));
+        return changed;
+    }
+
+    @Override
+    public List<OrderTransitionDTO> getOrderTransitions(Long id) {
+        List<KitchenOrderTransition> transitions = transitionRepository.findByOrderIdOrderByChangedAtAscIdAsc(id);
+        if (transitions.isEmpty() && !orderRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Kitchen Order", id);
+        }
+        return transitions.stream()
+                .map(t -> new OrderTransitionDTO(t.getOrderId(), t.getFromStatus().name(), t.getToStatus().name(),
+                        t.getEnteredAt(), t.getChangedAt(), t.getDwellMillis()))
+                .collect(Collectors.toList());
     }
 
     private void validateStatusTransition(OrderStatus current, OrderStatus next) {
@@ -247,13 +299,16 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
     // ══════════════════════════════════════
 
     @Override
+    @Transactional
     public KitchenOrderDTO assignStaff(Long orderId, Long staffId) {
         KitchenOrder order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Kitchen Order", orderId));
         order.setStaffId(staffId);
         KitchenOrder updated = orderRepository.save(order);
         logger.info("Assigned staff {} to order {}", staffId, orderId);
-        return mapToDTO(updated);
+        KitchenOrderDTO changed = mapToDTO(updated);
+        eventPublisher.publishEvent(new KitchenOrderEvent(KitchenOrderEvent.Type.STAFF_ASSIGNED, null, changed));
+        return changed;
     }
 
     // ══════════════════════════════════════
@@ -0,0 +1,114 @@
+package com.nsbm.group03.kitchenManagementService.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withResourceNotFound;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Item reads are served from the cache, revalidated with If-None-Match, and served stale while the
+ * circuit breaker is open.
+ */
+class InventoryClientTest {
+
+    private static final String URL = "http://inventory";
+    private static final String ITEMS = "[{\"id\":1,\"name\":\"Rice\",\"category\":\"Grains\",\"quantity\":40,\"lowStock\":10}]";
+
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void getAllInventoryItems_FreshCopyServedWithoutCall() {
+        InventoryClient client = client(Duration.ofMinutes(1), 5, Duration.ofSeconds(30));
+        server.expect(ExpectedCount.once(), requestTo(URL + "/api/inventory"))
+                .andRespond(withSuccess(ITEMS, MediaType.APPLICATION_JSON).headers(etag("\"v1\"")));
+
+        assertEquals("Rice", client.getAllInventoryItems().get(0).getName());
+        assertEquals("Rice", client.getAllInventoryItems().get(0).getName());
+        server.verify();
+    }
+
+    @Test
+    void getAllInventoryItems_ExpiredCopyRevalidatedWithEtag() {
+        InventoryClient client = client(Duration.ZERO, 5, Duration.ofSeconds(30));
+        server.expect(ExpectedCount.once(), requestTo(URL + "/api/inventory"))
+                .andRespond(withSuccess(ITEMS, MediaType.APPLICATION_JSON).headers(etag("\"v1\"")));
+        server.expect(ExpectedCount.once(), requestTo(URL + "/api/inventory"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(etag("\"v1\"")));
+
+        client.getAllInventoryItems();
+        assertEquals(40, client.getAllInventoryItems().get(0).getQuantity());
+        server.verify();
+    }
+
+    @Test
+    void getAllInventoryItems_ServesStaleWhileBreakerOpen() {
+        InventoryClient client = client(Duration.ZERO, 2, Duration.ofSeconds(30));
+        server.expect(ExpectedCount.once(), requestTo(URL + "/api/inventory"))
+                .andRespond(withSuccess(ITEMS, MediaType.APPLICATION_JSON).headers(etag("\"v1\"")));
+        server.expect(ExpectedCount.twice(), requestTo(URL + "/api/inventory")).andRespond(withServerError());
+
+        client.getAllInventoryItems();
+        // two failures open the breaker; the cached list is served throughout
+        assertEquals(1, client.getAllInventoryItems().size());
+        assertEquals(1, client.getAllInventoryItems().size());
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+        nanoTime.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertEquals(1, client.getAllInventoryItems().size()); // no call while open
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+        server.verify();
+
+        // after the open duration one trial call goes through and closes it
+        server.reset();
+        server.expect(ExpectedCount.once(), requestTo(URL + "/api/inventory"))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(1, client.getAllInventoryItems().size());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+        server.verify();
+    }
+
+    @Test
+    void getInventoryItemById_NotFoundIsNotAFailure() {
+        InventoryClient client = client(Duration.ofMinutes(1), 1, Duration.ofSeconds(30));
+        server.expect(ExpectedCount.once(), requestTo(URL + "/api/inventory/99")).andRespond(withResourceNotFound());
+
+        assertNull(client.getInventoryItemById(99L));
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+        server.verify();
+    }
+
+    private InventoryClient client(Duration cacheTtl, int failureThreshold, Duration openDuration) {
+        return new InventoryClient(restTemplate, URL, cacheTtl, failureThreshold, openDuration, nanoTime::get);
+    }
+
+    private HttpHeaders etag(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(value);
+        return headers;
+    }
+}
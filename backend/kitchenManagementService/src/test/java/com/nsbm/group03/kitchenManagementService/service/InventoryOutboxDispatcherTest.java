@@ -0,0 +1,202 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import static com.nsbm.group03.kitchenManagementService.dto.InventoryDeductResultDTO.Outcome.DEDUCTED;
+import static com.nsbm.group03.kitchenManagementService.dto.InventoryDeductResultDTO.Outcome.DUPLICATE;
+import static com.nsbm.group03.kitchenManagementService.dto.InventoryDeductResultDTO.Outcome.INSUFFICIENT_STOCK;
+import static com.nsbm.group03.kitchenManagementService.dto.InventoryDeductResultDTO.Outcome.NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.nsbm.group03.kitchenManagementService.client.InventoryClient;
+import com.nsbm.group03.kitchenManagementService.dto.InventoryDeductResultDTO;
+import com.nsbm.group03.kitchenManagementService.dto.InventoryRequestDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderItemDTO;
+import com.nsbm.group03.kitchenManagementService.entity.InventoryOutboxEvent;
+import com.nsbm.group03.kitchenManagementService.entity.KitchenMenuItem;
+import com.nsbm.group03.kitchenManagementService.enums.MealType;
+import com.nsbm.group03.kitchenManagementService.enums.OutboxStatus;
+import com.nsbm.group03.kitchenManagementService.enums.ServiceType;
+import com.nsbm.group03.kitchenManagementService.repository.InventoryOutboxRepository;
+import com.nsbm.group03.kitchenManagementService.repository.KitchenMenuItemRepository;
+
+/**
+ * Orders record their inventory deductions in the outbox, and the dispatcher delivers them in
+ * one batched call, settles each line by its outcome and backs off while the Inventory Service is down.
+ */
+@SpringBootTest(properties = {
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "inventory.outbox.max-attempts=3"
+})
+@ActiveProfiles("test")
+class InventoryOutboxDispatcherTest {
+
+    @Autowired
+    private KitchenOrderService orderService;
+
+    @Autowired
+    private InventoryOutboxDispatcher dispatcher;
+
+    @Autowired
+    private InventoryOutboxRepository outboxRepository;
+
+    @Autowired
+    private KitchenMenuItemRepository menuItemRepository;
+
+    @MockitoBean
+    private InventoryClient inventoryClient;
+
+    private KitchenMenuItem rice;
+    private KitchenMenuItem curry;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        reset(inventoryClient);
+        when(inventoryClient.deductInventory(anyList())).thenAnswer(call -> answer(call.getArgument(0), line -> DEDUCTED));
+        rice = menuItemRepository.save(new KitchenMenuItem("Rice", "Main", 500.0, true,
+                MealType.LUNCH, ServiceType.RESTAURANT, LocalDate.now(), 1L, null));
+        curry = menuItemRepository.save(new KitchenMenuItem("Curry", "Main", 700.0, true,
+                MealType.LUNCH, ServiceType.RESTAURANT, LocalDate.now(), 1L, null));
+    }
+
+    @Test
+    void createOrder_DeductionsOfSeveralOrdersDeliveredInOneCall() {
+        KitchenOrderDTO first = orderService.createOrder(order(line(rice, 2), line(curry, 1)));
+        orderService.createOrder(order(line(curry, 3)));
+
+        // nothing is sent while the order is created
+        verify(inventoryClient, times(0)).deductInventory(anyList());
+        assertEquals(3, outboxRepository.countByStatus(OutboxStatus.PENDING));
+
+        dispatcher.dispatchPending();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<InventoryRequestDTO>> sent = ArgumentCaptor.forClass(List.class);
+        verify(inventoryClient, times(1)).deductInventory(sent.capture());
+        assertEquals(3, sent.getValue().size());
+        assertEquals("kitchen-order-" + first.getId() + "-0", sent.getValue().get(0).getRequestId());
+        assertEquals(3, outboxRepository.countByStatus(OutboxStatus.SENT));
+        assertEquals(0.0, dispatcher.lagSeconds());
+    }
+
+    @Test
+    void dispatch_InventoryDown_BacksOffThenGivesUp() {
+        orderService.createOrder(order(line(rice, 1)));
+        doThrow(new ResourceAccessException("Connection refused")).when(inventoryClient).deductInventory(anyList());
+
+        dispatcher.dispatchPending();
+        InventoryOutboxEvent event = outboxRepository.findAll().get(0);
+        assertEquals(OutboxStatus.PENDING, event.getStatus());
+        assertEquals(1, event.getAttempts());
+        assertNotNull(event.getLastError());
+        assertTrue(event.getNextAttemptAt().isAfter(LocalDateTime.now()), "retry is scheduled in the future");
+        assertTrue(dispatcher.lagSeconds() >= 0.0);
+
+        // not due yet, so a second run does not call the Inventory Service again
+        dispatcher.dispatchPending();
+        verify(inventoryClient, times(1)).deductInventory(anyList());
+
+        // make it due twice more; max-attempts=3 marks it FAILED
+        for (int i = 0; i < 2; i++) {
+            event = outboxRepository.findAll().get(0);
+            event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+            outboxRepository.save(event);
+            dispatcher.dispatchPending();
+        }
+        assertEquals(OutboxStatus.FAILED, outboxRepository.findAll().get(0).getStatus());
+        assertEquals(0, outboxRepository.countByStatus(OutboxStatus.PENDING));
+    }
+
+    @Test
+    void dispatch_MixedOutcomes_SettleEachLine() {
+        orderService.createOrder(order(line(rice, 1), line(curry, 2)));
+        orderService.createOrder(order(line(rice, 3), line(curry, 4)));
+        List<InventoryDeductResultDTO.Outcome> outcomes = List.of(DEDUCTED, INSUFFICIENT_STOCK, NOT_FOUND, DUPLICATE);
+        when(inventoryClient.deductInventory(anyList())).thenAnswer(call -> {
+            List<InventoryRequestDTO> lines = call.getArgument(0);
+            return answer(lines, line -> outcomes.get(lines.indexOf(line)));
+        });
+
+        dispatcher.dispatchPending();
+
+        List<InventoryOutboxEvent> events = outboxRepository.findAll(Sort.by("id"));
+        assertEquals(List.of(OutboxStatus.SENT, OutboxStatus.PENDING, OutboxStatus.FAILED, OutboxStatus.SENT),
+                events.stream().map(InventoryOutboxEvent::getStatus).toList());
+        assertEquals("INSUFFICIENT_STOCK", events.get(1).getLastError());
+        assertTrue(events.get(1).getNextAttemptAt().isAfter(LocalDateTime.now()), "short stock is retried later");
+        assertEquals("NOT_FOUND", events.get(2).getLastError());
+        assertNotNull(events.get(3).getSentAt());
+
+        // once stock arrives, only the rescheduled line is sent again
+        when(inventoryClient.deductInventory(anyList())).thenAnswer(call -> answer(call.getArgument(0), line -> DEDUCTED));
+        InventoryOutboxEvent shortStock = events.get(1);
+        shortStock.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxRepository.save(shortStock);
+        dispatcher.dispatchPending();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<InventoryRequestDTO>> sent = ArgumentCaptor.forClass(List.class);
+        verify(inventoryClient, times(2)).deductInventory(sent.capture());
+        assertEquals(List.of(shortStock.getRequestId()),
+                sent.getValue().stream().map(InventoryRequestDTO::getRequestId).toList());
+        assertEquals(3, outboxRepository.countByStatus(OutboxStatus.SENT));
+        assertEquals(1, outboxRepository.countByStatus(OutboxStatus.FAILED));
+    }
+
+    @Test
+    void backoff_GrowsExponentiallyUpToTheCap() {
+        Duration first = dispatcher.backoff(1);
+        Duration fifth = dispatcher.backoff(5);
+        assertTrue(first.toMillis() <= 1000 && first.toMillis() >= 800, "1s with up to 20% jitter: " + first);
+        assertTrue(fifth.toMillis() <= 16000 && fifth.toMillis() >= 12800, "16s with up to 20% jitter: " + fifth);
+        assertTrue(dispatcher.backoff(40).toMillis() <= Duration.ofMinutes(5).toMillis());
+    }
+
+    private static List<InventoryDeductResultDTO> answer(List<InventoryRequestDTO> lines,
+                                                         Function<InventoryRequestDTO, InventoryDeductResultDTO.Outcome> outcome) {
+        return lines.stream()
+                .map(line -> new InventoryDeductResultDTO(line.getItemName(), line.getRequestId(), line.getQuantity(),
+                        outcome.apply(line)))
+                .toList();
+    }
+
+    private KitchenOrderDTO order(KitchenOrderItemDTO... lines) {
+        KitchenOrderDTO dto = new KitchenOrderDTO();
+        dto.setRestaurantId(1L);
+        dto.setTableNumber("T1");
+        dto.setOrderItems(List.of(lines));
+        return dto;
+    }
+
+    private KitchenOrderItemDTO line(KitchenMenuItem item, int quantity) {
+        KitchenOrderItemDTO dto = new KitchenOrderItemDTO();
+        dto.setMenuItemId(item.getId());
+        dto.setQuantity(quantity);
+        return dto;
+    }
+}
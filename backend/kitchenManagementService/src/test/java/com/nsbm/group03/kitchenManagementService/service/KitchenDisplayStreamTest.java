@@ -0,0 +1,242 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.nsbm.group03.kitchenManagementService.client.InventoryClient;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderItemDTO;
+import com.nsbm.group03.kitchenManagementService.entity.KitchenMenuItem;
+import com.nsbm.group03.kitchenManagementService.enums.MealType;
+import com.nsbm.group03.kitchenManagementService.enums.ServiceType;
+import com.nsbm.group03.kitchenManagementService.event.KitchenOrderEvent;
+import com.nsbm.group03.kitchenManagementService.exception.MenuItemNotAvailableException;
+import com.nsbm.group03.kitchenManagementService.repository.KitchenMenuItemRepository;
+
+/**
+ * Kitchen display streams get committed order changes for their restaurant and station only,
+ * numbered without gaps, and a screen that reconnects with Last-Event-ID gets just what it missed.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.org.hibernate.SQL=WARN",
+        "kitchen.kds.replay-size=3"
+})
+@ActiveProfiles("test")
+class KitchenDisplayStreamTest {
+
+    @Autowired
+    private KitchenOrderService orderService;
+
+    @Autowired
+    private KitchenMenuItemService menuService;
+
+    @Autowired
+    private KitchenMenuItemRepository menuItemRepository;
+
+    @Autowired
+    private KitchenMenuStore menuStore;
+
+    @MockitoBean
+    private InventoryClient inventoryClient;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<Stream<String>> openStreams = new ArrayList<>();
+
+    private KitchenMenuItem grill;
+    private KitchenMenuItem cake;
+    private long restaurantId;
+
+    @BeforeEach
+    void setUp() {
+        restaurantId = System.nanoTime(); // a fresh set of streams per test
+        grill = menuItemRepository.save(new KitchenMenuItem("Grilled Fish", "Main", 1500.0, true,
+                MealType.DINNER, ServiceType.RESTAURANT, LocalDate.now(), restaurantId, null));
+        cake = menuItemRepository.save(new KitchenMenuItem("Chocolate Cake", "Dessert", 600.0, true,
+                MealType.DINNER, ServiceType.RESTAURANT, LocalDate.now(), restaurantId, null));
+    }
+
+    @AfterEach
+    void closeStreams() {
+        openStreams.forEach(Stream::close);
+    }
+
+    @Test
+    void stream_PartitionedByRestaurantAndStation() throws Exception {
+        BlockingQueue<Event> dessert = open(restaurantId, "dessert", null);
+        BlockingQueue<Event> everything = open(restaurantId, null, null);
+        BlockingQueue<Event> otherRestaurant = open(restaurantId + 1, null, null);
+        assertEquals("ready", next(dessert).name);
+        assertEquals("ready", next(everything).name);
+        assertEquals("ready", next(otherRestaurant).name);
+
+        KitchenOrderDTO order = orderService.createOrder(order(line(grill, 1), line(cake, 2)));
+        orderService.updateOrderStatus(order.getId(), "COOKING");
+
+        Event created = next(dessert);
+        assertEquals("order-created", created.name);
+        assertTrue(created.data.contains("\"sequence\":1") && created.data.contains("\"station\":\"Dessert\""), created.data);
+        assertTrue(created.data.contains("Chocolate Cake") && !created.data.contains("Grilled Fish"), created.data);
+        Event cooking = next(dessert);
+        assertEquals("status-changed", cooking.name);
+        assertTrue(cooking.data.contains("\"sequence\":2") && cooking.data.contains("\"previousStatus\":\"PENDING\"")
+                && cooking.data.contains("\"orderStatus\":\"COOKING\""), cooking.data);
+
+        Event all = next(everything);
+        assertTrue(all.data.contains("Chocolate Cake") && all.data.contains("Grilled Fish"), all.data);
+        assertEquals("status-changed", next(everything).name);
+
+        assertNull(otherRestaurant.poll(500, TimeUnit.MILLISECONDS), "other restaurants see nothing");
+    }
+
+    @Test
+    void stream_RolledBackOrderIsNotSent() throws Exception {
+        BlockingQueue<Event> everything = open(restaurantId, null, null);
+        assertEquals("ready", next(everything).name);
+
+        menuService.toggleAvailability(cake.getId());
+        assertThrows(MenuItemNotAvailableException.class,
+                () -> orderService.createOrder(order(line(grill, 1), line(cake, 1))));
+        orderService.createOrder(order(line(grill, 1)));
+
+        Event created = next(everything);
+        assertTrue(created.data.contains("\"sequence\":1"), "the failed order used no number: " + created.data);
+    }
+
+    @Test
+    void reconnect_ReplaysMissedEvents_OrResets() throws Exception {
+        BlockingQueue<Event> first = open(restaurantId, "main", null);
+        assertEquals("ready", next(first).name);
+        KitchenOrderDTO order = orderService.createOrder(order(line(grill, 1)));
+        Event created = next(first);
+        openStreams.get(0).close();
+
+        // missed while disconnected
+        orderService.updateOrderStatus(order.getId(), "COOKING");
+        orderService.updateOrderStatus(order.getId(), "READY");
+
+        BlockingQueue<Event> resumed = open(restaurantId, "main", created.id);
+        Event ready = next(resumed);
+        assertEquals("ready", ready.name);
+        assertEquals(created.id, ready.id);
+        assertTrue(next(resumed).data.contains("\"orderStatus\":\"COOKING\""));
+        Event last = next(resumed);
+        assertTrue(last.data.contains("\"sequence\":3") && last.data.contains("\"orderStatus\":\"READY\""), last.data);
+
+        // an id from before a restart, or one that fell out of the last 3 events, cannot be replayed
+        assertEquals("reset", next(open(restaurantId, "main", "0-1")).name);
+        orderService.updateOrderStatus(order.getId(), "SERVED");
+        orderService.updateOrderStatus(orderService.createOrder(order(line(grill, 1))).getId(), "COOKING");
+        assertEquals("reset", next(open(restaurantId, "main", created.id)).name);
+    }
+
+    @Test
+    void idleStreams_WithoutScreens_AreDropped() {
+        KitchenDisplayStream evictAtOnce = new KitchenDisplayStream(menuStore, 3, 60_000, 0);
+        KitchenDisplayStream evictAfterAnHour = new KitchenDisplayStream(menuStore, 3, 60_000, 3_600_000);
+        try {
+            for (KitchenDisplayStream stream : List.of(evictAtOnce, evictAfterAnHour)) {
+                stream.subscribe(restaurantId, "no such station", null);
+                KitchenOrderDTO order = new KitchenOrderDTO();
+                order.setId(1L);
+                order.setRestaurantId(restaurantId + 1);
+                order.setOrderStatus("PENDING");
+                stream.onOrderEvent(new KitchenOrderEvent(KitchenOrderEvent.Type.CREATED, null, order));
+                assertEquals(2, stream.streams());
+                stream.evictIdle();
+            }
+            assertEquals(1, evictAtOnce.streams(), "the stream with a screen is kept");
+            assertEquals(2, evictAfterAnHour.streams(), "recent events are kept for replay");
+        } finally {
+            evictAtOnce.shutdown();
+            evictAfterAnHour.shutdown();
+        }
+    }
+
+    private BlockingQueue<Event> open(long restaurant, String station, String lastEventId) throws Exception {
+        String query = "restaurantId=" + restaurant + (station == null ? "" : "&station=" + station);
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/kitchen/orders/stream?" + query))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        openStreams.add(response.body());
+
+        BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+        Thread reader = new Thread(() -> {
+            Event event = new Event();
+            try {
+                for (String line : (Iterable<String>) response.body()::iterator) {
+                    if (line.startsWith("id:")) event.id = line.substring(3);
+                    else if (line.startsWith("event:")) event.name = line.substring(6);
+                    else if (line.startsWith("data:")) event.data = line.substring(5);
+                    else if (line.isEmpty() && event.name != null) {
+                        events.add(event);
+                        event = new Event();
+                    }
+                }
+            } catch (RuntimeException e) {
+                // stream closed by the test
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+        return events;
+    }
+
+    private Event next(BlockingQueue<Event> events) throws InterruptedException {
+        Event event = events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event, "no event within 5 s");
+        return event;
+    }
+
+    private KitchenOrderDTO order(KitchenOrderItemDTO... lines) {
+        KitchenOrderDTO dto = new KitchenOrderDTO();
+        dto.setRestaurantId(restaurantId);
+        dto.setTableNumber("T4");
+        dto.setOrderItems(List.of(lines));
+        return dto;
+    }
+
+    private KitchenOrderItemDTO line(KitchenMenuItem item, int quantity) {
+        KitchenOrderItemDTO dto = new KitchenOrderItemDTO();
+        dto.setMenuItemId(item.getId());
+        dto.setQuantity(quantity);
+        return dto;
+    }
+
+    private static class Event {
+        String id;
+        String name;
+        String data;
+    }
+}
@@ -0,0 +1,159 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.nsbm.group03.kitchenManagementService.client.InventoryClient;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenMenuItemDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderItemDTO;
+import com.nsbm.group03.kitchenManagementService.entity.KitchenMenuItem;
+import com.nsbm.group03.kitchenManagementService.enums.MealType;
+import com.nsbm.group03.kitchenManagementService.enums.ServiceType;
+import com.nsbm.group03.kitchenManagementService.exception.MenuItemNotAvailableException;
+import com.nsbm.group03.kitchenManagementService.repository.KitchenMenuItemRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Menu reads are served by KitchenMenuStore without queries and return what the repository
+ * queries they replace return, also right after items are created, changed or toggled.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+class KitchenMenuStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private KitchenMenuItemService menuService;
+
+    @Autowired
+    private KitchenOrderService orderService;
+
+    @Autowired
+    private KitchenMenuItemRepository menuItemRepository;
+
+    @Autowired
+    private KitchenMenuStore menuStore;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private InventoryClient inventoryClient;
+
+    @BeforeEach
+    void setUp() {
+        menuItemRepository.deleteAll();
+        menuStore.reload();
+    }
+
+    @Test
+    void filters_MatchRepositoryQueries_AfterChanges() {
+        Random random = new Random(7);
+        String[] categories = {"Main", "Dessert", "Drink"};
+        Long lastId = null;
+        for (int i = 0; i < 60; i++) {
+            KitchenMenuItemDTO dto = new KitchenMenuItemDTO();
+            dto.setItemName((i % 2 == 0 ? "Chicken " : "Veg ") + "Dish " + i);
+            dto.setCategory(categories[random.nextInt(categories.length)]);
+            dto.setPrice(100.0 * (1 + random.nextInt(20)));
+            dto.setAvailable(random.nextBoolean());
+            dto.setMealType(MealType.values()[random.nextInt(MealType.values().length)].name());
+            dto.setServiceType(ServiceType.values()[random.nextInt(ServiceType.values().length)].name());
+            dto.setMenuDate(TODAY.plusDays(random.nextInt(3)));
+            dto.setRestaurantId(1L + random.nextInt(3));
+            lastId = menuService.createMenuItem(dto).getId();
+        }
+        // a few changes after the items are in the store
+        menuService.toggleAvailability(lastId);
+        KitchenMenuItemDTO moved = menuService.getMenuItemById(lastId - 1);
+        moved.setRestaurantId(3L);
+        moved.setPrice(750.0);
+        menuService.updateMenuItem(moved.getId(), moved);
+        menuService.deleteMenuItem(lastId - 2);
+
+        for (MealType meal : MealType.values()) {
+            for (ServiceType service : ServiceType.values()) {
+                assertSameItems(menuItemRepository.findByMealTypeAndServiceTypeAndMenuDateAndAvailableTrue(meal, service, TODAY),
+                        menuService.getMenuItemsByFilters(meal.name(), service.name(), TODAY));
+            }
+        }
+        for (long restaurant = 1; restaurant <= 3; restaurant++) {
+            assertSameItems(menuItemRepository.findByRestaurantId(restaurant), menuService.getMenuItemsByRestaurant(restaurant));
+            assertSameItems(menuItemRepository.findByRestaurantIdAndAvailableTrue(restaurant),
+                    menuService.getRestaurantMenuItems(restaurant));
+            assertSameItems(menuItemRepository.findByRestaurantIdAndMenuDate(restaurant, TODAY),
+                    menuService.getMenuItemsByRestaurantAndDate(restaurant, TODAY));
+            assertSameItems(menuItemRepository.findByRestaurantIdAndMealType(restaurant, MealType.LUNCH),
+                    menuService.getMenuItemsByRestaurantAndMealType(restaurant, "lunch"));
+        }
+        assertSameItems(menuItemRepository.findAll(), menuService.getAllMenuItems());
+        assertSameItems(menuItemRepository.findByAvailableTrue(), menuService.getAvailableMenuItems());
+        assertSameItems(menuItemRepository.findByServiceTypeAndAvailableTrue(ServiceType.EVENT), menuService.getEventMenuItems());
+        assertSameItems(menuItemRepository.findByCategory("Dessert"), menuService.getMenuItemsByCategory("Dessert"));
+        assertSameItems(menuItemRepository.findByPriceBetween(500.0, 750.0), menuService.getMenuItemsByPriceRange(500.0, 750.0));
+        assertSameItems(menuItemRepository.findByItemNameContainingIgnoreCase("chick"), menuService.searchMenuItemsByName("CHICK"));
+        assertSameItems(menuItemRepository.findByMenuDate(TODAY), menuService.getMenuItemsByDate(TODAY));
+        assertEquals(menuItemRepository.countByAvailableTrue(), menuService.countAvailableMenuItems());
+    }
+
+    @Test
+    void reads_AndOrderValidation_DoNotQuery() {
+        KitchenMenuItem rice = menuItemRepository.save(new KitchenMenuItem("Rice", "Main", 500.0, true,
+                MealType.LUNCH, ServiceType.RESTAURANT, TODAY, 1L, null));
+        // saved behind the store's back: the first lookup reads it through
+        assertEquals("Rice", menuService.getMenuItemById(rice.getId()).getItemName());
+
+        assertEquals(0, statementsFor(() -> menuService.getMenuItemsByFilters("LUNCH", "RESTAURANT", TODAY)));
+        assertEquals(0, statementsFor(() -> menuService.getMenuItemById(rice.getId())));
+        assertEquals(0, statementsFor(() -> menuService.countAvailableMenuItems()));
+
+        menuService.toggleAvailability(rice.getId());
+        long statements = statementsFor(() -> assertThrows(MenuItemNotAvailableException.class,
+                () -> orderService.createOrder(order(rice.getId()))));
+        assertEquals(0, statements, "an unavailable item is rejected from memory");
+    }
+
+    private long statementsFor(Supplier<?> action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void assertSameItems(List<KitchenMenuItem> expected, List<KitchenMenuItemDTO> actual) {
+        assertEquals(expected.stream().map(KitchenMenuItem::getId).sorted().toList(),
+                actual.stream().map(KitchenMenuItemDTO::getId).sorted().toList());
+    }
+
+    private KitchenOrderDTO order(Long menuItemId) {
+        KitchenOrderItemDTO line = new KitchenOrderItemDTO();
+        line.setMenuItemId(menuItemId);
+        line.setQuantity(1);
+        KitchenOrderDTO dto = new KitchenOrderDTO();
+        dto.setRestaurantId(1L);
+        dto.setTableNumber("T1");
+        dto.setOrderItems(List.of(line));
+        return dto;
+    }
+}
@@ -0,0 +1,131 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.nsbm.group03.kitchenManagementService.client.InventoryClient;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderItemDTO;
+import com.nsbm.group03.kitchenManagementService.entity.KitchenMenuItem;
+import com.nsbm.group03.kitchenManagementService.enums.MealType;
+import com.nsbm.group03.kitchenManagementService.enums.ServiceType;
+import com.nsbm.group03.kitchenManagementService.repository.KitchenMenuItemRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Order creation cost by number of lines, on H2. The JDBC statement count of an order must not grow with
+ * its lines: menu items come from KitchenMenuStore and order items and outbox rows are inserted in batches.
+ * With -Dbenchmark=true also prints orders/sec for 1- and 15-line orders (last run, one CPU, in-memory H2:
+ * 15 lines went from 46 to 4.6 statements/order and from 110 to 111 orders/s; 1 line stays at 4 statements,
+ * with 80-160 orders/s from run to run). In-memory H2 has no network round trips, so the fewer statements
+ * barely move throughput here; against MySQL each statement saved is a round trip saved.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "logging.level.com.nsbm.group03.kitchenManagementService=WARN"
+})
+@ActiveProfiles("test")
+class KitchenOrderCreateBenchmarkTest {
+
+    private static final long MEASURE_MILLIS = 10_000;
+
+    @Autowired
+    private KitchenOrderService orderService;
+
+    @Autowired
+    private KitchenMenuItemRepository menuItemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private InventoryClient inventoryClient;
+
+    private final List<KitchenMenuItem> menu = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        menu.clear();
+        for (int i = 0; i < 15; i++) {
+            menu.add(menuItemRepository.save(new KitchenMenuItem("Dish " + i, "Main", 500.0 + i, true,
+                    MealType.DINNER, ServiceType.RESTAURANT, LocalDate.now(), 1L, null)));
+        }
+    }
+
+    @Test
+    void createOrder_StatementCountDoesNotGrowWithLines() {
+        // warm up, so id allocation does not fall into the measured orders
+        orderService.createOrder(order(15));
+
+        long three = statementsFor(order(3));
+        long fifteen = statementsFor(order(15));
+        assertTrue(fifteen <= three + 2, "3 lines: " + three + " statements, 15 lines: " + fifteen);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void createOrder_OrdersPerSecond() {
+        for (int lines : new int[] {1, 15}) {
+            for (int i = 0; i < 200; i++) {
+                orderService.createOrder(order(lines));
+            }
+            Statistics statistics = statistics();
+            statistics.clear();
+            int orders = 0;
+            KitchenOrderDTO last = null;
+            long start = System.currentTimeMillis();
+            while (System.currentTimeMillis() - start < MEASURE_MILLIS) {
+                last = orderService.createOrder(order(lines));
+                orders++;
+            }
+            double seconds = (System.currentTimeMillis() - start) / 1000.0;
+            System.out.printf("%2d lines: %6.1f orders/s, %5.1f statements/order%n",
+                    lines, orders / seconds, statistics.getPrepareStatementCount() / (double) orders);
+            assertEquals(lines, last.getOrderItems().size());
+        }
+    }
+
+    private long statementsFor(KitchenOrderDTO dto) {
+        Statistics statistics = statistics();
+        statistics.clear();
+        orderService.createOrder(dto);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private KitchenOrderDTO order(int lines) {
+        List<KitchenOrderItemDTO> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            KitchenOrderItemDTO line = new KitchenOrderItemDTO();
+            line.setMenuItemId(menu.get(i).getId());
+            line.setQuantity(1 + i % 3);
+            items.add(line);
+        }
+        KitchenOrderDTO dto = new KitchenOrderDTO();
+        dto.setRestaurantId(1L);
+        dto.setTableNumber("B1");
+        dto.setOrderItems(items);
+        return dto;
+    }
+}
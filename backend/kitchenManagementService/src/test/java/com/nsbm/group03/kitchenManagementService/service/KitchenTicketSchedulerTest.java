@@ -0,0 +1,271 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.nsbm.group03.kitchenManagementService.client.InventoryClient;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderItemDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenTicketDTO;
+import com.nsbm.group03.kitchenManagementService.dto.StationLoadDTO;
+import com.nsbm.group03.kitchenManagementService.entity.KitchenMenuItem;
+import com.nsbm.group03.kitchenManagementService.entity.KitchenOrder;
+import com.nsbm.group03.kitchenManagementService.entity.KitchenOrderItem;
+import com.nsbm.group03.kitchenManagementService.enums.MealType;
+import com.nsbm.group03.kitchenManagementService.enums.OrderStatus;
+import com.nsbm.group03.kitchenManagementService.enums.ServiceType;
+import com.nsbm.group03.kitchenManagementService.event.KitchenOrderEvent;
+import com.nsbm.group03.kitchenManagementService.repository.KitchenMenuItemRepository;
+import com.nsbm.group03.kitchenManagementService.repository.KitchenOrderRepository;
+
+/**
+ * Orders are queued per station in start-by order, auto-assigned to the least loaded cook and
+ * removed once READY, when only the items of the slowest ticket learn the order's prep time; the
+ * queues stay consistent under concurrent events.
+ * Each test uses its own stations, since the scheduler is shared by the context.
+ */
+@SpringBootTest(properties = {
+        "kitchen.scheduler.auto-assign=true",
+        "kitchen.scheduler.default-prep-time=10m",
+        "kitchen.scheduler.staff.grill=11,12"
+})
+@ActiveProfiles("test")
+class KitchenTicketSchedulerTest {
+
+    @Autowired
+    private KitchenTicketScheduler scheduler;
+
+    @Autowired
+    private PrepTimeEstimator prepTimeEstimator;
+
+    @Autowired
+    private KitchenOrderService orderService;
+
+    @Autowired
+    private KitchenOrderRepository orderRepository;
+
+    @Autowired
+    private KitchenMenuItemRepository menuItemRepository;
+
+    @Autowired
+    private KitchenMenuStore menuStore;
+
+    @MockitoBean
+    private InventoryClient inventoryClient;
+
+    @Test
+    void orders_AreAssignedToLeastLoadedCook_AndQueuedByStartTime() {
+        Long steak = menuItem("Steak", "Grill");
+        Long cake = menuItem("Cake", "Dessert");
+        for (int i = 0; i < 30; i++) {
+            prepTimeEstimator.record(List.of(cake), Duration.ofMinutes(2));
+        }
+
+        List<Long> orders = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            orders.add(orderService.createOrder(order(steak)).getId());
+        }
+        orders.add(orderService.createOrder(order(steak, cake)).getId());
+
+        // equal loads go to the first cook listed
+        assertEquals(List.of(11L, 12L, 11L, 12L, 11L), orders.stream()
+                .map(id -> orderRepository.findById(id).orElseThrow().getStaffId()).toList());
+
+        StationLoadDTO grill = load("Grill");
+        assertEquals(5, grill.getWaiting());
+        assertEquals(2, grill.getCooks());
+        assertEquals(Duration.ofMinutes(50).toSeconds() / 2, grill.getPredictedWaitSeconds());
+        assertEquals(1, load("Dessert").getCooks(), "a station without staff still counts one cook");
+        assertEquals(orders, scheduler.queue("grill").stream().map(KitchenTicketDTO::getOrderId).toList());
+
+        // the faster dessert starts later, so it is ready with the steak
+        KitchenTicketDTO dessert = scheduler.queue("Dessert").get(0);
+        KitchenTicketDTO main = scheduler.queue("Grill").get(4);
+        long delay = Duration.between(main.getStartBy(), dessert.getStartBy()).toSeconds();
+        assertEquals(main.getEstimatedPrepSeconds() - dessert.getEstimatedPrepSeconds(), delay, 1);
+        assertTrue(delay > Duration.ofMinutes(7).toSeconds());
+
+        orderService.updateOrderStatus(orders.get(0), "COOKING");
+        assertEquals(4, load("Grill").getWaiting());
+        assertEquals(1, load("Grill").getCooking());
+        assertEquals("COOKING", scheduler.queue("Grill").get(0).getState());
+
+        orderService.updateOrderStatus(orders.get(0), "READY");
+        orderService.deleteOrder(orders.get(1));
+        assertEquals(orders.subList(2, 5), scheduler.queue("Grill").stream().map(KitchenTicketDTO::getOrderId).toList());
+        Duration steakPrep = prepTimeEstimator.estimate(steak);
+        assertTrue(steakPrep.compareTo(Duration.ofMinutes(10)) < 0 && steakPrep.compareTo(Duration.ofMinutes(7)) > 0,
+                "one quick order moves the estimate without replacing it: " + steakPrep);
+    }
+
+    @Test
+    void concurrentEvents_LeaveConsistentQueues() throws Exception {
+        Long croissant = menuItem("Croissant", "Pastry");
+        int threads = 8;
+        int ordersPerThread = 50;
+        LocalDateTime created = LocalDateTime.now();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Future<?> reader = pool.submit(() -> {
+            while (running.get()) {
+                scheduler.stationLoads();
+                scheduler.queue("Pastry");
+            }
+        });
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            writers.add(pool.submit(() -> {
+                for (int i = 0; i < ordersPerThread; i++) {
+                    int n = thread * ordersPerThread + i;
+                    KitchenOrderDTO order = order(croissant);
+                    order.setId(1_000_000L + n);
+                    order.setStaffId(99L);
+                    order.setOrderStatus(OrderStatus.PENDING.name());
+                    order.setCreatedAt(created.plusNanos(n * 1_000_000L));
+                    scheduler.onOrderEvent(new KitchenOrderEvent(KitchenOrderEvent.Type.CREATED, null, order));
+                    if (n % 2 == 0) {
+                        order.setOrderStatus(OrderStatus.COOKING.name());
+                        scheduler.onOrderEvent(new KitchenOrderEvent(KitchenOrderEvent.Type.STATUS_CHANGED, OrderStatus.PENDING, order));
+                    }
+                    if (n % 4 == 0) {
+                        order.setOrderStatus(OrderStatus.READY.name());
+                        scheduler.onOrderEvent(new KitchenOrderEvent(KitchenOrderEvent.Type.STATUS_CHANGED, OrderStatus.COOKING, order));
+                    }
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        reader.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        int total = threads * ordersPerThread;
+        StationLoadDTO pastry = load("Pastry");
+        assertEquals(total / 2, pastry.getWaiting());
+        assertEquals(total / 4, pastry.getCooking());
+        List<KitchenTicketDTO> queue = scheduler.queue("Pastry");
+        assertEquals(total * 3 / 4, queue.size());
+        for (int i = 1; i < queue.size(); i++) {
+            assertTrue(!queue.get(i).getStartBy().isBefore(queue.get(i - 1).getStartBy()));
+        }
+
+        for (KitchenTicketDTO ticket : queue) {
+            KitchenOrderDTO order = new KitchenOrderDTO();
+            order.setId(ticket.getOrderId());
+            scheduler.onOrderEvent(new KitchenOrderEvent(KitchenOrderEvent.Type.DELETED, null, order));
+        }
+        assertTrue(scheduler.stationLoads().stream().noneMatch(load -> load.getStation().equals("Pastry")));
+        assertEquals(Duration.ZERO, scheduler.staffLoad(99L));
+    }
+
+    @Test
+    void racingUpdateAndDelete_QueueMatchesOrders() throws Exception {
+        Long soup = menuItem("Soup", "Soup");
+        int orders = 500;
+        LocalDateTime created = LocalDateTime.now();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        List<Future<?>> writers = new ArrayList<>();
+        for (KitchenOrderEvent.Type type : List.of(KitchenOrderEvent.Type.UPDATED, KitchenOrderEvent.Type.DELETED)) {
+            writers.add(pool.submit(() -> {
+                for (int n = 0; n < orders; n++) {
+                    KitchenOrderDTO order = order(soup);
+                    order.setId(2_000_000L + n);
+                    order.setStaffId(98L);
+                    order.setOrderStatus(OrderStatus.PENDING.name());
+                    order.setCreatedAt(created);
+                    scheduler.onOrderEvent(new KitchenOrderEvent(type, null, order));
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // whichever event won for an order, its queued ticket and its entry went together
+        List<KitchenTicketDTO> queue = scheduler.queue("Soup");
+        assertEquals(Duration.ofMinutes(10).multipliedBy(queue.size()), scheduler.staffLoad(98L));
+    }
+
+    @Test
+    void readyOrder_TeachesOnlyItsSlowestTicket() {
+        Long roast = menuItem("Roast", "Oven");
+        Long salad = menuItem("Salad", "Cold");
+        prepTimeEstimator.record(List.of(salad), Duration.ofMinutes(4));
+        Duration saladPrep = prepTimeEstimator.estimate(salad);
+
+        KitchenOrderDTO order = order(roast, salad);
+        order.setId(3_000_000L);
+        order.setOrderStatus(OrderStatus.READY.name());
+        order.setCreatedAt(LocalDateTime.now().minusMinutes(12));
+        scheduler.onOrderEvent(new KitchenOrderEvent(KitchenOrderEvent.Type.STATUS_CHANGED, OrderStatus.COOKING, order));
+
+        assertTrue(prepTimeEstimator.estimate(roast).compareTo(Duration.ofMinutes(10)) > 0, "the roast kept the order waiting");
+        assertEquals(saladPrep, prepTimeEstimator.estimate(salad), "the salad was timed to be ready with it");
+    }
+
+    @Test
+    void openOrders_AreQueuedAtStartUp() {
+        Long mojito = menuItem("Mojito", "Bar");
+        KitchenOrder order = new KitchenOrder(1L, "T9", null, OrderStatus.PENDING, null, 900.0);
+        order.addOrderItem(new KitchenOrderItem(mojito, "Mojito", 2, 450.0, null));
+        Long id = orderRepository.save(order).getId();
+
+        assertTrue(scheduler.queue("Bar").isEmpty(), "saved without an event");
+        scheduler.loadOpenOrders();
+        List<KitchenTicketDTO> queue = scheduler.queue("Bar");
+        assertEquals(1, queue.size());
+        assertEquals(id, queue.get(0).getOrderId());
+        assertEquals("WAITING", queue.get(0).getState());
+    }
+
+    private StationLoadDTO load(String station) {
+        return scheduler.stationLoads().stream()
+                .filter(load -> load.getStation().equals(station))
+                .findFirst().orElseThrow();
+    }
+
+    private Long menuItem(String name, String category) {
+        KitchenMenuItem item = menuItemRepository.save(new KitchenMenuItem(name, category, 500.0, true,
+                MealType.LUNCH, ServiceType.RESTAURANT, LocalDate.now(), 1L, null));
+        menuStore.reload();
+        return item.getId();
+    }
+
+    private KitchenOrderDTO order(Long... menuItemIds) {
+        List<KitchenOrderItemDTO> lines = new ArrayList<>();
+        for (Long menuItemId : menuItemIds) {
+            KitchenOrderItemDTO line = new KitchenOrderItemDTO();
+            line.setMenuItemId(menuItemId);
+            line.setQuantity(1);
+            lines.add(line);
+        }
+        KitchenOrderDTO dto = new KitchenOrderDTO();
+        dto.setRestaurantId(1L);
+        dto.setTableNumber("T1");
+        dto.setOrderItems(lines);
+        return dto;
+    }
+}
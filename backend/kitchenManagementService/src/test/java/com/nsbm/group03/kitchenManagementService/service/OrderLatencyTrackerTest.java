@@ -0,0 +1,126 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.nsbm.group03.kitchenManagementService.client.InventoryClient;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderItemDTO;
+import com.nsbm.group03.kitchenManagementService.dto.OrderTransitionDTO;
+import com.nsbm.group03.kitchenManagementService.dto.StatusLatencyDTO;
+import com.nsbm.group03.kitchenManagementService.entity.KitchenMenuItem;
+import com.nsbm.group03.kitchenManagementService.enums.MealType;
+import com.nsbm.group03.kitchenManagementService.enums.ServiceType;
+import com.nsbm.group03.kitchenManagementService.exception.ResourceNotFoundException;
+import com.nsbm.group03.kitchenManagementService.repository.KitchenMenuItemRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Status changes are logged with the time spent in the previous status, and counted per restaurant,
+ * category and status in the latency windows and the Micrometer timers.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderLatencyTrackerTest {
+
+    @Autowired
+    private KitchenOrderService orderService;
+
+    @Autowired
+    private OrderLatencyTracker latencyTracker;
+
+    @Autowired
+    private KitchenMenuItemRepository menuItemRepository;
+
+    @Autowired
+    private KitchenMenuStore menuStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private InventoryClient inventoryClient;
+
+    @Test
+    void statusChanges_AreLoggedAndTimed() throws Exception {
+        Long soup = menuItem("Soup", "Starter");
+        Long curry = menuItem("Curry", "Main");
+
+        Long first = orderService.createOrder(order(7L, soup, curry)).getId();
+        Long second = orderService.createOrder(order(8L, curry)).getId();
+        Thread.sleep(20);
+        for (Long id : List.of(first, second)) {
+            orderService.updateOrderStatus(id, "COOKING");
+        }
+        orderService.updateOrderStatus(first, "READY");
+        orderService.updateOrderStatus(first, "SERVED");
+
+        List<OrderTransitionDTO> transitions = orderService.getOrderTransitions(first);
+        assertEquals(List.of("PENDING>COOKING", "COOKING>READY", "READY>SERVED"), transitions.stream()
+                .map(t -> t.getFromStatus() + ">" + t.getToStatus()).toList());
+        for (int i = 0; i < transitions.size(); i++) {
+            OrderTransitionDTO transition = transitions.get(i);
+            assertEquals(Duration.between(transition.getEnteredAt(), transition.getChangedAt()).toMillis(),
+                    transition.getDwellMillis());
+            if (i > 0) assertEquals(transitions.get(i - 1).getChangedAt(), transition.getEnteredAt());
+        }
+        assertTrue(transitions.get(0).getDwellMillis() >= 20);
+        assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderTransitions(999_999L));
+
+        assertEquals(List.of(2L, 1L, 1L), counts(latencyTracker.latency(null, null)));
+        assertEquals(List.of(1L, 1L, 1L), counts(latencyTracker.latency(7L, null)));
+        assertEquals(List.of(1L, 0L, 0L), counts(latencyTracker.latency(8L, null)));
+        assertEquals(List.of(2L, 1L, 1L), counts(latencyTracker.latency(null, "main")));
+        assertEquals(List.of(1L, 1L, 1L), counts(latencyTracker.latency(null, "Starter")));
+        assertEquals(List.of(0L, 0L, 0L), counts(latencyTracker.latency(8L, "Starter")));
+
+        StatusLatencyDTO pending = latencyTracker.latency(null, null).get(0);
+        assertTrue(pending.getP50Millis() >= 20 && pending.getP50Millis() <= pending.getP99Millis());
+        assertEquals(pending.getMaxMillis(), pending.getP99Millis());
+
+        assertEquals(1, meterRegistry.get("kitchen.order.status.dwell")
+                .tags("restaurant", "7", "status", "PENDING").timer().count());
+        assertEquals(2, meterRegistry.get("kitchen.order.category.dwell")
+                .tags("category", "Main", "status", "PENDING").timer().count());
+        assertNotNull(meterRegistry.get("kitchen.order.category.dwell")
+                .tags("category", "Starter", "status", "READY").timer());
+    }
+
+    private static List<Long> counts(List<StatusLatencyDTO> latency) {
+        return latency.stream().map(StatusLatencyDTO::getCount).toList();
+    }
+
+    private Long menuItem(String name, String category) {
+        KitchenMenuItem item = menuItemRepository.save(new KitchenMenuItem(name, category, 500.0, true,
+                MealType.LUNCH, ServiceType.RESTAURANT, LocalDate.now(), 1L, null));
+        menuStore.reload();
+        return item.getId();
+    }
+
+    private KitchenOrderDTO order(Long restaurantId, Long... menuItemIds) {
+        KitchenOrderDTO dto = new KitchenOrderDTO();
+        dto.setRestaurantId(restaurantId);
+        dto.setTableNumber("T1");
+        dto.setOrderItems(Arrays.stream(menuItemIds).map(id -> {
+            KitchenOrderItemDTO line = new KitchenOrderItemDTO();
+            line.setMenuItemId(id);
+            line.setQuantity(1);
+            return line;
+        }).toList());
+        return dto;
+    }
+}
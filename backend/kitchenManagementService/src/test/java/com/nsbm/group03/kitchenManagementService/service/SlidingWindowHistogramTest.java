@@ -0,0 +1,84 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Percentiles stay within the bucket precision of the exact ones, and values leave the window
+ * once the slice they were recorded in is older than the window.
+ */
+class SlidingWindowHistogramTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void percentiles_AreWithinThreePercent() {
+        SlidingWindowHistogram histogram = new SlidingWindowHistogram(Duration.ofMinutes(15), 5);
+        Random random = new Random(3);
+        long[] values = new long[20_000];
+        for (int i = 0; i < values.length; i++) {
+            // log-normal-ish: mostly a few minutes, some much longer
+            values[i] = (long) (Math.exp(random.nextGaussian() + 12));
+            histogram.record(values[i], NOW);
+        }
+        Arrays.sort(values);
+
+        SlidingWindowHistogram.Snapshot snapshot = histogram.snapshot(NOW);
+        assertEquals(values.length, snapshot.count());
+        assertEquals(values[values.length - 1], snapshot.max());
+        for (double percentile : new double[] {50, 95, 99}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long estimate = snapshot.valueAtPercentile(percentile);
+            assertTrue(estimate >= exact && estimate <= exact * 1.03,
+                    "p" + percentile + ": " + estimate + " vs " + exact);
+        }
+        assertEquals(0, new SlidingWindowHistogram(Duration.ofMinutes(15), 5).snapshot(NOW).valueAtPercentile(99));
+    }
+
+    @Test
+    void oldSlices_LeaveTheWindow() {
+        SlidingWindowHistogram histogram = new SlidingWindowHistogram(Duration.ofMinutes(15), 5);
+        long slice = Duration.ofMinutes(3).toMillis();
+        long start = NOW - NOW % slice;
+        histogram.record(60_000, start);
+        histogram.record(120_000, start + slice);
+
+        assertEquals(2, histogram.snapshot(start + 4 * slice).count());
+        SlidingWindowHistogram.Snapshot later = histogram.snapshot(start + 5 * slice);
+        assertEquals(1, later.count());
+        assertEquals(120_000, later.max());
+
+        // the ring comes back to the first slot: its old values are cleared, not added to
+        histogram.record(30_000, start + 5 * slice);
+        SlidingWindowHistogram.Snapshot reused = histogram.snapshot(start + 5 * slice);
+        assertEquals(2, reused.count());
+        assertTrue(reused.valueAtPercentile(50) <= 30_000 * 1.03);
+        assertEquals(0, histogram.snapshot(start + 20 * slice).count());
+    }
+
+    @Test
+    void concurrentRecords_AreAllCounted() throws Exception {
+        SlidingWindowHistogram histogram = new SlidingWindowHistogram(Duration.ofMinutes(15), 5);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i, NOW);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(80_000, histogram.snapshot(NOW).count());
+        assertEquals(9_999, histogram.snapshot(NOW).max());
+    }
+}
@@ -1,7 +1,10 @@
 package com.nsbm.group03.restaurantManagementService.controller;
 
+import com.nsbm.group03.restaurantManagementService.dto.OrderTransitionDTO;
 import com.nsbm.group03.restaurantManagementService.dto.RestaurantOrderDTO;
+import com.nsbm.group03.restaurantManagementService.dto.StatusLatencyDTO;
 import com.nsbm.group03.restaurantManagementService.response.ApiResponse;
+import com.nsbm.group03.restaurantManagementService.service.OrderLatencyTracker;
 import com.nsbm.group03.restaurantManagementService.service.RestaurantOrderService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,9 +19,11 @@ import java.util.Map;
 public class RestaurantOrderController {
 
     private final RestaurantOrderService orderService;
+    private final OrderLatencyTracker latencyTracker;
 
-    public RestaurantOrderController(RestaurantOrderService orderService) {
+    public RestaurantOrderController(RestaurantOrderService orderService, OrderLatencyTracker latencyTracker) {
         this.orderService = orderService;
+        this.latencyTracker = latencyTracker;
     }
 
     @PostMapping
@@ -80,6 +85,21 @@ public class RestaurantOrderController {
                 new ApiResponse<>(true, "Order status updated to " + status.toUpperCase(), updated));
     }
 
+    @GetMapping("/{id}/transitions")
+    public ResponseEntity<ApiResponse<List<OrderTransitionDTO>>> getOrderTransitions(@PathVariable Long id) {
+        List<OrderTransitionDTO> transitions = orderService.getOrderTransitions(id);
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, "Transitions retrieved for order: " + id, transitions));
+    }
+
+    // p50/p95/p99 time spent in each status by the orders that left it in the last restaurant.latency.window
+    @GetMapping("/latency")
+    public ResponseEntity<ApiResponse<List<StatusLatencyDTO>>> getStatusLatency() {
+        List<StatusLatencyDTO> latency = latencyTracker.latency();
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, "Status latency retrieved", latency));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<RestaurantOrderDTO>> updateOrder(
             @PathVariable Long id, @RequestBody RestaurantOrderDTO dto) {
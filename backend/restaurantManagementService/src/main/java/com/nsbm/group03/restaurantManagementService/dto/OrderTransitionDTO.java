@@ -0,0 +1,74 @@
+package com.nsbm.group03.restaurantManagementService.dto;
+
+import java.time.LocalDateTime;
+
+public class OrderTransitionDTO {
+
+    private Long orderId;
+    private String fromStatus;
+    private String toStatus;
+    private LocalDateTime enteredAt;    // when the order got fromStatus
+    private LocalDateTime changedAt;
+    private long dwellMillis;
+
+    public OrderTransitionDTO() {
+    }
+
+    public OrderTransitionDTO(Long orderId, String fromStatus, String toStatus,
+                              LocalDateTime enteredAt, LocalDateTime changedAt, long dwellMillis) {
+        this.orderId = orderId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.enteredAt = enteredAt;
+        this.changedAt = changedAt;
+        this.dwellMillis = dwellMillis;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(String fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public String getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(String toStatus) {
+        this.toStatus = toStatus;
+    }
+
+    public LocalDateTime getEnteredAt() {
+        return enteredAt;
+    }
+
+    public void setEnteredAt(LocalDateTime enteredAt) {
+        this.enteredAt = enteredAt;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public long getDwellMillis() {
+        return dwellMillis;
+    }
+
+    public void setDwellMillis(long dwellMillis) {
+        this.dwellMillis = dwellMillis;
+    }
+}
@@ -0,0 +1,82 @@
+package com.nsbm.group03.restaurantManagementService.dto;
+
+public class StatusLatencyDTO {
+
+    private String status;
+    private long count;                 // orders that left the status since start-up
+    private long p50Millis;
+    private long p95Millis;
+    private long p99Millis;
+    private long maxMillis;             // percentiles and max cover the window
+    private long windowSeconds;
+
+    public StatusLatencyDTO() {
+    }
+
+    public StatusLatencyDTO(String status, long count, long p50Millis, long p95Millis, long p99Millis,
+                            long maxMillis, long windowSeconds) {
+        this.status = status;
+        this.count = count;
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+        this.windowSeconds = windowSeconds;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getP50Millis() {
+        return p50Millis;
+    }
+
+    public void setP50Millis(long p50Millis) {
+        this.p50Millis = p50Millis;
+    }
+
+    public long getP95Millis() {
+        return p95Millis;
+    }
+
+    public void setP95Millis(long p95Millis) {
+        this.p95Millis = p95Millis;
+    }
+
+    public long getP99Millis() {
+        return p99Millis;
+    }
+
+    public void setP99Millis(long p99Millis) {
+        this.p99Millis = p99Millis;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    public void setMaxMillis(long maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+
+    public long getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public void setWindowSeconds(long windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+}
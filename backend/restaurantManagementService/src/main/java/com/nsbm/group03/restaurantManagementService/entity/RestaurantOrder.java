@@ -31,10 +31,13 @@ public class RestaurantOrder {
 
     private LocalDateTime updatedAt;
 
+    private LocalDateTime statusChangedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        statusChangedAt = createdAt;
         if (orderStatus == null) {
             orderStatus = OrderStatus.PENDING;
         }
@@ -106,4 +109,12 @@ public class RestaurantOrder {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public LocalDateTime getStatusChangedAt() {
+        return statusChangedAt;
+    }
+
+    public void setStatusChangedAt(LocalDateTime statusChangedAt) {
+        this.statusChangedAt = statusChangedAt;
+    }
 }
@@ -0,0 +1,108 @@
+package com.nsbm.group03.restaurantManagementService.entity;
+
+import com.nsbm.group03.restaurantManagementService.enums.OrderStatus;
+
+import jakarta.persistence.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "restaurant_order_transitions", indexes = {
+        @Index(name = "idx_restaurant_order_transitions_order", columnList = "orderId")
+})
+public class RestaurantOrderTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus toStatus;
+
+    // when the order got fromStatus
+    @Column(nullable = false)
+    private LocalDateTime enteredAt;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    private long dwellMillis;
+
+    public RestaurantOrderTransition() {
+    }
+
+    public RestaurantOrderTransition(Long orderId, OrderStatus fromStatus, OrderStatus toStatus,
+                                     LocalDateTime enteredAt, LocalDateTime changedAt) {
+        this.orderId = orderId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.enteredAt = enteredAt;
+        this.changedAt = changedAt;
+        this.dwellMillis = Math.max(0, Duration.between(enteredAt, changedAt).toMillis());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public OrderStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(OrderStatus fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public OrderStatus getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(OrderStatus toStatus) {
+        this.toStatus = toStatus;
+    }
+
+    public LocalDateTime getEnteredAt() {
+        return enteredAt;
+    }
+
+    public void setEnteredAt(LocalDateTime enteredAt) {
+        this.enteredAt = enteredAt;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public long getDwellMillis() {
+        return dwellMillis;
+    }
+
+    public void setDwellMillis(long dwellMillis) {
+        this.dwellMillis = dwellMillis;
+    }
+}
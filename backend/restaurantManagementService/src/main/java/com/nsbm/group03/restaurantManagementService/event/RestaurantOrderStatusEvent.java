@@ -0,0 +1,41 @@
+package com.nsbm.group03.restaurantManagementService.event;
+
+import com.nsbm.group03.restaurantManagementService.enums.OrderStatus;
+
+import java.time.Duration;
+
+/**
+ * Published by RestaurantOrderServiceImpl when an order changes status.
+ * Listeners use @TransactionalEventListener, so they only see changes that were committed.
+ */
+public class RestaurantOrderStatusEvent {
+
+    private final Long orderId;
+    private final OrderStatus previousStatus;
+    private final OrderStatus newStatus;
+    private final Duration previousStatusDwell; // how long the order was in previousStatus
+
+    public RestaurantOrderStatusEvent(Long orderId, OrderStatus previousStatus, OrderStatus newStatus,
+                                      Duration previousStatusDwell) {
+        this.orderId = orderId;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.previousStatusDwell = previousStatusDwell;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public OrderStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public Duration getPreviousStatusDwell() {
+        return previousStatusDwell;
+    }
+}
@@ -0,0 +1,13 @@
+package com.nsbm.group03.restaurantManagementService.repository;
+
+import com.nsbm.group03.restaurantManagementService.entity.RestaurantOrderTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RestaurantOrderTransitionRepository extends JpaRepository<RestaurantOrderTransition, Long> {
+
+    List<RestaurantOrderTransition> findByOrderIdOrderByChangedAtAscIdAsc(Long orderId);
+}
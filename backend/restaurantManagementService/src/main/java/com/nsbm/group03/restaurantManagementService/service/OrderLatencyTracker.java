@@ -0,0 +1,71 @@
+package com.nsbm.group03.restaurantManagementService.service;
+
+import com.nsbm.group03.restaurantManagementService.dto.StatusLatencyDTO;
+import com.nsbm.group03.restaurantManagementService.enums.OrderStatus;
+import com.nsbm.group03.restaurantManagementService.event.RestaurantOrderStatusEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How long restaurant orders stay in each status, from the events of committed status changes.
+ * Every dwell time goes to the Micrometer timer restaurant.order.status.dwell (tagged by status), which
+ * keeps p50/p95/p99 over the last restaurant.latency.window, rotated in restaurant.latency.slices steps.
+ */
+@Component
+public class OrderLatencyTracker {
+
+    private final Duration window;
+    private final Map<OrderStatus, Timer> timers = new EnumMap<>(OrderStatus.class);
+
+    public OrderLatencyTracker(MeterRegistry meterRegistry,
+                               @Value("${restaurant.latency.window:15m}") Duration window,
+                               @Value("${restaurant.latency.slices:5}") int slices) {
+        this.window = window;
+        for (OrderStatus status : OrderStatus.values()) {
+            timers.put(status, Timer.builder("restaurant.order.status.dwell")
+                    .description("Time restaurant orders spent in a status")
+                    .tag("status", status.name())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofSeconds(1))
+                    .maximumExpectedValue(Duration.ofHours(4))
+                    .distributionStatisticExpiry(window)
+                    .distributionStatisticBufferLength(slices)
+                    .register(meterRegistry));
+        }
+    }
+
+    // A rolled back change is not counted
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(RestaurantOrderStatusEvent event) {
+        timers.get(event.getPreviousStatus()).record(event.getPreviousStatusDwell());
+    }
+
+    public List<StatusLatencyDTO> latency() {
+        List<StatusLatencyDTO> latencies = new ArrayList<>();
+        for (Map.Entry<OrderStatus, Timer> entry : timers.entrySet()) {
+            HistogramSnapshot snapshot = entry.getValue().takeSnapshot();
+            long[] percentiles = new long[3]; // p50, p95, p99, in the order they are published
+            ValueAtPercentile[] values = snapshot.percentileValues();
+            for (int i = 0; i < percentiles.length && i < values.length; i++) {
+                percentiles[i] = Math.round(values[i].value(TimeUnit.MILLISECONDS));
+            }
+            latencies.add(new StatusLatencyDTO(entry.getKey().name(), snapshot.count(),
+                    percentiles[0], percentiles[1], percentiles[2],
+                    Math.round(snapshot.max(TimeUnit.MILLISECONDS)), window.toSeconds()));
+        }
+        return latencies;
+    }
+}
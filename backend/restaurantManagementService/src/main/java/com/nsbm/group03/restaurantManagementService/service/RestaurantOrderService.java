@@ -1,5 +1,6 @@
 package com.nsbm.group03.restaurantManagementService.service;
 
+import com.nsbm.group03.restaurantManagementService.dto.OrderTransitionDTO;
 import com.nsbm.group03.restaurantManagementService.dto.RestaurantOrderDTO;
 
 import java.util.List;
@@ -21,6 +22,8 @@ public interface RestaurantOrderService {
 
     RestaurantOrderDTO updateOrderStatus(Long id, String status);
 
+    List<OrderTransitionDTO> getOrderTransitions(Long id);
+
     RestaurantOrderDTO updateOrder(Long id, RestaurantOrderDTO dto);
 
     void deleteOrder(Long id);
@@ -1,16 +1,23 @@
 package com.nsbm.group03.restaurantManagementService.service.impl;
 
+import com.nsbm.group03.restaurantManagementService.dto.OrderTransitionDTO;
 import com.nsbm.group03.restaurantManagementService.dto.RestaurantOrderDTO;
 import com.nsbm.group03.restaurantManagementService.entity.RestaurantOrder;
+import com.nsbm.group03.restaurantManagementService.entity.RestaurantOrderTransition;
 import com.nsbm.group03.restaurantManagementService.enums.OrderStatus;
+import com.nsbm.group03.restaurantManagementService.event.RestaurantOrderStatusEvent;
 import com.nsbm.group03.restaurantManagementService.exception.ResourceNotFoundException;
 import com.nsbm.group03.restaurantManagementService.repository.RestaurantOrderRepository;
+import com.nsbm.group03.restaurantManagementService.repository.RestaurantOrderTransitionRepository;
 import com.nsbm.group03.restaurantManagementService.service.RestaurantOrderService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,9 +29,15 @@ public class RestaurantOrderServiceImpl implements RestaurantOrderService {
     private static final Logger logger = LoggerFactory.getLogger(RestaurantOrderServiceImpl.class);
 
     private final RestaurantOrderRepository orderRepository;
+    private final RestaurantOrderTransitionRepository transitionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public RestaurantOrderServiceImpl(RestaurantOrderRepository orderRepository) {
+    public RestaurantOrderServiceImpl(RestaurantOrderRepository orderRepository,
+                                      RestaurantOrderTransitionRepository transitionRepository,
+                                      ApplicationEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
+        this.transitionRepository = transitionRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -88,12 +101,38 @@ public class RestaurantOrderServiceImpl implements RestaurantOrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant Order", id));
 
         OrderStatus newStatus = OrderStatus.valueOf(status.toUpperCase());
+        OrderStatus currentStatus = order.getOrderStatus();
+        if (newStatus == currentStatus) {
+            return mapToDTO(order);
+        }
+
+        // orders from before statusChangedAt existed: the last update is the best guess
+        LocalDateTime enteredAt = order.getStatusChangedAt() != null ? order.getStatusChangedAt()
+                : currentStatus == OrderStatus.PENDING ? order.getCreatedAt() : order.getUpdatedAt();
+        LocalDateTime now = LocalDateTime.now();
         order.setOrderStatus(newStatus);
+        order.setStatusChangedAt(now);
         RestaurantOrder updated = orderRepository.save(order);
-        logger.info("Order ID {} status changed to {}", id, newStatus);
+        transitionRepository.save(new RestaurantOrderTransition(id, currentStatus, newStatus, enteredAt, now));
+
+        Duration dwell = Duration.between(enteredAt, now);
+        eventPublisher.publishEvent(new RestaurantOrderStatusEvent(id, currentStatus, newStatus, dwell));
+        logger.info("Order ID {} status changed: {} → {} after {} ms", id, currentStatus, newStatus, dwell.toMillis());
         return mapToDTO(updated);
     }
 
+    @Override
+    public List<OrderTransitionDTO> getOrderTransitions(Long id) {
+        List<RestaurantOrderTransition> transitions = transitionRepository.findByOrderIdOrderByChangedAtAscIdAsc(id);
+        if (transitions.isEmpty() && !orderRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Restaurant Order", id);
+        }
+        return transitions.stream()
+                .map(t -> new OrderTransitionDTO(t.getOrderId(), t.getFromStatus().name(), t.getToStatus().name(),
+                        t.getEnteredAt(), t.getChangedAt(), t.getDwellMillis()))
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional
     public RestaurantOrderDTO updateOrder(Long id, RestaurantOrderDTO dto) {
@@ -0,0 +1,103 @@
+package com.nsbm.group03.restaurantManagementService.service;
+
+import com.nsbm.group03.restaurantManagementService.dto.OrderTransitionDTO;
+import com.nsbm.group03.restaurantManagementService.dto.RestaurantOrderDTO;
+import com.nsbm.group03.restaurantManagementService.dto.StatusLatencyDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Status changes are logged with the time spent in the previous status, and counted once committed.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class OrderLatencyTrackerTest {
+
+    @Autowired
+    private RestaurantOrderService orderService;
+
+    @Autowired
+    private OrderLatencyTracker latencyTracker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void statusChange_IsLoggedAndCountedAfterCommit() {
+        Long id = newOrder();
+        long pending = count("PENDING");
+        long timed = timerCount("PENDING");
+
+        orderService.updateOrderStatus(id, "preparing");
+
+        List<OrderTransitionDTO> transitions = orderService.getOrderTransitions(id);
+        assertEquals(1, transitions.size());
+        OrderTransitionDTO transition = transitions.get(0);
+        assertEquals("PENDING", transition.getFromStatus());
+        assertEquals("PREPARING", transition.getToStatus());
+        assertTrue(transition.getDwellMillis() >= 0);
+        assertTrue(!transition.getChangedAt().isBefore(transition.getEnteredAt()));
+        assertEquals(pending + 1, count("PENDING"));
+        assertEquals(timed + 1, timerCount("PENDING"));
+    }
+
+    @Test
+    void rolledBackStatusChange_IsNotLoggedOrCounted() {
+        Long id = newOrder();
+        long pending = count("PENDING");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            orderService.updateOrderStatus(id, "PREPARING");
+            assertEquals(pending, count("PENDING"), "not counted before commit");
+            tx.setRollbackOnly();
+        });
+
+        assertEquals("PENDING", orderService.getOrderById(id).getOrderStatus());
+        assertTrue(orderService.getOrderTransitions(id).isEmpty());
+        assertEquals(pending, count("PENDING"));
+    }
+
+    @Test
+    void unchangedStatus_IsNotLoggedOrCounted() {
+        Long id = newOrder();
+        long pending = count("PENDING");
+
+        orderService.updateOrderStatus(id, "PENDING");
+
+        assertTrue(orderService.getOrderTransitions(id).isEmpty());
+        assertEquals(pending, count("PENDING"));
+    }
+
+    private Long newOrder() {
+        RestaurantOrderDTO dto = new RestaurantOrderDTO();
+        dto.setTableId(1L);
+        dto.setTotalAmount(1200.0);
+        return orderService.createOrder(dto).getId();
+    }
+
+    private long count(String status) {
+        return latencyTracker.latency().stream()
+                .filter(latency -> latency.getStatus().equals(status))
+                .mapToLong(StatusLatencyDTO::getCount)
+                .findFirst().orElseThrow();
+    }
+
+    private long timerCount(String status) {
+        Timer timer = meterRegistry.find("restaurant.order.status.dwell").tag("status", status).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
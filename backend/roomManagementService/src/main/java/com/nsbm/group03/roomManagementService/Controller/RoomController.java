@@ -1,28 +1,44 @@
 package com.nsbm.group03.roomManagementService.Controller;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.nsbm.group03.roomManagementService.Dto.BulkRowResultDTO;
+import com.nsbm.group03.roomManagementService.Dto.CursorPage;
+import com.nsbm.group03.roomManagementService.Dto.IndexConsistencyDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomAvailabilityDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomCountDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomCreateDTO;
@@ -30,13 +46,19 @@ import com.nsbm.group03.roomManagementService.Dto.RoomDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomStatusUpdateDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomTypeSummaryDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomTypeUpdateDTO;
 import com.nsbm.group03.roomManagementService.Dto.StatisticsDTO;
 import com.nsbm.group03.roomManagementService.Dto.StatisticsByTypeDTO;
 import com.nsbm.group03.roomManagementService.Entity.Room;
 import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
 import com.nsbm.group03.roomManagementService.Enum.RoomType;
 import com.nsbm.group03.roomManagementService.Mapper.RoomMapper;
+import com.nsbm.group03.roomManagementService.Service.RoomBulkService;
 import com.nsbm.group03.roomManagementService.Service.RoomService;
+import com.nsbm.group03.roomManagementService.Service.RoomStatusEventPublisher;
+import com.nsbm.group03.roomManagementService.Service.RoomTypeImageService;
+import com.nsbm.group03.roomManagementService.Service.RoomTypeService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -44,6 +66,10 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import tools.jackson.databind.json.JsonMapper;
 
 @Tag(
     name = "Room Management Service",
@@ -51,21 +77,59 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 )
 @RestController
 @RequestMapping("/api/rooms")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = RoomController.NEXT_CURSOR_HEADER)
 public class RoomController {
 
+    // Response header carrying the cursor of the next page on paginated list endpoints
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    // Request header that makes status changes safe to retry
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    // Content types of the bulk upload endpoints
+    static final String NDJSON = "application/x-ndjson";
+    static final String CSV = "text/csv";
+
     @Autowired
     private RoomService roomService;
 
+    @Autowired
+    private RoomStatusEventPublisher statusEventPublisher;
+
+    @Autowired
+    private RoomTypeImageService roomTypeImageService;
+
+    @Autowired
+    private RoomTypeService roomTypeService;
+
+    @Autowired
+    private RoomBulkService roomBulkService;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
     @Operation(summary = "Get all rooms",
-            description = "Retrieve a complete list of all rooms in the system.")
+            description = "Retrieve rooms ordered by room number, one page at a time. When more rooms follow, "
+                    + "the X-Next-Cursor response header holds the cursor for the next page.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Rooms retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit", content = @Content),
         @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
     })
     @GetMapping
-    public ResponseEntity<List<RoomDTO>> getAllRooms() {
-        return ResponseEntity.ok(RoomMapper.toRoomDTOList(roomService.getAllRooms()));
+    public ResponseEntity<List<RoomDTO>> getAllRooms(
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            String cursor,
+            @RequestParam(required = false)
+            @Parameter(description = "Page size (capped at the configured maximum)", example = "100")
+            Integer limit) {
+
+        try {
+            return pageResponse(roomService.getRoomPage(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
     }
 
     @Operation(summary = "Get room count by type",
@@ -115,6 +179,35 @@ public class RoomController {
                 .body(RoomMapper.toRoomDTO(savedRoom));
     }
 
+    @Operation(summary = "Bulk import rooms",
+            description = "Creates rooms, with 30 days of generated status history, from an NDJSON upload of room objects "
+                    + "or a CSV upload with the header roomNumber,roomType,pricePerNight,capacity. "
+                    + "The upload is processed in chunks and one NDJSON result per row (CREATED, EXISTS, INVALID, FAILED) "
+                    + "is streamed back as each chunk is committed.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Upload processed, see the per-row results"),
+        @ApiResponse(responseCode = "415", description = "Upload is neither NDJSON nor CSV", content = @Content)
+    })
+    @PostMapping(path = "/bulk", consumes = {NDJSON, CSV}, produces = NDJSON)
+    public void bulkImportRooms(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        RoomBulkService.Format format = bulkFormat(request);
+        streamBulkResults(response, results -> roomBulkService.importRooms(request.getReader(), format, results));
+    }
+
+    @Operation(summary = "Bulk update room status",
+            description = "Updates today's status of many rooms from an NDJSON upload of status updates "
+                    + "or a CSV upload with the header roomNumber,status,changedBy. "
+                    + "One NDJSON result per row (UPDATED, NOT_FOUND, INVALID, FAILED) is streamed back as each chunk is committed.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Upload processed, see the per-row results"),
+        @ApiResponse(responseCode = "415", description = "Upload is neither NDJSON nor CSV", content = @Content)
+    })
+    @PatchMapping(path = "/status/bulk", consumes = {NDJSON, CSV}, produces = NDJSON)
+    public void bulkUpdateRoomStatus(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        RoomBulkService.Format format = bulkFormat(request);
+        streamBulkResults(response, results -> roomBulkService.updateStatuses(request.getReader(), format, results));
+    }
+
     @Operation(summary = "Delete room",
             description = "Deletes a room and automatically removes all associated RoomStatusHistory records.")
     @ApiResponses({
@@ -140,17 +233,22 @@ public class RoomController {
             description = "Manually updates today's status of a room (AVAILABLE, OCCUPIED, MAINTENANCE).")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Status updated successfully"),
-        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room kept changing concurrently, retry with the same Idempotency-Key", content = @Content)
     })
     @PatchMapping("/{roomNumber}/status")
     public ResponseEntity<RoomStatusHistoryDTO> updateRoomStatus(
             @PathVariable String roomNumber,
-            @RequestBody RoomStatusUpdateDTO statusDTO) {
+            @RequestBody RoomStatusUpdateDTO statusDTO,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+            @Parameter(description = "Unique key of this request; repeating it returns the original result instead of changing the status again")
+            String idempotencyKey) {
 
         RoomStatusHistory updated = roomService.updateRoomStatus(
                 roomNumber,
                 statusDTO.getStatus(),
-                statusDTO.getChangedBy() != null ? statusDTO.getChangedBy() : "ADMIN");
+                statusDTO.getChangedBy() != null ? statusDTO.getChangedBy() : "ADMIN",
+                idempotencyKey);
 
         return ResponseEntity.ok(RoomMapper.toRoomStatusHistoryDTO(updated));
     }
@@ -159,54 +257,66 @@ public class RoomController {
             description = "Marks the room as OCCUPIED for the current date.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Room checked-in successfully"),
-        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room kept changing concurrently, retry with the same Idempotency-Key", content = @Content)
     })
     @PostMapping("/{roomNumber}/check-in")
     public ResponseEntity<RoomStatusHistoryDTO> checkInRoom(
             @PathVariable String roomNumber,
             @RequestParam(defaultValue = "SYSTEM")
             @Parameter(description = "User performing the action", example = "ADMIN")
-            String changedBy) {
+            String changedBy,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+            @Parameter(description = "Unique key of this request; repeating it returns the original result")
+            String idempotencyKey) {
 
         return ResponseEntity.ok(
                 RoomMapper.toRoomStatusHistoryDTO(
-                        roomService.checkInRoom(roomNumber, changedBy)));
+                        roomService.checkInRoom(roomNumber, changedBy, idempotencyKey)));
     }
 
     @Operation(summary = "Check-out room",
             description = "Marks the room as AVAILABLE for the current date.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Room checked-out successfully"),
-        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room kept changing concurrently, retry with the same Idempotency-Key", content = @Content)
     })
     @PostMapping("/{roomNumber}/check-out")
     public ResponseEntity<RoomStatusHistoryDTO> checkOutRoom(
             @PathVariable String roomNumber,
             @RequestParam(defaultValue = "SYSTEM")
             @Parameter(description = "User performing the action", example = "ADMIN")
-            String changedBy) {
+            String changedBy,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+            @Parameter(description = "Unique key of this request; repeating it returns the original result")
+            String idempotencyKey) {
 
         return ResponseEntity.ok(
                 RoomMapper.toRoomStatusHistoryDTO(
-                        roomService.checkOutRoom(roomNumber, changedBy)));
+                        roomService.checkOutRoom(roomNumber, changedBy, idempotencyKey)));
     }
 
     @Operation(summary = "Mark room for maintenance",
             description = "Marks the room as MAINTENANCE for the current date.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Room marked for maintenance"),
-        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room kept changing concurrently, retry with the same Idempotency-Key", content = @Content)
     })
     @PostMapping("/{roomNumber}/maintenance")
     public ResponseEntity<RoomStatusHistoryDTO> markForMaintenance(
             @PathVariable String roomNumber,
             @RequestParam(defaultValue = "MAINTENANCE")
             @Parameter(description = "User performing the action", example = "ADMIN")
-            String changedBy) {
+            String changedBy,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+            @Parameter(description = "Unique key of this request; repeating it returns the original result")
+            String idempotencyKey) {
 
         return ResponseEntity.ok(
                 RoomMapper.toRoomStatusHistoryDTO(
-                        roomService.markRoomForMaintenance(roomNumber, changedBy)));
+                        roomService.markRoomForMaintenance(roomNumber, changedBy, idempotencyKey)));
     }
 
 
@@ -214,18 +324,37 @@ public class RoomController {
             description = "Marks the room as AVAILABLE after maintenance is completed.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Room marked as available"),
-        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room kept changing concurrently, retry with the same Idempotency-Key", content = @Content)
     })
     @PostMapping("/{roomNumber}/available-after-maintenance")
     public ResponseEntity<RoomStatusHistoryDTO> markAvailableAfterMaintenance(
             @PathVariable String roomNumber,
             @RequestParam(defaultValue = "MAINTENANCE")
             @Parameter(description = "User performing the action", example = "ADMIN")
-            String changedBy) {
+            String changedBy,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+            @Parameter(description = "Unique key of this request; repeating it returns the original result")
+            String idempotencyKey) {
 
         return ResponseEntity.ok(
                 RoomMapper.toRoomStatusHistoryDTO(
-                        roomService.markRoomAvailableAfterMaintenance(roomNumber, changedBy)));
+                        roomService.markRoomAvailableAfterMaintenance(roomNumber, changedBy, idempotencyKey)));
+    }
+
+    @Operation(summary = "Stream room status changes",
+            description = "Server-Sent Events stream of room status changes. Each 'status-change' event carries a RoomStatusHistoryDTO "
+                    + "and its id is a resume token: reconnect with the Last-Event-ID header (or lastEventId parameter) to receive only "
+                    + "the missed changes. New, lagging or non-resumable clients receive a 'snapshot' event with today's status of every room.")
+    @ApiResponse(responseCode = "200", description = "Event stream opened", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE))
+    @GetMapping(path = "/status-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRoomStatus(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false)
+            @Parameter(description = "Resume token (id of the last event received)")
+            String lastEventId) {
+
+        return statusEventPublisher.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
     }
 
     @Operation(summary = "Get available rooms (today)",
@@ -234,7 +363,7 @@ public class RoomController {
     @GetMapping("/available")
     public ResponseEntity<List<RoomAvailabilityDTO>> getAvailableRooms() {
         return ResponseEntity.ok(
-                RoomMapper.toRoomAvailabilityDTOListFromHistory(
+                RoomMapper.toRoomAvailabilityDTOList(
                         roomService.getAvailableRooms()));
     }
 
@@ -249,20 +378,54 @@ public class RoomController {
             LocalDate date) {
 
         return ResponseEntity.ok(
-                RoomMapper.toRoomAvailabilityDTOListFromHistory(
+                RoomMapper.toRoomAvailabilityDTOList(
                         roomService.getAvailableRoomsByDate(date)));
     }
 
-    @Operation(summary = "Get occupied rooms (today)")
+    @Operation(summary = "Get rooms available for a stay",
+            description = "Returns rooms that are AVAILABLE on every night from the check-in date (from) up to, but not including, "
+                    + "the check-out date (to), optionally filtered by room type and minimum capacity.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Available rooms retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range or room type", content = @Content)
+    })
+    @GetMapping("/available/range")
+    public ResponseEntity<List<RoomAvailabilityDTO>> getAvailableRoomsForStay(
+            @RequestParam
+            @Parameter(description = "Check-in date in yyyy-MM-dd format", example = "2026-03-05")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+            @RequestParam
+            @Parameter(description = "Check-out date in yyyy-MM-dd format (exclusive)", example = "2026-03-08")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to,
+            @RequestParam(required = false)
+            @Parameter(description = "Room type (SINGLE, DOUBLE, DELUXE)", example = "DOUBLE")
+            RoomType type,
+            @RequestParam(required = false)
+            @Parameter(description = "Minimum number of guests the room must hold", example = "2")
+            Integer capacity) {
+
+        if (!from.isBefore(to))
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+
+        return ResponseEntity.ok(
+                RoomMapper.toRoomAvailabilityDTOList(
+                        roomService.getAvailableRoomsForStay(from, to, type, capacity)));
+    }
+
+    @Operation(summary = "Get occupied rooms (today)",
+            description = "Returns one entry per room that is OCCUPIED today; id, changedBy and changedAt are not filled in.")
     @ApiResponse(responseCode = "200", description = "Occupied rooms retrieved")
     @GetMapping("/occupied")
     public ResponseEntity<List<RoomStatusHistoryDTO>> getOccupiedRooms() {
         return ResponseEntity.ok(
                 RoomMapper.toRoomStatusHistoryDTOList(
-                        roomService.getOccupiedRooms()));
+                        roomService.getOccupiedRooms(), LocalDate.now(), RoomStatus.OCCUPIED));
     }
 
-    @Operation(summary = "Get occupied rooms by date")
+    @Operation(summary = "Get occupied rooms by date",
+            description = "Returns one entry per room that is OCCUPIED on the date; id, changedBy and changedAt are not filled in.")
     @ApiResponse(responseCode = "200", description = "Occupied rooms retrieved")
     @GetMapping("/occupied/by-date")
     public ResponseEntity<List<RoomStatusHistoryDTO>> getOccupiedRoomsByDate(
@@ -273,19 +436,21 @@ public class RoomController {
 
         return ResponseEntity.ok(
                 RoomMapper.toRoomStatusHistoryDTOList(
-                        roomService.getOccupiedRoomsByDate(date)));
+                        roomService.getOccupiedRoomsByDate(date), date, RoomStatus.OCCUPIED));
     }
 
-    @Operation(summary = "Get maintenance rooms (today)")
+    @Operation(summary = "Get maintenance rooms (today)",
+            description = "Returns one entry per room that is in MAINTENANCE today; id, changedBy and changedAt are not filled in.")
     @ApiResponse(responseCode = "200", description = "Maintenance rooms retrieved")
     @GetMapping("/maintenance")
     public ResponseEntity<List<RoomStatusHistoryDTO>> getMaintenanceRooms() {
         return ResponseEntity.ok(
                 RoomMapper.toRoomStatusHistoryDTOList(
-                        roomService.getMaintenanceRooms()));
+                        roomService.getMaintenanceRooms(), LocalDate.now(), RoomStatus.MAINTENANCE));
     }
 
-    @Operation(summary = "Get maintenance rooms by date")
+    @Operation(summary = "Get maintenance rooms by date",
+            description = "Returns one entry per room that is in MAINTENANCE on the date; id, changedBy and changedAt are not filled in.")
     @ApiResponse(responseCode = "200", description = "Maintenance rooms retrieved")
     @GetMapping("/maintenance/by-date")
     public ResponseEntity<List<RoomStatusHistoryDTO>> getMaintenanceRoomsByDate(
@@ -296,18 +461,31 @@ public class RoomController {
 
         return ResponseEntity.ok(
                 RoomMapper.toRoomStatusHistoryDTOList(
-                        roomService.getMaintenanceRoomsByDate(date)));
+                        roomService.getMaintenanceRoomsByDate(date), date, RoomStatus.MAINTENANCE));
     }
 
-    @Operation(summary = "Get full status history of a room")
-    @ApiResponse(responseCode = "200", description = "Room history retrieved")
+    @Operation(summary = "Get full status history of a room",
+            description = "Status changes of a room, newest first, one page at a time. When more changes follow, "
+                    + "the X-Next-Cursor response header holds the cursor for the next page.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Room history retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit", content = @Content)
+    })
     @GetMapping("/{roomNumber}/status-history")
     public ResponseEntity<List<RoomStatusHistoryDTO>> getRoomStatusHistory(
-            @PathVariable String roomNumber) {
+            @PathVariable String roomNumber,
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            String cursor,
+            @RequestParam(required = false)
+            @Parameter(description = "Page size (capped at the configured maximum)", example = "100")
+            Integer limit) {
 
-        return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
-                        roomService.getRoomStatusHistory(roomNumber)));
+        try {
+            return pageResponse(roomService.getRoomStatusHistoryPage(roomNumber, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
     }
 
     @Operation(summary = "Get room status history by date")
@@ -348,21 +526,40 @@ public class RoomController {
                         roomService.getLatestRoomStatus(roomNumber)));
     }
 
-    @Operation(summary = "Get all rooms status for a specific date (Admin overview)")
-    @ApiResponse(responseCode = "200", description = "Status overview retrieved")
+    @Operation(summary = "Get all rooms status for a specific date (Admin overview)",
+            description = "Status changes of all rooms for a date, newest first, one page at a time. When more changes follow, "
+                    + "the X-Next-Cursor response header holds the cursor for the next page.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Status overview retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit", content = @Content)
+    })
     @GetMapping("/history/by-date")
     public ResponseEntity<List<RoomStatusHistoryDTO>> getAllRoomsStatusHistoryByDate(
             @RequestParam
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
             @Parameter(description = "Date in yyyy-MM-dd format", example = "2026-03-05")
-            LocalDate date) {
+            LocalDate date,
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            String cursor,
+            @RequestParam(required = false)
+            @Parameter(description = "Page size (capped at the configured maximum)", example = "100")
+            Integer limit) {
 
-        return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
-                        roomService.getAllRoomsStatusHistoryByDate(date)));
+        try {
+            return pageResponse(roomService.getAllRoomsStatusHistoryPageByDate(date, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
     }
 
-    
+    @Operation(summary = "Check availability index consistency",
+            description = "Compares the in-memory availability index with the latest status per room and date stored in the database.")
+    @ApiResponse(responseCode = "200", description = "Consistency report generated")
+    @GetMapping("/availability-index/consistency")
+    public ResponseEntity<IndexConsistencyDTO> checkAvailabilityIndex() {
+        return ResponseEntity.ok(roomService.checkAvailabilityIndex());
+    }
 
     @Operation(summary = "Get room types summary",
             description = "Retrieve summary information for all room types including pricing and capacity.")
@@ -372,63 +569,150 @@ public class RoomController {
         return ResponseEntity.ok(roomService.getRoomTypeSummary());
     }
 
+    @Operation(summary = "Update room type",
+            description = "Update the price per night of a room type. Fields left out are not changed.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Room type updated successfully"),
+        @ApiResponse(responseCode = "404", description = "Room type not found", content = @Content)
+    })
+    @PutMapping("/room-types/{type}")
+    public ResponseEntity<RoomTypeSummaryDTO> updateRoomType(
+            @Parameter(description = "Room type (SINGLE, DOUBLE, DELUXE)", example = "SINGLE")
+            @PathVariable String type,
+            @Valid @RequestBody RoomTypeUpdateDTO updateDTO) {
+
+        RoomType roomType = parseRoomType(type);
+        if (roomType == null)
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+
+        return ResponseEntity.ok(
+                roomTypeService.updateRoomType(roomType, updateDTO.getPricePerNight()));
+    }
+
     @Operation(summary = "Get room type image",
-            description = "Retrieve the image file for a specific room type to display in the frontend.")
+            description = "Retrieve the image file for a specific room type to display in the frontend. "
+                    + "Supports conditional requests (ETag / Last-Modified) and byte ranges.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Image retrieved successfully", content = @Content(mediaType = "image/jpeg")),
+        @ApiResponse(responseCode = "304", description = "Image not modified", content = @Content),
         @ApiResponse(responseCode = "404", description = "Room type or image not found", content = @Content)
     })
     @GetMapping("/room-types/{type}/image")
-    public ResponseEntity<byte[]> getRoomTypeImage(
+    public ResponseEntity<Resource> getRoomTypeImage(
             @Parameter(description = "Room type (SINGLE, DOUBLE, DELUXE)", example = "SINGLE")
-            @PathVariable String type) {
+            @PathVariable String type,
+            WebRequest request) {
 
-        try {
-            RoomType roomType = RoomType.valueOf(type.toUpperCase());
-            String imagePath = roomService.getRoomTypeImage(roomType);
+        RoomType roomType = parseRoomType(type);
+        if (roomType == null)
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
 
-            if (imagePath == null || imagePath.contains("not found")) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
-            }
+        return serveImage(roomTypeImageService.getImage(roomType), request);
+    }
+
+    @Operation(summary = "Get room type thumbnail",
+            description = "Retrieve the pre-generated thumbnail for a specific room type (falls back to the full image).")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Thumbnail retrieved successfully", content = @Content(mediaType = "image/jpeg")),
+        @ApiResponse(responseCode = "304", description = "Thumbnail not modified", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Room type or image not found", content = @Content)
+    })
+    @GetMapping("/room-types/{type}/thumbnail")
+    public ResponseEntity<Resource> getRoomTypeThumbnail(
+            @Parameter(description = "Room type (SINGLE, DOUBLE, DELUXE)", example = "SINGLE")
+            @PathVariable String type,
+            WebRequest request) {
+
+        RoomType roomType = parseRoomType(type);
+        if (roomType == null)
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
 
-            // Read image file from filesystem
-            Path imagefile = Paths.get(imagePath);
-            
-            // Check if file exists
-            if (!Files.exists(imagefile)) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        return serveImage(roomTypeImageService.getThumbnail(roomType), request);
+    }
+
+    // A status change still colliding with concurrent changes after all retries
+    @ExceptionHandler({OptimisticLockingFailureException.class, PessimisticLockingFailureException.class})
+    public ResponseEntity<String> handleConcurrentStatusChange(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("Room was changed concurrently, please retry.");
+    }
+
+    private RoomBulkService.Format bulkFormat(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase().startsWith(CSV)
+                ? RoomBulkService.Format.CSV
+                : RoomBulkService.Format.NDJSON;
+    }
+
+    // Write each chunk of bulk results as NDJSON lines and flush, so the client sees progress while uploading
+    private void streamBulkResults(HttpServletResponse response, BulkUpload upload) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        Writer out = response.getWriter();
+        upload.run(chunk -> {
+            try {
+                for (BulkRowResultDTO result : chunk) {
+                    out.write(jsonMapper.writeValueAsString(result));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                // client went away; stop reading the rest of the upload
+                throw new UncheckedIOException(e);
             }
+        });
+    }
 
-            byte[] imageBytes = Files.readAllBytes(imagefile);
-            
-            // Determine media type based on file extension
-            String contentType = getContentType(imagePath);
-            
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .body(imageBytes);
-                    
+    private interface BulkUpload {
+        void run(Consumer<List<BulkRowResultDTO>> results) throws IOException;
+    }
+
+    // Page items as a plain JSON array, with the next page's cursor in a header
+    private <T> ResponseEntity<List<T>> pageResponse(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    private RoomType parseRoomType(String type) {
+        try {
+            return RoomType.valueOf(type.toUpperCase());
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            return null;
         }
     }
 
     /**
-     * Determine content type based on file extension
+     * Stream an image file from disk. Returning a Resource lets Spring copy the file to the
+     * response in small chunks and answer Range requests with 206 Partial Content.
      */
-    private String getContentType(String filePath) {
-        if (filePath.endsWith(".jpg") || filePath.endsWith(".jpeg")) {
-            return "image/jpeg";
-        } else if (filePath.endsWith(".png")) {
-            return "image/png";
-        } else if (filePath.endsWith(".gif")) {
-            return "image/gif";
-        } else if (filePath.endsWith(".webp")) {
-            return "image/webp";
+    private ResponseEntity<Resource> serveImage(Path imageFile, WebRequest request) {
+        if (imageFile == null)
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+
+        try {
+            long lastModified = Files.getLastModifiedTime(imageFile).toMillis();
+            long size = Files.size(imageFile);
+            String etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(size) + "\"";
+
+            if (request.checkNotModified(etag, lastModified)) {
+                return null; // 304 already prepared by checkNotModified
+            }
+
+            return ResponseEntity.ok()
+                    .contentType(roomTypeImageService.getMediaType(imageFile))
+                    .contentLength(size)
+                    .cacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePublic())
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .body(new FileSystemResource(imageFile));
+
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
-        return "application/octet-stream";
     }
 
     @Operation(summary = "Get room statistics",
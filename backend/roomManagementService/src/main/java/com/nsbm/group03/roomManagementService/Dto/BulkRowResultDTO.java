@@ -0,0 +1,37 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import com.nsbm.group03.roomManagementService.Enum.BulkRowOutcome;
+
+/**
+ * DTO for the result of one row of a bulk upload (line is the 1-based line number in the upload)
+ */
+public class BulkRowResultDTO {
+
+    private long line;
+    private String roomNumber;
+    private BulkRowOutcome outcome;
+    private String message;
+
+    public BulkRowResultDTO() {}
+
+    public BulkRowResultDTO(long line, String roomNumber, BulkRowOutcome outcome, String message) {
+        this.line = line;
+        this.roomNumber = roomNumber;
+        this.outcome = outcome;
+        this.message = message;
+    }
+
+    // Getters & Setters
+
+    public long getLine() { return line; }
+    public void setLine(long line) { this.line = line; }
+
+    public String getRoomNumber() { return roomNumber; }
+    public void setRoomNumber(String roomNumber) { this.roomNumber = roomNumber; }
+
+    public BulkRowOutcome getOutcome() { return outcome; }
+    public void setOutcome(BulkRowOutcome outcome) { this.outcome = outcome; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
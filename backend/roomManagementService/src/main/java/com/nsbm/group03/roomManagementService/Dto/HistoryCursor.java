@@ -0,0 +1,48 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a status history list ordered by changedAt DESC, id DESC.
+ * Sent to clients as an opaque base64url token of "changedAt|id".
+ */
+public class HistoryCursor {
+
+    private final LocalDateTime changedAt;
+    private final String id;
+
+    public HistoryCursor(LocalDateTime changedAt, String id) {
+        this.changedAt = changedAt;
+        this.id = id;
+    }
+
+    public static HistoryCursor after(RoomStatusHistoryDTO last) {
+        return new HistoryCursor(last.getChangedAt(), last.getId());
+    }
+
+    // Throws IllegalArgumentException for tokens not produced by encode()
+    public static HistoryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = changedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+
+    public String getId() { return id; }
+}
@@ -0,0 +1,66 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.util.List;
+
+/**
+ * DTO for the result of comparing the in-memory availability index with the database
+ */
+public class IndexConsistencyDTO {
+
+    private boolean consistent;
+    private int roomsChecked;
+    private int datesChecked;
+    private int mismatchCount;
+    private List<String> mismatches; // first few differences, for troubleshooting
+
+    public IndexConsistencyDTO() {}
+
+    public IndexConsistencyDTO(int roomsChecked, int datesChecked, int mismatchCount, List<String> mismatches) {
+        this.roomsChecked = roomsChecked;
+        this.datesChecked = datesChecked;
+        this.mismatchCount = mismatchCount;
+        this.mismatches = mismatches;
+        this.consistent = mismatchCount == 0;
+    }
+
+    // Getters and Setters
+    public boolean isConsistent() {
+        return consistent;
+    }
+
+    public void setConsistent(boolean consistent) {
+        this.consistent = consistent;
+    }
+
+    public int getRoomsChecked() {
+        return roomsChecked;
+    }
+
+    public void setRoomsChecked(int roomsChecked) {
+        this.roomsChecked = roomsChecked;
+    }
+
+    public int getDatesChecked() {
+        return datesChecked;
+    }
+
+    public void setDatesChecked(int datesChecked) {
+        this.datesChecked = datesChecked;
+    }
+
+    public int getMismatchCount() {
+        return mismatchCount;
+    }
+
+    public void setMismatchCount(int mismatchCount) {
+        this.mismatchCount = mismatchCount;
+    }
+
+    public List<String> getMismatches() {
+        return mismatches;
+    }
+
+    public void setMismatches(List<String> mismatches) {
+        this.mismatches = mismatches;
+    }
+}
@@ -0,0 +1,24 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+// Row of a grouped count query: number of rooms in a status
+public class RoomStatusCountDTO {
+
+    private RoomStatus status;
+    private long count;
+
+    public RoomStatusCountDTO() {}
+
+    public RoomStatusCountDTO(RoomStatus status, Long count) {
+        this.status = status;
+        this.count = count != null ? count : 0;
+    }
+
+    // Getters & Setters
+    public RoomStatus getStatus() { return status; }
+    public void setStatus(RoomStatus status) { this.status = status; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
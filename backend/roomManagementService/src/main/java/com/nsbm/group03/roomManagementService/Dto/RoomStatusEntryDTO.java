@@ -0,0 +1,31 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.time.LocalDate;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+// Lightweight (room, date, status) projection of RoomStatusHistory, used to build the availability index
+public class RoomStatusEntryDTO {
+
+    private String roomId;
+    private LocalDate date;
+    private RoomStatus status;
+
+    public RoomStatusEntryDTO() {}
+
+    public RoomStatusEntryDTO(String roomId, LocalDate date, RoomStatus status) {
+        this.roomId = roomId;
+        this.date = date;
+        this.status = status;
+    }
+
+    // Getters & Setters
+    public String getRoomId() { return roomId; }
+    public void setRoomId(String roomId) { this.roomId = roomId; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public RoomStatus getStatus() { return status; }
+    public void setStatus(RoomStatus status) { this.status = status; }
+}
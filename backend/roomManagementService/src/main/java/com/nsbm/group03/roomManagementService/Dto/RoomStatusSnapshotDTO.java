@@ -0,0 +1,35 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+/**
+ * DTO sent on the status stream when a client connects without a usable resume token
+ * or falls too far behind: the status of every room for the date, as of the given sequence
+ */
+public class RoomStatusSnapshotDTO {
+
+    private long sequence;
+    private LocalDate date;
+    private Map<String, RoomStatus> statusByRoomNumber;
+
+    public RoomStatusSnapshotDTO() {}
+
+    public RoomStatusSnapshotDTO(long sequence, LocalDate date, Map<String, RoomStatus> statusByRoomNumber) {
+        this.sequence = sequence;
+        this.date = date;
+        this.statusByRoomNumber = statusByRoomNumber;
+    }
+
+    // Getters & Setters
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public Map<String, RoomStatus> getStatusByRoomNumber() { return statusByRoomNumber; }
+    public void setStatusByRoomNumber(Map<String, RoomStatus> statusByRoomNumber) { this.statusByRoomNumber = statusByRoomNumber; }
+}
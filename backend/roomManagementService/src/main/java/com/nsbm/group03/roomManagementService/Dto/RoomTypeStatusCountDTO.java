@@ -0,0 +1,34 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+// Row of a grouped count query: number of rooms per type (and status, when grouped by status)
+public class RoomTypeStatusCountDTO {
+
+    private RoomType roomType;
+    private RoomStatus status; // null for per-type totals
+    private long count;
+
+    public RoomTypeStatusCountDTO() {}
+
+    public RoomTypeStatusCountDTO(RoomType roomType, Long count) {
+        this(roomType, null, count);
+    }
+
+    public RoomTypeStatusCountDTO(RoomType roomType, RoomStatus status, Long count) {
+        this.roomType = roomType;
+        this.status = status;
+        this.count = count != null ? count : 0;
+    }
+
+    // Getters & Setters
+    public RoomType getRoomType() { return roomType; }
+    public void setRoomType(RoomType roomType) { this.roomType = roomType; }
+
+    public RoomStatus getStatus() { return status; }
+    public void setStatus(RoomStatus status) { this.status = status; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
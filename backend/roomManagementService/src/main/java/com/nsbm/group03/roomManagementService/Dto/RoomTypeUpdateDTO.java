@@ -0,0 +1,21 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import jakarta.validation.constraints.Min;
+
+// DTO for updating a room type (fields left null are not changed).
+// Image paths are not accepted from clients, since the image endpoint serves whatever file they name.
+public class RoomTypeUpdateDTO {
+
+    @Min(0)
+    private Double pricePerNight;
+
+    public RoomTypeUpdateDTO() {}
+
+    public RoomTypeUpdateDTO(Double pricePerNight) {
+        this.pricePerNight = pricePerNight;
+    }
+
+    // Getters & Setters
+    public Double getPricePerNight() { return pricePerNight; }
+    public void setPricePerNight(Double pricePerNight) { this.pricePerNight = pricePerNight; }
+}
@@ -12,6 +12,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Version;
 
 
 @Entity
@@ -33,6 +34,10 @@ public class Room {
     @Column(nullable = false)
     private RoomStatus status;   
 
+    // optimistic lock: bumped on every status change so concurrent updates cannot overwrite each other
+    @Version
+    private long version;
+
     // historical statuses, cascade operations ensure they follow the room lifecycle
     @OneToMany(mappedBy = "room", cascade = jakarta.persistence.CascadeType.ALL, orphanRemoval = true)
     private java.util.List<RoomStatusHistory> statusHistory = new java.util.ArrayList<>();
@@ -95,6 +100,14 @@ public class Room {
         this.status = status;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public java.util.List<RoomStatusHistory> getStatusHistory() {
         return statusHistory;
     }
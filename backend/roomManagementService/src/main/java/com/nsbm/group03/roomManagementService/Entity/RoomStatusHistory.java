@@ -12,11 +12,21 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
 
+// Indexes follow the repository access paths; RoomStatusHistoryQueryPlanTest checks that each query uses them
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_rsh_room_date", columnList = "room_id, date, changedAt"),      // room history by day / range
+    @Index(name = "idx_rsh_room_changed_at", columnList = "room_id, changedAt"),      // latest change of a room, history pages
+    @Index(name = "idx_rsh_date_status", columnList = "date, status"),                // all rooms on a date
+    @Index(name = "idx_rsh_status_date", columnList = "status, date"),                // rooms in a status
+    @Index(name = "idx_rsh_changed_at", columnList = "changedAt")                     // replay in change order
+})
 public class RoomStatusHistory {
     
     @Id
@@ -40,6 +50,10 @@ public class RoomStatusHistory {
     @Column(nullable = false)
     private LocalDateTime changedAt;
 
+    // client-supplied Idempotency-Key of the request that created this row; a repeated key returns this row
+    @Column(unique = true, length = 100)
+    private String idempotencyKey;
+
     public RoomStatusHistory() {
     }
 
@@ -101,6 +115,14 @@ public class RoomStatusHistory {
         this.changedAt = changedAt;
     }
 
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
     @PrePersist
     public void prePersist() {
         if (this.changedAt == null) {
@@ -0,0 +1,124 @@
+package com.nsbm.group03.roomManagementService.Entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+/**
+ * Cold tier of the room status history: the rows of one room for one calendar month,
+ * gzip-compressed into a single payload by RoomHistoryArchiveService.
+ * A month can have more than one chunk if rows for it are written after it was archived.
+ */
+@Entity
+@Table(name = "room_status_history_archive",
+        indexes = @Index(name = "idx_history_archive_room_period", columnList = "roomId, periodStart"))
+public class RoomStatusHistoryArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    // plain column rather than a relation, so archived rows do not load with the room
+    @Column(nullable = false)
+    private String roomId;
+
+    @Column(nullable = false)
+    private String roomNumber;
+
+    @Column(nullable = false)
+    private LocalDate periodStart; // first day of the archived month
+
+    @Column(nullable = false)
+    private int rowCount;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    public RoomStatusHistoryArchive() {
+    }
+
+    public RoomStatusHistoryArchive(String id, String roomId, String roomNumber, LocalDate periodStart, int rowCount,
+            LocalDateTime archivedAt, byte[] payload) {
+        this.id = id;
+        this.roomId = roomId;
+        this.roomNumber = roomNumber;
+        this.periodStart = periodStart;
+        this.rowCount = rowCount;
+        this.archivedAt = archivedAt;
+        this.payload = payload;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public void setRoomNumber(String roomNumber) {
+        this.roomNumber = roomNumber;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomStatusHistoryArchive [id=" + id + ", roomId=" + roomId + ", roomNumber=" + roomNumber
+                + ", periodStart=" + periodStart + ", rowCount=" + rowCount + ", archivedAt=" + archivedAt + "]";
+    }
+}
@@ -0,0 +1,11 @@
+package com.nsbm.group03.roomManagementService.Enum;
+
+// Result of one row of a bulk upload
+public enum BulkRowOutcome {
+    CREATED,
+    UPDATED,
+    EXISTS,
+    NOT_FOUND,
+    INVALID,
+    FAILED
+}
@@ -1,5 +1,6 @@
 package com.nsbm.group03.roomManagementService.Mapper;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -101,6 +102,13 @@ public class RoomMapper {
         return statusHistory;
     }
 
+    // Status of a room on a date as a RoomStatusHistoryDTO without change details (id, changedBy, changedAt),
+    // for lists served from the availability index
+    public static RoomStatusHistoryDTO toRoomStatusHistoryDTO(Room room, LocalDate date, RoomStatus status) {
+        if (room == null) return null;
+        return new RoomStatusHistoryDTO(null, room.getRoomNumber(), room.getRoomId(), date, status, null, null);
+    }
+
     // Alternative mapping for RoomStatusHistory from Status History with room number
     public static RoomAvailabilityDTO toRoomAvailabilityDTO(RoomStatusHistory statusHistory) {
         if (statusHistory == null) return null;
@@ -120,6 +128,13 @@ public class RoomMapper {
             .collect(Collectors.toList());
     }
 
+    // Batch mapping: List<Room> → List<RoomAvailabilityDTO>
+    public static List<RoomAvailabilityDTO> toRoomAvailabilityDTOList(List<Room> rooms) {
+        return rooms.stream()
+            .map(RoomMapper::toRoomAvailabilityDTO)
+            .collect(Collectors.toList());
+    }
+
     // Batch mapping: List<RoomStatusHistory> → List<RoomAvailabilityDTO>
     public static List<RoomAvailabilityDTO> toRoomAvailabilityDTOListFromHistory(List<RoomStatusHistory> statusHistories) {
         return statusHistories.stream()
@@ -134,4 +149,11 @@ public class RoomMapper {
             .collect(Collectors.toList());
     }
 
+    // Batch mapping: rooms with the same status on a date → List<RoomStatusHistoryDTO>
+    public static List<RoomStatusHistoryDTO> toRoomStatusHistoryDTOList(List<Room> rooms, LocalDate date, RoomStatus status) {
+        return rooms.stream()
+            .map(room -> toRoomStatusHistoryDTO(room, date, status))
+            .collect(Collectors.toList());
+    }
+
 }
@@ -1,11 +1,22 @@
 package com.nsbm.group03.roomManagementService.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.nsbm.group03.roomManagementService.Dto.RoomDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomTypeStatusCountDTO;
 import com.nsbm.group03.roomManagementService.Entity.Room;
 import com.nsbm.group03.roomManagementService.Enum.RoomType;
 
+import jakarta.persistence.LockModeType;
+
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, String> {
@@ -13,7 +24,34 @@ public interface RoomRepository extends JpaRepository<Room, String> {
     // Find room by room number
     Room findByRoomNumber(String roomNumber);
 
+    // Load a room for a status change; the row stays locked until the transaction ends and its version is
+    // incremented right away, so concurrent changes to the same room run one after the other. An optimistic
+    // force increment would only fail at commit, leaving Hibernate's pending increment behind on every rollback
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT r FROM Room r WHERE r.roomNumber = :roomNumber")
+    Room findByRoomNumberForStatusChange(@Param("roomNumber") String roomNumber);
+
     long countByRoomType(RoomType type);
 
+    // Load rooms for a bulk status change; every version is incremented on commit, so a concurrent
+    // change to any of them makes the commit fail
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT r FROM Room r WHERE r.roomNumber IN :roomNumbers")
+    List<Room> findByRoomNumberInForStatusChange(@Param("roomNumbers") Collection<String> roomNumbers);
+
+    // Which of the given room numbers already exist
+    @Query("SELECT r.roomNumber FROM Room r WHERE r.roomNumber IN :roomNumbers")
+    List<String> findExistingRoomNumbers(@Param("roomNumbers") Collection<String> roomNumbers);
+
+    // Number of rooms per type in one grouped query
+    @Query("SELECT new com.nsbm.group03.roomManagementService.Dto.RoomTypeStatusCountDTO(r.roomType, COUNT(r)) "
+            + "FROM Room r GROUP BY r.roomType")
+    List<RoomTypeStatusCountDTO> countRoomsGroupedByType();
+
+    // Keyset page of rooms ordered by room number, without loading the status history collection
+    @Query("SELECT new com.nsbm.group03.roomManagementService.Dto.RoomDTO(r.roomNumber, r.roomType, r.pricePerNight, r.capacity, r.status) "
+            + "FROM Room r WHERE r.roomNumber > :afterRoomNumber ORDER BY r.roomNumber")
+    List<RoomDTO> findRoomPage(@Param("afterRoomNumber") String afterRoomNumber, Limit limit);
+
 }
 
@@ -0,0 +1,28 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistoryArchive;
+
+
+@Repository
+public interface RoomStatusHistoryArchiveRepository extends JpaRepository<RoomStatusHistoryArchive, String> {
+
+    // Archive chunks of a room whose month starts within a range
+    List<RoomStatusHistoryArchive> findByRoomIdAndPeriodStartBetween(String roomId, LocalDate from, LocalDate to);
+
+    // Remove the archived history of a deleted room
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RoomStatusHistoryArchive a WHERE a.roomId = :roomId")
+    int deleteByRoomId(@Param("roomId") String roomId);
+
+}
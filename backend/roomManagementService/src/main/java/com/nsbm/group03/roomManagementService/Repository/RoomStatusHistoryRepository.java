@@ -1,13 +1,19 @@
 package com.nsbm.group03.roomManagementService.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusCountDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusEntryDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomTypeStatusCountDTO;
 import com.nsbm.group03.roomManagementService.Entity.Room;
 import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
 import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
@@ -37,10 +43,34 @@ public interface RoomStatusHistoryRepository extends JpaRepository<RoomStatusHis
     // Find all status history for a specific status on a specific date
     List<RoomStatusHistory> findByStatusAndDateOrderByChangedAtDesc(RoomStatus status, LocalDate date);
 
+    // Find the status change created by a request with this Idempotency-Key
+    RoomStatusHistory findByIdempotencyKey(String idempotencyKey);
+
+    // "Latest" means the greatest (changedAt, id), so rows of a room that tie on changedAt still have one winner:
+    // the MAX(changedAt) subquery picks the newest rows and the NOT EXISTS keeps the one with the greatest id
+
     // Find the latest status history for a specific room
-    @Query("SELECT rsh FROM RoomStatusHistory rsh WHERE rsh.room = :room ORDER BY rsh.changedAt DESC LIMIT 1")
+    @Query("SELECT rsh FROM RoomStatusHistory rsh WHERE rsh.room = :room ORDER BY rsh.changedAt DESC, rsh.id DESC LIMIT 1")
     RoomStatusHistory findLatestStatusByRoom(@Param("room") Room room);
 
+    // Count rooms per (type, latest status) in one grouped query instead of one findLatestStatusByRoom per room
+    @Query("SELECT new com.nsbm.group03.roomManagementService.Dto.RoomTypeStatusCountDTO(r.roomType, rsh.status, COUNT(rsh)) "
+            + "FROM RoomStatusHistory rsh JOIN rsh.room r "
+            + "WHERE rsh.changedAt = (SELECT MAX(h.changedAt) FROM RoomStatusHistory h WHERE h.room = rsh.room) "
+            + "AND NOT EXISTS (SELECT t FROM RoomStatusHistory t "
+            + "WHERE t.room = rsh.room AND t.changedAt = rsh.changedAt AND t.id > rsh.id) "
+            + "GROUP BY r.roomType, rsh.status")
+    List<RoomTypeStatusCountDTO> countLatestStatusGroupedByRoomType();
+
+    // Count rooms per status on a date, using each room's latest change for that date
+    @Query("SELECT new com.nsbm.group03.roomManagementService.Dto.RoomStatusCountDTO(rsh.status, COUNT(rsh)) "
+            + "FROM RoomStatusHistory rsh WHERE rsh.date = :date "
+            + "AND rsh.changedAt = (SELECT MAX(h.changedAt) FROM RoomStatusHistory h WHERE h.room = rsh.room AND h.date = :date) "
+            + "AND NOT EXISTS (SELECT t FROM RoomStatusHistory t "
+            + "WHERE t.room = rsh.room AND t.date = :date AND t.changedAt = rsh.changedAt AND t.id > rsh.id) "
+            + "GROUP BY rsh.status")
+    List<RoomStatusCountDTO> countLatestStatusByDate(@Param("date") LocalDate date);
+
     // Find all occupied rooms for a specific date
     @Query("SELECT rsh FROM RoomStatusHistory rsh WHERE rsh.date = :date AND rsh.status = 'OCCUPIED' ORDER BY rsh.changedAt DESC")
     List<RoomStatusHistory> findOccupiedRoomsByDate(@Param("date") LocalDate date);
@@ -56,4 +86,55 @@ public interface RoomStatusHistoryRepository extends JpaRepository<RoomStatusHis
     // Find all rooms in maintenance
     List<RoomStatusHistory> findByStatusOrderByDateDesc(RoomStatus status);
 
+    // (room, date, status) of every history row, oldest change first - used to build the availability index
+    @Query("SELECT new com.nsbm.group03.roomManagementService.Dto.RoomStatusEntryDTO(rsh.room.roomId, rsh.date, rsh.status) "
+            + "FROM RoomStatusHistory rsh ORDER BY rsh.changedAt ASC, rsh.id ASC")
+    List<RoomStatusEntryDTO> findAllStatusEntries();
+
+    // (room, date, status) of every history row dated within a range - used by bulk history generation
+    @Query("SELECT new com.nsbm.group03.roomManagementService.Dto.RoomStatusEntryDTO(rsh.room.roomId, rsh.date, rsh.status) "
+            + "FROM RoomStatusHistory rsh WHERE rsh.date BETWEEN :startDate AND :endDate")
+    List<RoomStatusEntryDTO> findStatusEntriesBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Same as above, limited to one room
+    @Query("SELECT new com.nsbm.group03.roomManagementService.Dto.RoomStatusEntryDTO(rsh.room.roomId, rsh.date, rsh.status) "
+            + "FROM RoomStatusHistory rsh WHERE rsh.room = :room AND rsh.date BETWEEN :startDate AND :endDate")
+    List<RoomStatusEntryDTO> findStatusEntriesForRoomBetween(@Param("room") Room room,
+            @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // ========== ARCHIVAL ==========
+
+    // Rooms that still have hot history rows dated before a day
+    @Query("SELECT DISTINCT rsh.room.roomId FROM RoomStatusHistory rsh WHERE rsh.date < :before")
+    List<String> findRoomIdsWithHistoryBefore(@Param("before") LocalDate before);
+
+    // Hot history rows of a room dated before a day
+    List<RoomStatusHistory> findByRoomAndDateBefore(Room room, LocalDate before);
+
+    // ========== KEYSET PAGES (DTO projections, newest change first) ==========
+
+    String HISTORY_DTO = "SELECT new com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryDTO("
+            + "rsh.id, r.roomNumber, r.roomId, rsh.date, rsh.status, rsh.changedBy, rsh.changedAt) "
+            + "FROM RoomStatusHistory rsh JOIN rsh.room r ";
+    String BEFORE_CURSOR = "AND (rsh.changedAt < :changedAt OR (rsh.changedAt = :changedAt AND rsh.id < :id)) ";
+    String NEWEST_FIRST = "ORDER BY rsh.changedAt DESC, rsh.id DESC";
+
+    // First page of a room's history
+    @Query(HISTORY_DTO + "WHERE rsh.room = :room " + NEWEST_FIRST)
+    List<RoomStatusHistoryDTO> findHistoryPageByRoom(@Param("room") Room room, Limit limit);
+
+    // Next page of a room's history, after the (changedAt, id) cursor
+    @Query(HISTORY_DTO + "WHERE rsh.room = :room " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<RoomStatusHistoryDTO> findHistoryPageByRoomAfter(@Param("room") Room room,
+            @Param("changedAt") LocalDateTime changedAt, @Param("id") String id, Limit limit);
+
+    // First page of all rooms' history for a date
+    @Query(HISTORY_DTO + "WHERE rsh.date = :date " + NEWEST_FIRST)
+    List<RoomStatusHistoryDTO> findHistoryPageByDate(@Param("date") LocalDate date, Limit limit);
+
+    // Next page of all rooms' history for a date, after the (changedAt, id) cursor
+    @Query(HISTORY_DTO + "WHERE rsh.date = :date " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<RoomStatusHistoryDTO> findHistoryPageByDateAfter(@Param("date") LocalDate date,
+            @Param("changedAt") LocalDateTime changedAt, @Param("id") String id, Limit limit);
+
 }
@@ -0,0 +1,445 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusEntryDTO;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+/**
+ * In-memory calendar of room statuses.
+ * Every room gets a small integer ordinal and every date keeps one bitset per RoomStatus,
+ * so "which rooms are AVAILABLE on date X" is a bitset lookup instead of a history query.
+ * RoomService builds it at startup and applies every status write to it.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private static final RoomStatus[] STATUSES = RoomStatus.values();
+    private static final RoomType[] TYPES = RoomType.values();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // roomId -> ordinal, and ordinal -> room (null once a room is removed)
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<Room> rooms = new ArrayList<>();
+
+    // room ordinals per RoomType, indexed by RoomType.ordinal()
+    private final BitSet[] roomsByType = newBitSets(TYPES.length);
+
+    // date -> bitset of room ordinals, indexed by RoomStatus.ordinal()
+    private final Map<LocalDate, BitSet[]> calendar = new HashMap<>();
+
+    // date -> room ordinal -> room version of the last versioned change applied for it
+    private final Map<LocalDate, Map<Integer, Long>> versions = new HashMap<>();
+
+    // number of status writes so far, so readers can tell whether a snapshot includes a given write
+    private long sequence = 0;
+
+    private volatile boolean ready = false;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replace the whole index. Entries must be ordered by changedAt ascending so that
+     * the latest change for a (room, date) wins.
+     */
+    public void rebuild(List<Room> allRooms, List<RoomStatusEntryDTO> entries) {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            rooms.clear();
+            calendar.clear();
+            versions.clear();
+            for (BitSet bits : roomsByType) {
+                bits.clear();
+            }
+
+            List<Room> sorted = new ArrayList<>(allRooms);
+            sorted.sort(Comparator.comparing(Room::getRoomNumber));
+            for (Room room : sorted) {
+                addRoom(room);
+            }
+            for (RoomStatusEntryDTO entry : entries) {
+                Integer ordinal = ordinals.get(entry.getRoomId());
+                if (ordinal != null) {
+                    set(ordinal, entry.getDate(), entry.getStatus());
+                }
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Add a room, or refresh the snapshot of one already indexed unless the indexed one is newer
+    public void registerRoom(Room room) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(room.getRoomId());
+            if (ordinal == null) {
+                addRoom(room);
+            } else if (room.getVersion() >= rooms.get(ordinal).getVersion()) {
+                rooms.set(ordinal, room);
+                setType(ordinal, room.getRoomType());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drop a room and clear its bits on every date; the ordinal is not reused
+    public void removeRoom(String roomId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(roomId);
+            if (ordinal == null) return;
+            rooms.set(ordinal, null);
+            setType(ordinal, null);
+            for (BitSet[] day : calendar.values()) {
+                for (BitSet bits : day) {
+                    bits.clear(ordinal);
+                }
+            }
+            for (Map<Integer, Long> day : versions.values()) {
+                day.remove(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Forget every date before the given one, e.g. once that history has been archived
+    public void dropDatesBefore(LocalDate date) {
+        lock.writeLock().lock();
+        try {
+            calendar.keySet().removeIf(day -> day.isBefore(date));
+            versions.keySet().removeIf(day -> day.isBefore(date));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Record the status of a room on a date (replaces any previous status for that date) and return the
+     * status it replaced, null if there was none or the room is not indexed. Both happen under one write
+     * lock, so concurrent changes of the same room each see the status the other one left.
+     */
+    public RoomStatus apply(String roomId, LocalDate date, RoomStatus status) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(roomId);
+            if (ordinal == null) return null;
+            BitSet[] day = calendar.get(date);
+            RoomStatus previous = day == null ? null : statusAt(day, ordinal);
+            set(ordinal, date, status);
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Like apply, for a committed change made at the given room version. After-commit updates of
+     * concurrent requests arrive in any order, so a change older than the last one applied for that
+     * room and date is ignored. Returns what happened, decided under the same write lock.
+     */
+    public Update apply(String roomId, LocalDate date, RoomStatus status, long version) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(roomId);
+            if (ordinal == null) return new Update(false, null, sequence);
+            Map<Integer, Long> dayVersions = versions.computeIfAbsent(date, d -> new HashMap<>());
+            Long applied = dayVersions.get(ordinal);
+            BitSet[] day = calendar.get(date);
+            RoomStatus previous = day == null ? null : statusAt(day, ordinal);
+            if (applied != null && applied > version) return new Update(false, previous, sequence);
+            dayVersions.put(ordinal, version);
+            set(ordinal, date, status);
+            return new Update(true, previous, sequence);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Status of a room on a date, or null if there is no history for it
+    public RoomStatus statusOf(String roomId, LocalDate date) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(roomId);
+            BitSet[] day = calendar.get(date);
+            if (ordinal == null || day == null) return null;
+            return statusAt(day, ordinal);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rooms with the given status on a date, in ordinal order (room number order as of the last rebuild)
+    public List<Room> roomsWithStatus(LocalDate date, RoomStatus status) {
+        lock.readLock().lock();
+        try {
+            List<Room> result = new ArrayList<>();
+            BitSet[] day = calendar.get(date);
+            if (day == null) return result;
+            BitSet bits = day[status.ordinal()];
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                result.add(rooms.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Status of every room on a date keyed by room number (null when there is no history)
+    public Map<String, RoomStatus> statusesOn(LocalDate date) {
+        lock.readLock().lock();
+        try {
+            Map<String, RoomStatus> result = new LinkedHashMap<>();
+            BitSet[] day = calendar.get(date);
+            for (int i = 0; i < rooms.size(); i++) {
+                Room room = rooms.get(i);
+                if (room != null) {
+                    result.put(room.getRoomNumber(), day == null ? null : statusAt(day, i));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rooms that are AVAILABLE on every night from checkIn (inclusive) to checkOut (exclusive),
+     * optionally restricted to a room type and a minimum capacity, in ordinal order.
+     * The per-night availability bitsets are ANDed together and the type filter is applied
+     * as one more AND before the matching rooms are materialised.
+     */
+    public List<Room> roomsAvailableForStay(LocalDate checkIn, LocalDate checkOut, RoomType type, Integer minCapacity) {
+        lock.readLock().lock();
+        try {
+            List<Room> result = new ArrayList<>();
+            if (!checkIn.isBefore(checkOut)) return result;
+            BitSet free = type != null ? (BitSet) roomsByType[type.ordinal()].clone() : null;
+            for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+                BitSet[] day = calendar.get(night);
+                if (day == null) return result; // no history for that night, nothing is known to be free
+                BitSet available = day[RoomStatus.AVAILABLE.ordinal()];
+                if (free == null) {
+                    free = (BitSet) available.clone();
+                } else {
+                    free.and(available);
+                }
+                if (free.isEmpty()) return result;
+            }
+            if (free == null) return result;
+            for (int i = free.nextSetBit(0); i >= 0; i = free.nextSetBit(i + 1)) {
+                Room room = rooms.get(i);
+                if (minCapacity == null || room.getCapacity() >= minCapacity) {
+                    result.add(room);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Number of rooms with the given status on a date
+    public int countWithStatus(LocalDate date, RoomStatus status) {
+        lock.readLock().lock();
+        try {
+            BitSet[] day = calendar.get(date);
+            return day == null ? 0 : day[status.ordinal()].cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Number of rooms with each status on a date, indexed by RoomStatus.ordinal(), read under one lock
+    public StatusCounts countsOn(LocalDate date) {
+        lock.readLock().lock();
+        try {
+            BitSet[] day = calendar.get(date);
+            int[] counts = new int[STATUSES.length];
+            if (day != null) {
+                for (RoomStatus status : STATUSES) {
+                    counts[status.ordinal()] = day[status.ordinal()].cardinality();
+                }
+            }
+            return new StatusCounts(counts, sequence);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int roomCount() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int dateCount() {
+        lock.readLock().lock();
+        try {
+            return calendar.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compare the index with the expected (date -> roomId -> status) view computed from the database.
+     * Returns the number of differences and adds up to maxSamples descriptions to the sink.
+     */
+    public int findMismatches(Map<LocalDate, Map<String, RoomStatus>> expected, List<String> sink, int maxSamples) {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (Map.Entry<LocalDate, Map<String, RoomStatus>> day : expected.entrySet()) {
+                for (Map.Entry<String, RoomStatus> entry : day.getValue().entrySet()) {
+                    Integer ordinal = ordinals.get(entry.getKey());
+                    if (ordinal == null) {
+                        if (count++ < maxSamples) {
+                            sink.add("room id " + entry.getKey() + " on " + day.getKey() + ": not indexed, db=" + entry.getValue());
+                        }
+                        continue;
+                    }
+                    BitSet[] bits = calendar.get(day.getKey());
+                    RoomStatus actual = bits == null ? null : statusAt(bits, ordinal);
+                    if (actual != entry.getValue()) {
+                        if (count++ < maxSamples) {
+                            sink.add(describe(ordinal, day.getKey()) + ": index=" + actual + ", db=" + entry.getValue());
+                        }
+                    }
+                }
+            }
+            // Entries present in the index but missing from the database
+            for (Map.Entry<LocalDate, BitSet[]> day : calendar.entrySet()) {
+                Map<String, RoomStatus> dbDay = expected.getOrDefault(day.getKey(), Map.of());
+                for (RoomStatus status : STATUSES) {
+                    BitSet bits = day.getValue()[status.ordinal()];
+                    for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                        if (!dbDay.containsKey(rooms.get(i).getRoomId())) {
+                            if (count++ < maxSamples) {
+                                sink.add(describe(i, day.getKey()) + ": index=" + status + ", db=null");
+                            }
+                        }
+                    }
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ----------------------- internals (caller holds the lock) -----------------------
+
+    private void addRoom(Room room) {
+        int ordinal = rooms.size();
+        ordinals.put(room.getRoomId(), ordinal);
+        rooms.add(room);
+        setType(ordinal, room.getRoomType());
+    }
+
+    private void setType(int ordinal, RoomType type) {
+        for (RoomType t : TYPES) {
+            roomsByType[t.ordinal()].set(ordinal, t == type);
+        }
+    }
+
+    private void set(int ordinal, LocalDate date, RoomStatus status) {
+        sequence++;
+        BitSet[] day = calendar.computeIfAbsent(date, d -> newBitSets(STATUSES.length));
+        for (RoomStatus s : STATUSES) {
+            day[s.ordinal()].set(ordinal, s == status);
+        }
+    }
+
+    private static BitSet[] newBitSets(int count) {
+        BitSet[] sets = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            sets[i] = new BitSet();
+        }
+        return sets;
+    }
+
+    private RoomStatus statusAt(BitSet[] day, int ordinal) {
+        for (RoomStatus s : STATUSES) {
+            if (day[s.ordinal()].get(ordinal)) return s;
+        }
+        return null;
+    }
+
+    private String describe(int ordinal, LocalDate date) {
+        Room room = rooms.get(ordinal);
+        return "room " + (room != null ? room.getRoomNumber() : "#" + ordinal) + " on " + date;
+    }
+
+    /**
+     * Outcome of a versioned apply: whether the change was applied, the status the room had before,
+     * and the index sequence number after it
+     */
+    public static class Update {
+        private final boolean applied;
+        private final RoomStatus previous;
+        private final long sequence;
+
+        public Update(boolean applied, RoomStatus previous, long sequence) {
+            this.applied = applied;
+            this.previous = previous;
+            this.sequence = sequence;
+        }
+
+        public boolean isApplied() {
+            return applied;
+        }
+
+        public RoomStatus getPrevious() {
+            return previous;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+    }
+
+    /**
+     * Per-status room counts for one date, as of the given index sequence number
+     */
+    public static class StatusCounts {
+        private final int[] counts;
+        private final long sequence;
+
+        public StatusCounts(int[] counts, long sequence) {
+            this.counts = counts;
+            this.sequence = sequence;
+        }
+
+        public int get(RoomStatus status) {
+            return counts[status.ordinal()];
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nsbm.group03.roomManagementService.Dto.BulkRowResultDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomCreateDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusUpdateDTO;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.BulkRowOutcome;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Mapper.RoomMapper;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Bulk room import and bulk status updates from an NDJSON or CSV upload.
+ * The upload is read line by line and handled in chunks of room.bulk.chunk-size rows; each chunk is
+ * written in one transaction, so Hibernate sends the room and history inserts as JDBC batches.
+ * Results are handed to the caller chunk by chunk, so neither the upload nor the results are held in
+ * memory as a whole. A chunk that fails to commit is retried row by row, so one bad row cannot
+ * fail its neighbours.
+ */
+@Service
+public class RoomBulkService {
+
+    // days of history generated for every imported room, as for rooms created one at a time
+    private static final int HISTORY_DAYS = 30;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomStatusHistoryRepository statusHistoryRepository;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomTypeService roomTypeService;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Value("${room.bulk.chunk-size:200}")
+    private int chunkSize;
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    // ========== BULK IMPORT ==========
+
+    /**
+     * Create rooms, with their generated status history, from an upload of RoomCreateDTO rows.
+     * CSV uploads need a header line naming the columns roomNumber, roomType, pricePerNight and capacity;
+     * an empty price or capacity falls back to the room type's.
+     */
+    public void importRooms(BufferedReader upload, Format format, Consumer<List<BulkRowResultDTO>> results) throws IOException {
+        readChunks(upload, format, RoomCreateDTO.class, this::roomFromCsv, chunk -> results.accept(importChunk(chunk)));
+    }
+
+    private List<BulkRowResultDTO> importChunk(List<BulkRow<RoomCreateDTO>> chunk) {
+        List<BulkRowResultDTO> results = new ArrayList<>();
+        Map<String, BulkRow<RoomCreateDTO>> pending = new LinkedHashMap<>();
+        for (BulkRow<RoomCreateDTO> row : chunk) {
+            String problem = row.error != null ? row.error : validate(row.value);
+            if (problem == null && pending.containsKey(row.value.getRoomNumber())) {
+                problem = "Room number appears more than once in the upload";
+            }
+            if (problem != null) {
+                results.add(row.result(BulkRowOutcome.INVALID, problem));
+            } else {
+                pending.put(row.value.getRoomNumber(), row);
+            }
+        }
+
+        // rooms from earlier chunks or earlier uploads
+        if (!pending.isEmpty()) {
+            for (String existing : roomRepository.findExistingRoomNumbers(pending.keySet())) {
+                results.add(pending.remove(existing).result(BulkRowOutcome.EXISTS, "Room already exists"));
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            List<BulkRow<RoomCreateDTO>> rows = new ArrayList<>(pending.values());
+            try {
+                createRooms(rows);
+                for (BulkRow<RoomCreateDTO> row : rows) {
+                    results.add(row.result(BulkRowOutcome.CREATED, null));
+                }
+            } catch (DataAccessException e) {
+                // e.g. a room number created concurrently; find the failing rows one by one
+                for (BulkRow<RoomCreateDTO> row : rows) {
+                    try {
+                        createRooms(List.of(row));
+                        results.add(row.result(BulkRowOutcome.CREATED, null));
+                    } catch (DataAccessException rowFailure) {
+                        results.add(row.result(BulkRowOutcome.FAILED, rowFailure.getMostSpecificCause().getMessage()));
+                    }
+                }
+            }
+        }
+
+        results.sort(Comparator.comparingLong(BulkRowResultDTO::getLine));
+        return results;
+    }
+
+    // Insert the rooms and their generated history in one transaction, then update the index
+    private void createRooms(List<BulkRow<RoomCreateDTO>> rows) {
+        List<Room> rooms = new ArrayList<>(rows.size());
+        for (BulkRow<RoomCreateDTO> row : rows) {
+            rooms.add(RoomMapper.toEntity(row.value));
+        }
+        List<RoomStatusHistory> history = new TransactionTemplate(transactionManager).execute(status -> {
+            roomRepository.saveAll(rooms);
+            LocalDate today = LocalDate.now();
+            List<RoomStatusHistory> generated = new ArrayList<>(rooms.size() * HISTORY_DAYS);
+            for (Room room : rooms) {
+                for (int i = 0; i < HISTORY_DAYS; i++) {
+                    generated.add(roomService.generatedHistory(room, today.plusDays(i)));
+                }
+            }
+            statusHistoryRepository.saveAll(generated);
+            return generated;
+        });
+        for (Room room : rooms) {
+            availabilityIndex.registerRoom(room);
+        }
+        roomService.recordGeneratedHistory(history);
+    }
+
+    private RoomCreateDTO roomFromCsv(Map<String, String> columns) {
+        RoomType type = RoomType.valueOf(required(columns, "roomType").toUpperCase());
+        String price = columns.get("pricePerNight");
+        String capacity = columns.get("capacity");
+        RoomTypeService.RoomTypeInfo typeInfo = roomTypeService.getRoomType(type);
+        return new RoomCreateDTO(
+                required(columns, "roomNumber"),
+                type,
+                price != null && !price.isEmpty() ? Double.parseDouble(price)
+                        : typeInfo != null ? typeInfo.getPricePerNight() : 0.0,
+                capacity != null && !capacity.isEmpty() ? Integer.parseInt(capacity)
+                        : typeInfo != null ? typeInfo.getCapacity() : 1);
+    }
+
+    // ========== BULK STATUS UPDATE ==========
+
+    /**
+     * Change today's status of many rooms from an upload of RoomStatusUpdateDTO rows.
+     * CSV uploads need a header line naming the columns roomNumber, status and (optionally) changedBy.
+     * Rows of a chunk are applied in upload order, so the last row of a room wins.
+     */
+    public void updateStatuses(BufferedReader upload, Format format, Consumer<List<BulkRowResultDTO>> results) throws IOException {
+        readChunks(upload, format, RoomStatusUpdateDTO.class, this::statusFromCsv, chunk -> results.accept(updateChunk(chunk)));
+    }
+
+    private List<BulkRowResultDTO> updateChunk(List<BulkRow<RoomStatusUpdateDTO>> chunk) {
+        List<BulkRowResultDTO> results = new ArrayList<>();
+        List<BulkRow<RoomStatusUpdateDTO>> valid = new ArrayList<>();
+        for (BulkRow<RoomStatusUpdateDTO> row : chunk) {
+            String problem = row.error != null ? row.error : validate(row.value);
+            if (problem != null) {
+                results.add(row.result(BulkRowOutcome.INVALID, problem));
+            } else {
+                valid.add(row);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            try {
+                results.addAll(changeStatuses(valid));
+            } catch (DataAccessException e) {
+                // a room changed concurrently; fall back to single, retried status changes
+                for (BulkRow<RoomStatusUpdateDTO> row : valid) {
+                    results.add(changeStatus(row));
+                }
+            }
+        }
+
+        results.sort(Comparator.comparingLong(BulkRowResultDTO::getLine));
+        return results;
+    }
+
+    // Apply the rows in one transaction; the rooms are loaded with a forced version increment, so a
+    // concurrent change to any of them fails the commit and the chunk falls back to single changes
+    private List<BulkRowResultDTO> changeStatuses(List<BulkRow<RoomStatusUpdateDTO>> rows) {
+        List<BulkRowResultDTO> results = new ArrayList<>(rows.size());
+        List<RoomStatusHistory> saved = new TransactionTemplate(transactionManager).execute(status -> {
+            Set<String> numbers = new HashSet<>();
+            for (BulkRow<RoomStatusUpdateDTO> row : rows) {
+                numbers.add(row.value.getRoomNumber());
+            }
+            Map<String, Room> rooms = new HashMap<>();
+            for (Room room : roomRepository.findByRoomNumberInForStatusChange(numbers)) {
+                rooms.put(room.getRoomNumber(), room);
+            }
+
+            LocalDate today = LocalDate.now();
+            List<RoomStatusHistory> changes = new ArrayList<>(rows.size());
+            for (BulkRow<RoomStatusUpdateDTO> row : rows) {
+                Room room = rooms.get(row.value.getRoomNumber());
+                if (room == null) {
+                    results.add(row.result(BulkRowOutcome.NOT_FOUND, "Room not found"));
+                    continue;
+                }
+                room.setStatus(row.value.getStatus());
+                RoomStatusHistory history = new RoomStatusHistory();
+                history.setRoom(room);
+                history.setDate(today);
+                history.setStatus(row.value.getStatus());
+                history.setChangedBy(changedBy(row.value));
+                history.setChangedAt(LocalDateTime.now());
+                changes.add(history);
+                results.add(row.result(BulkRowOutcome.UPDATED, null));
+            }
+            statusHistoryRepository.saveAll(changes);
+            return changes;
+        });
+        for (RoomStatusHistory history : saved) {
+            roomService.afterStatusChange(history);
+        }
+        return results;
+    }
+
+    private BulkRowResultDTO changeStatus(BulkRow<RoomStatusUpdateDTO> row) {
+        try {
+            roomService.updateRoomStatus(row.value.getRoomNumber(), row.value.getStatus(), changedBy(row.value));
+            return row.result(BulkRowOutcome.UPDATED, null);
+        } catch (RuntimeException e) {
+            return row.result(BulkRowOutcome.FAILED, e.getMessage());
+        }
+    }
+
+    private String changedBy(RoomStatusUpdateDTO update) {
+        return update.getChangedBy() != null && !update.getChangedBy().isBlank() ? update.getChangedBy() : "ADMIN";
+    }
+
+    private RoomStatusUpdateDTO statusFromCsv(Map<String, String> columns) {
+        String changedBy = columns.get("changedBy");
+        return new RoomStatusUpdateDTO(
+                required(columns, "roomNumber"),
+                RoomStatus.valueOf(required(columns, "status").toUpperCase()),
+                changedBy != null && !changedBy.isEmpty() ? changedBy : null);
+    }
+
+    // ========== UPLOAD PARSING ==========
+
+    // Read the upload and pass it on chunkSize rows at a time; blank lines are skipped
+    private <T> void readChunks(BufferedReader upload, Format format, Class<T> type,
+                                Function<Map<String, String>, T> fromCsv,
+                                Consumer<List<BulkRow<T>>> handler) throws IOException {
+        String[] header = null;
+        List<BulkRow<T>> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = upload.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) continue;
+            if (format == Format.CSV && header == null) {
+                header = splitCsv(line);
+                continue;
+            }
+            chunk.add(format == Format.CSV
+                    ? parseCsv(lineNumber, line, header, fromCsv)
+                    : parseJson(lineNumber, line, type));
+            if (chunk.size() >= chunkSize) {
+                handler.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            handler.accept(chunk);
+        }
+    }
+
+    private <T> BulkRow<T> parseJson(long lineNumber, String line, Class<T> type) {
+        try {
+            return new BulkRow<>(lineNumber, jsonMapper.readValue(line, type), null);
+        } catch (JacksonException e) {
+            return new BulkRow<>(lineNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private <T> BulkRow<T> parseCsv(long lineNumber, String line, String[] header, Function<Map<String, String>, T> fromCsv) {
+        String[] values = splitCsv(line);
+        if (values.length > header.length) {
+            return new BulkRow<>(lineNumber, null, "Expected " + header.length + " columns but found " + values.length);
+        }
+        Map<String, String> columns = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            columns.put(header[i], values[i]);
+        }
+        try {
+            return new BulkRow<>(lineNumber, fromCsv.apply(columns), null);
+        } catch (IllegalArgumentException e) {
+            return new BulkRow<>(lineNumber, null, "Invalid value: " + e.getMessage());
+        }
+    }
+
+    // Plain comma separated values; room data never needs quoting
+    private String[] splitCsv(String line) {
+        String[] values = line.split(",", -1);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = values[i].trim();
+        }
+        return values;
+    }
+
+    private String required(Map<String, String> columns, String name) {
+        String value = columns.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private String validate(Object value) {
+        Set<? extends ConstraintViolation<?>> violations = validator.validate(value);
+        if (violations.isEmpty()) return null;
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // One parsed line of an upload: either a value or the reason it could not be parsed
+    private static class BulkRow<T> {
+        private final long line;
+        private final T value;
+        private final String error;
+
+        BulkRow(long line, T value, String error) {
+            this.line = line;
+            this.value = value;
+            this.error = error;
+        }
+
+        BulkRowResultDTO result(BulkRowOutcome outcome, String message) {
+            String roomNumber = null;
+            if (value instanceof RoomCreateDTO room) {
+                roomNumber = room.getRoomNumber();
+            } else if (value instanceof RoomStatusUpdateDTO update) {
+                roomNumber = update.getRoomNumber();
+            }
+            return new BulkRowResultDTO(line, roomNumber, outcome, message);
+        }
+    }
+}
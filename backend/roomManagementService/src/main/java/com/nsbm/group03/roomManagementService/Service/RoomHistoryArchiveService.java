@@ -0,0 +1,174 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistoryArchive;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryArchiveRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+
+/**
+ * Hot/cold split of the room status history.
+ * RoomStatusHistory (hot) keeps the recent months that the status and availability queries use.
+ * Whole months older than room.history.archive.horizon-days are moved, one room at a time, into
+ * room_status_history_archive (cold) as one gzip-compressed chunk per room and month.
+ */
+@Service
+public class RoomHistoryArchiveService {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomStatusHistoryRepository statusHistoryRepository;
+
+    @Autowired
+    private RoomStatusHistoryArchiveRepository archiveRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // days of history kept in the hot table (rounded down to the start of that month)
+    @Value("${room.history.archive.horizon-days:365}")
+    private int horizonDays;
+
+    // First date that stays in the hot table; everything before it is archived
+    public LocalDate archiveCutoff() {
+        return LocalDate.now().minusDays(horizonDays).withDayOfMonth(1);
+    }
+
+    // Runs every night after the history refresh
+    @Scheduled(cron = "${room.history.archive.cron:0 30 0 * * *}")
+    public void archiveOldHistory() {
+        long start = System.currentTimeMillis();
+        LocalDate cutoff = archiveCutoff();
+        int moved = archiveBefore(cutoff);
+        System.out.println("Archived " + moved + " status history rows dated before " + cutoff
+                + " in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Move all hot rows dated before the cutoff into the archive.
+     * Each room is moved in its own transaction, so a failure leaves the other rooms archived
+     * and the failed room untouched.
+     */
+    public int archiveBefore(LocalDate cutoff) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int moved = 0;
+        for (String roomId : statusHistoryRepository.findRoomIdsWithHistoryBefore(cutoff)) {
+            Integer rows = transaction.execute(status -> archiveRoom(roomId, cutoff));
+            moved += rows != null ? rows : 0;
+        }
+        // archived dates are no longer in the hot table the index is checked against
+        availabilityIndex.dropDatesBefore(cutoff);
+        return moved;
+    }
+
+    /**
+     * Archived rows of a room dated between startDate and endDate (inclusive), as detached
+     * RoomStatusHistory objects
+     */
+    public List<RoomStatusHistory> findArchived(Room room, LocalDate startDate, LocalDate endDate) {
+        List<RoomStatusHistory> result = new ArrayList<>();
+        for (RoomStatusHistoryArchive chunk : archiveRepository.findByRoomIdAndPeriodStartBetween(
+                room.getRoomId(), startDate.withDayOfMonth(1), endDate)) {
+            for (RoomStatusHistory row : decode(chunk.getPayload(), room)) {
+                if (!row.getDate().isBefore(startDate) && !row.getDate().isAfter(endDate)) {
+                    result.add(row);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Drop the archived history of a room that is being deleted
+    public void deleteArchive(String roomId) {
+        archiveRepository.deleteByRoomId(roomId);
+    }
+
+    private int archiveRoom(String roomId, LocalDate cutoff) {
+        Room room = roomRepository.findById(roomId).orElse(null);
+        if (room == null) return 0;
+        List<RoomStatusHistory> rows = statusHistoryRepository.findByRoomAndDateBefore(room, cutoff);
+        if (rows.isEmpty()) return 0;
+
+        Map<LocalDate, List<RoomStatusHistory>> byMonth = new TreeMap<>();
+        for (RoomStatusHistory row : rows) {
+            byMonth.computeIfAbsent(row.getDate().withDayOfMonth(1), m -> new ArrayList<>()).add(row);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<RoomStatusHistoryArchive> chunks = new ArrayList<>();
+        for (Map.Entry<LocalDate, List<RoomStatusHistory>> month : byMonth.entrySet()) {
+            chunks.add(new RoomStatusHistoryArchive(null, roomId, room.getRoomNumber(), month.getKey(),
+                    month.getValue().size(), now, encode(month.getValue())));
+        }
+        archiveRepository.saveAll(chunks);
+        statusHistoryRepository.deleteAllInBatch(rows);
+        return rows.size();
+    }
+
+    // ----------------------- payload format -----------------------
+    // gzip( count, then per row: id, date (epoch day), status, changedBy, changedAt )
+
+    private byte[] encode(List<RoomStatusHistory> rows) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(rows.size());
+            for (RoomStatusHistory row : rows) {
+                out.writeUTF(row.getId());
+                out.writeLong(row.getDate().toEpochDay());
+                out.writeUTF(row.getStatus().name());
+                out.writeUTF(row.getChangedBy());
+                out.writeUTF(row.getChangedAt().toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<RoomStatusHistory> decode(byte[] payload, Room room) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(payload)))) {
+            int count = in.readInt();
+            List<RoomStatusHistory> rows = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                rows.add(new RoomStatusHistory(
+                        in.readUTF(),
+                        room,
+                        LocalDate.ofEpochDay(in.readLong()),
+                        RoomStatus.valueOf(in.readUTF()),
+                        in.readUTF(),
+                        LocalDateTime.parse(in.readUTF())));
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,24 +1,59 @@
 package com.nsbm.group03.roomManagementService.Service;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.retry.RetryException;
+import org.springframework.core.retry.RetryPolicy;
+import org.springframework.core.retry.RetryTemplate;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.nsbm.group03.roomManagementService.Entity.Room;
 import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
-import com.nsbm.group03.roomManagementService.Entity.RoomTypeEntity;
 import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
 import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Dto.CursorPage;
+import com.nsbm.group03.roomManagementService.Dto.HistoryCursor;
+import com.nsbm.group03.roomManagementService.Dto.IndexConsistencyDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomCountDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusEntryDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomTypeStatusCountDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomTypeSummaryDTO;
 import com.nsbm.group03.roomManagementService.Dto.StatisticsDTO;
 import com.nsbm.group03.roomManagementService.Dto.StatisticsByTypeDTO;
+import com.nsbm.group03.roomManagementService.Mapper.RoomMapper;
 import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
 import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
-import com.nsbm.group03.roomManagementService.Repository.RoomTypeRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class RoomService {
@@ -29,9 +64,79 @@ public class RoomService {
     private RoomStatusHistoryRepository statusHistoryRepository;
 
     @Autowired
-    private RoomTypeRepository roomTypeRepository;
+    private RoomTypeService roomTypeService;
+
+    @Autowired
+    private RoomHistoryArchiveService historyArchiveService;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private RoomStatisticsCache statisticsCache;
+
+    @Autowired
+    private RoomStatusEventPublisher statusEventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // number of history rows written per transaction / JDBC batch
+    @Value("${room.history.batch-size:500}")
+    private int historyBatchSize;
+
+    // page sizes for the paginated list endpoints
+    @Value("${room.pagination.default-page-size:500}")
+    private int defaultPageSize;
+
+    @Value("${room.pagination.max-page-size:1000}")
+    private int maxPageSize;
+
+    // retries of a status change that lost a race with a concurrent change to the same room
+    @Value("${room.status.retry.max-retries:8}")
+    private int statusRetryMaxRetries;
+
+    @Value("${room.status.retry.delay:10ms}")
+    private Duration statusRetryDelay;
+
+    @Value("${room.status.retry.max-delay:500ms}")
+    private Duration statusRetryMaxDelay;
+
+    private TransactionTemplate transactionTemplate;
+    private RetryTemplate statusRetryTemplate;
+
+    private Timer historyRefreshTimer;
+    private Counter historyRowsCounter;
+    private final AtomicLong historyRefreshRowsPerSecond = new AtomicLong();
+
+    @PostConstruct
+    void registerMetrics() {
+        historyRefreshTimer = Timer.builder("room.history.refresh")
+                .description("Duration of the scheduled room status history refresh")
+                .register(meterRegistry);
+        historyRowsCounter = Counter.builder("room.history.rows.generated")
+                .description("Room status history rows generated by the system")
+                .register(meterRegistry);
+        meterRegistry.gauge("room.history.refresh.rows.per.second", historyRefreshRowsPerSecond);
+    }
+
+    @PostConstruct
+    void configureStatusChanges() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // exponential backoff with jitter so colliding requests do not retry in lockstep
+        statusRetryTemplate = new RetryTemplate(RetryPolicy.builder()
+                .includes(OptimisticLockingFailureException.class, PessimisticLockingFailureException.class)
+                .maxRetries(statusRetryMaxRetries)
+                .delay(statusRetryDelay)
+                .multiplier(2)
+                .maxDelay(statusRetryMaxDelay)
+                .jitter(statusRetryDelay)
+                .build());
+    }
 
-    
 
     // ========== ROOM MANAGEMENT ==========
 
@@ -45,7 +150,10 @@ public class RoomService {
         if (room.getStatus() == null) {
             room.setStatus(RoomStatus.AVAILABLE);
         }
-        return roomRepository.save(room);        
+        Room saved = roomRepository.save(room);
+        availabilityIndex.registerRoom(saved);
+        statisticsCache.invalidate();
+        return saved;
     }
 
     // Create a room and automatically populate 30 days of random status history
@@ -59,6 +167,7 @@ public class RoomService {
             room.setStatus(RoomStatus.AVAILABLE);
         }
         Room saved = roomRepository.save(room);
+        availabilityIndex.registerRoom(saved);
         generateHistoryForRoom(saved, 30);
         System.out.println("Generated history for room " + saved.getRoomNumber());
         return saved;
@@ -69,6 +178,9 @@ public class RoomService {
         Room room = getRoomByNumber(roomNumber);
         if (room != null) {
             roomRepository.delete(room);
+            historyArchiveService.deleteArchive(room.getRoomId());
+            availabilityIndex.removeRoom(room.getRoomId());
+            statisticsCache.invalidate();
             System.out.println("Deleted room " + roomNumber + " and its history");
         }
     }
@@ -92,6 +204,9 @@ public class RoomService {
         Room room = getRoomByNumber(roomNumber);
         if (room != null) {
             roomRepository.delete(room);
+            historyArchiveService.deleteArchive(room.getRoomId());
+            availabilityIndex.removeRoom(room.getRoomId());
+            statisticsCache.invalidate();
         }
     }
 
@@ -99,96 +214,239 @@ public class RoomService {
 
     // Update room status and create status history
     public RoomStatusHistory updateRoomStatus(String roomNumber, RoomStatus newStatus, String changedBy) {
-        Room room = getRoomByNumber(roomNumber);
-        if (room == null) {
-            throw new RuntimeException("Room with number " + roomNumber + " not found");
-        }
-
-        // Update the room status
-        room.setStatus(newStatus);
-        roomRepository.save(room);
-
-        // Create status history record
-        RoomStatusHistory statusHistory = new RoomStatusHistory();
-        statusHistory.setRoom(room);
-        statusHistory.setStatus(newStatus);
-        statusHistory.setDate(LocalDate.now());
-        statusHistory.setChangedBy(changedBy);
-        statusHistory.setChangedAt(LocalDateTime.now());
+        return updateRoomStatus(roomNumber, newStatus, changedBy, null);
+    }
 
-        return statusHistoryRepository.save(statusHistory);
+    /**
+     * Update room status and create its status history row in one transaction.
+     * Concurrent changes to the same room wait for its row lock, which also bumps the room version;
+     * lock timeouts and deadlocks are retried with backoff. With an idempotency key, a repeated request returns the history row of the
+     * first one instead of recording the change again.
+     */
+    public RoomStatusHistory updateRoomStatus(String roomNumber, RoomStatus newStatus, String changedBy, String idempotencyKey) {
+        return changeStatus(roomNumber, newStatus, LocalDate.now(), true, changedBy, idempotencyKey);
     }
 
     // Update room status for a specific date
     public RoomStatusHistory updateRoomStatusForDate(String roomNumber, RoomStatus newStatus, LocalDate date, String changedBy) {
-        Room room = getRoomByNumber(roomNumber);
+        return updateRoomStatusForDate(roomNumber, newStatus, date, changedBy, null);
+    }
+
+    /**
+     * Record the status of a room for a specific date, the same way as updateRoomStatus: one transaction
+     * that bumps the room version, retried on conflicts, idempotent with a key. The room's own status
+     * is left as it is.
+     */
+    public RoomStatusHistory updateRoomStatusForDate(String roomNumber, RoomStatus newStatus, LocalDate date, String changedBy,
+                                                     String idempotencyKey) {
+        return changeStatus(roomNumber, newStatus, date, false, changedBy, idempotencyKey);
+    }
+
+    // currentStatus: also set the room's own status, not just its history for the date
+    private RoomStatusHistory changeStatus(String roomNumber, RoomStatus newStatus, LocalDate date, boolean currentStatus,
+                                           String changedBy, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            RoomStatusHistory previous = statusHistoryRepository.findByIdempotencyKey(idempotencyKey);
+            if (previous != null) {
+                return previous;
+            }
+        }
+
+        StatusChange change;
+        try {
+            change = statusRetryTemplate.execute(() -> transactionTemplate.execute(
+                    tx -> writeStatusChange(roomNumber, newStatus, date, currentStatus, changedBy, idempotencyKey)));
+        } catch (RetryException e) {
+            Throwable cause = e.getCause();
+            if (idempotencyKey != null && cause instanceof DataIntegrityViolationException) {
+                // a concurrent request with the same key committed first
+                RoomStatusHistory winner = statusHistoryRepository.findByIdempotencyKey(idempotencyKey);
+                if (winner != null) {
+                    return winner;
+                }
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Status change for room " + roomNumber + " failed", cause);
+        }
+
+        if (!change.replayed) {
+            // only after commit, so retried attempts never reach the index or the event stream
+            afterStatusChange(change.history);
+        }
+        return change.history;
+    }
+
+    /**
+     * Propagate a committed status change of a room to the availability index, statistics and event stream.
+     * Concurrent requests get here in any order after their commits, so the room version carried by the
+     * change decides: a change older than one already applied to the room is not counted or published.
+     */
+    void afterStatusChange(RoomStatusHistory saved) {
+        Room room = saved.getRoom();
+        availabilityIndex.registerRoom(room);
+        boolean tracked = availabilityIndex.isReady();
+        RoomAvailabilityIndex.Update update =
+                availabilityIndex.apply(room.getRoomId(), saved.getDate(), saved.getStatus(), room.getVersion());
+        if (!update.isApplied()) return;
+        recordStatusChange(tracked, saved.getDate(), update.getPrevious(), saved.getStatus(), update.getSequence());
+        statusEventPublisher.publish(RoomMapper.toRoomStatusHistoryDTO(saved), room.getVersion());
+    }
+
+    // One attempt of a status change, run inside a transaction
+    private StatusChange writeStatusChange(String roomNumber, RoomStatus newStatus, LocalDate date, boolean currentStatus,
+                                           String changedBy, String idempotencyKey) {
+        Room room = roomRepository.findByRoomNumberForStatusChange(roomNumber);
         if (room == null) {
             throw new RuntimeException("Room with number " + roomNumber + " not found");
         }
 
+        // checked under the room lock, so a duplicate that waited for it sees the row its twin committed
+        if (idempotencyKey != null) {
+            RoomStatusHistory previous = statusHistoryRepository.findByIdempotencyKey(idempotencyKey);
+            if (previous != null) {
+                return new StatusChange(previous, true);
+            }
+        }
+
+        // Update the room status; the version is bumped by the lock either way
+        if (currentStatus) {
+            room.setStatus(newStatus);
+        }
+
+        // Create status history record
         RoomStatusHistory statusHistory = new RoomStatusHistory();
         statusHistory.setRoom(room);
         statusHistory.setStatus(newStatus);
         statusHistory.setDate(date);
         statusHistory.setChangedBy(changedBy);
         statusHistory.setChangedAt(LocalDateTime.now());
+        statusHistory.setIdempotencyKey(idempotencyKey);
 
-        return statusHistoryRepository.save(statusHistory);
+        return new StatusChange(statusHistoryRepository.save(statusHistory), false);
+    }
+
+    private void recordStatusChange(boolean tracked, LocalDate date, RoomStatus previous, RoomStatus newStatus, long sequence) {
+        if (tracked) {
+            statisticsCache.recordStatusChange(date, previous, newStatus, sequence);
+        } else {
+            statisticsCache.invalidate();
+        }
     }
 
     // Mark room as occupied (when guest checks in)
     public RoomStatusHistory checkInRoom(String roomNumber, String changedBy) {
-        return updateRoomStatus(roomNumber, RoomStatus.OCCUPIED, changedBy);
+        return checkInRoom(roomNumber, changedBy, null);
+    }
+
+    public RoomStatusHistory checkInRoom(String roomNumber, String changedBy, String idempotencyKey) {
+        return updateRoomStatus(roomNumber, RoomStatus.OCCUPIED, changedBy, idempotencyKey);
     }
 
     // Mark room as available (when guest checks out)
     public RoomStatusHistory checkOutRoom(String roomNumber, String changedBy) {
-        return updateRoomStatus(roomNumber, RoomStatus.AVAILABLE, changedBy);
+        return checkOutRoom(roomNumber, changedBy, null);
+    }
+
+    public RoomStatusHistory checkOutRoom(String roomNumber, String changedBy, String idempotencyKey) {
+        return updateRoomStatus(roomNumber, RoomStatus.AVAILABLE, changedBy, idempotencyKey);
     }
 
     // Mark room for maintenance
     public RoomStatusHistory markRoomForMaintenance(String roomNumber, String changedBy) {
-        return updateRoomStatus(roomNumber, RoomStatus.MAINTENANCE, changedBy);
+        return markRoomForMaintenance(roomNumber, changedBy, null);
+    }
+
+    public RoomStatusHistory markRoomForMaintenance(String roomNumber, String changedBy, String idempotencyKey) {
+        return updateRoomStatus(roomNumber, RoomStatus.MAINTENANCE, changedBy, idempotencyKey);
     }
 
     // Mark room as available after maintenance
     public RoomStatusHistory markRoomAvailableAfterMaintenance(String roomNumber, String changedBy) {
-        return updateRoomStatus(roomNumber, RoomStatus.AVAILABLE, changedBy);
+        return markRoomAvailableAfterMaintenance(roomNumber, changedBy, null);
+    }
+
+    public RoomStatusHistory markRoomAvailableAfterMaintenance(String roomNumber, String changedBy, String idempotencyKey) {
+        return updateRoomStatus(roomNumber, RoomStatus.AVAILABLE, changedBy, idempotencyKey);
     }
 
     // ========== ROOM STATUS QUERIES ==========
 
     // Get only available rooms
-    public List<RoomStatusHistory> getAvailableRooms() {
-        LocalDate today = LocalDate.now();
-        return statusHistoryRepository.findAvailableRoomsByDate(today);
+    public List<Room> getAvailableRooms() {
+        return getAvailableRoomsByDate(LocalDate.now());
+    }
+
+    // Get available rooms for a specific date (served from the availability index once it is built)
+    public List<Room> getAvailableRoomsByDate(LocalDate date) {
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.roomsWithStatus(date, RoomStatus.AVAILABLE);
+        }
+        return statusHistoryRepository.findAvailableRoomsByDate(date).stream()
+                .map(RoomStatusHistory::getRoom)
+                .distinct()
+                .toList();
     }
 
-    // Get available rooms for a specific date
-    public List<RoomStatusHistory> getAvailableRoomsByDate(LocalDate date) {
-        return statusHistoryRepository.findAvailableRoomsByDate(date);
+    /**
+     * Get rooms that are available on every night of a stay (check-out date exclusive),
+     * optionally filtered by room type and minimum capacity
+     */
+    public List<Room> getAvailableRoomsForStay(LocalDate checkIn, LocalDate checkOut, RoomType type, Integer minCapacity) {
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.roomsAvailableForStay(checkIn, checkOut, type, minCapacity);
+        }
+
+        // Fallback before the index is built: intersect the per-night results by room id
+        Map<String, Room> free = null;
+        for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+            Map<String, Room> tonight = new LinkedHashMap<>();
+            for (Room room : getAvailableRoomsByDate(night)) {
+                if (free == null || free.containsKey(room.getRoomId())) {
+                    tonight.put(room.getRoomId(), room);
+                }
+            }
+            free = tonight;
+            if (free.isEmpty()) break;
+        }
+        if (free == null) return List.of();
+        return free.values().stream()
+                .filter(room -> type == null || room.getRoomType() == type)
+                .filter(room -> minCapacity == null || room.getCapacity() >= minCapacity)
+                .toList();
     }
 
     // Get occupied rooms for today
-    public List<RoomStatusHistory> getOccupiedRooms() {
-        LocalDate today = LocalDate.now();
-        return statusHistoryRepository.findOccupiedRoomsByDate(today);
+    public List<Room> getOccupiedRooms() {
+        return getOccupiedRoomsByDate(LocalDate.now());
     }
 
-    // Get occupied rooms for a specific date
-    public List<RoomStatusHistory> getOccupiedRoomsByDate(LocalDate date) {
-        return statusHistoryRepository.findOccupiedRoomsByDate(date);
+    // Get occupied rooms for a specific date (served from the availability index once it is built)
+    public List<Room> getOccupiedRoomsByDate(LocalDate date) {
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.roomsWithStatus(date, RoomStatus.OCCUPIED);
+        }
+        return statusHistoryRepository.findOccupiedRoomsByDate(date).stream()
+                .map(RoomStatusHistory::getRoom)
+                .distinct()
+                .toList();
     }
 
     // Get maintenance rooms for today
-    public List<RoomStatusHistory> getMaintenanceRooms() {
-        LocalDate today = LocalDate.now();
-        return statusHistoryRepository.findMaintenanceRoomsByDate(today);
+    public List<Room> getMaintenanceRooms() {
+        return getMaintenanceRoomsByDate(LocalDate.now());
     }
 
-    // Get maintenance rooms for a specific date
-    public List<RoomStatusHistory> getMaintenanceRoomsByDate(LocalDate date) {
-        return statusHistoryRepository.findMaintenanceRoomsByDate(date);
+    // Get maintenance rooms for a specific date (served from the availability index once it is built)
+    public List<Room> getMaintenanceRoomsByDate(LocalDate date) {
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.roomsWithStatus(date, RoomStatus.MAINTENANCE);
+        }
+        return statusHistoryRepository.findMaintenanceRoomsByDate(date).stream()
+                .map(RoomStatusHistory::getRoom)
+                .distinct()
+                .toList();
     }
 
     // ========== ROOM STATUS HISTORY QUERIES ==========
@@ -211,13 +469,20 @@ public class RoomService {
         return statusHistoryRepository.findByRoomAndDate(room, date);
     }
 
-    // Get status history for a room within a date range
+    // Get status history for a room within a date range, from both the hot table and the archive
     public List<RoomStatusHistory> getRoomStatusHistoryByDateRange(String roomNumber, LocalDate startDate, LocalDate endDate) {
         Room room = getRoomByNumber(roomNumber);
         if (room == null) {
             throw new RuntimeException("Room with number " + roomNumber + " not found");
         }
-        return statusHistoryRepository.findByRoomAndDateBetweenOrderByDateDesc(room, startDate, endDate);
+        List<RoomStatusHistory> history = new ArrayList<>(
+                statusHistoryRepository.findByRoomAndDateBetweenOrderByDateDesc(room, startDate, endDate));
+        List<RoomStatusHistory> archived = historyArchiveService.findArchived(room, startDate, endDate);
+        if (!archived.isEmpty()) {
+            history.addAll(archived);
+            history.sort(Comparator.comparing(RoomStatusHistory::getDate).reversed());
+        }
+        return history;
     }
 
     // Get latest status for a room
@@ -234,6 +499,82 @@ public class RoomService {
         return statusHistoryRepository.findByDateOrderByChangedAtDesc(date);
     }
 
+    // ========== PAGINATED LISTS ==========
+
+    /**
+     * Page of rooms ordered by room number. cursor is the value returned as nextCursor
+     * by the previous page (null for the first page); limit is capped at room.pagination.max-page-size.
+     */
+    public CursorPage<RoomDTO> getRoomPage(String cursor, Integer limit) {
+        int size = pageSize(limit);
+        String after = cursor == null ? "" : decodeRoomCursor(cursor);
+        List<RoomDTO> rows = roomRepository.findRoomPage(after, Limit.of(size + 1));
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<RoomDTO> page = rows.subList(0, size);
+        return new CursorPage<>(page, encodeRoomCursor(page.get(size - 1).getRoomNumber()));
+    }
+
+    // Page of a room's status history, newest change first
+    public CursorPage<RoomStatusHistoryDTO> getRoomStatusHistoryPage(String roomNumber, String cursor, Integer limit) {
+        Room room = getRoomByNumber(roomNumber);
+        if (room == null) {
+            throw new RuntimeException("Room with number " + roomNumber + " not found");
+        }
+        int size = pageSize(limit);
+        List<RoomStatusHistoryDTO> rows;
+        if (cursor == null) {
+            rows = statusHistoryRepository.findHistoryPageByRoom(room, Limit.of(size + 1));
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            rows = statusHistoryRepository.findHistoryPageByRoomAfter(room, after.getChangedAt(), after.getId(), Limit.of(size + 1));
+        }
+        return toHistoryPage(rows, size);
+    }
+
+    // Page of all rooms' status history for a date, newest change first
+    public CursorPage<RoomStatusHistoryDTO> getAllRoomsStatusHistoryPageByDate(LocalDate date, String cursor, Integer limit) {
+        int size = pageSize(limit);
+        List<RoomStatusHistoryDTO> rows;
+        if (cursor == null) {
+            rows = statusHistoryRepository.findHistoryPageByDate(date, Limit.of(size + 1));
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            rows = statusHistoryRepository.findHistoryPageByDateAfter(date, after.getChangedAt(), after.getId(), Limit.of(size + 1));
+        }
+        return toHistoryPage(rows, size);
+    }
+
+    // Requested page size, or the default, capped at the maximum
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    // One extra row is fetched to find out whether another page follows
+    private CursorPage<RoomStatusHistoryDTO> toHistoryPage(List<RoomStatusHistoryDTO> rows, int size) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<RoomStatusHistoryDTO> page = rows.subList(0, size);
+        return new CursorPage<>(page, HistoryCursor.after(page.get(size - 1)).encode());
+    }
+
+    private String encodeRoomCursor(String roomNumber) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(roomNumber.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Base64.decode throws IllegalArgumentException for malformed tokens
+    private String decodeRoomCursor(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+
     // Get all rooms with a specific status
     public List<RoomStatusHistory> getRoomsByStatus(RoomStatus status) {
         return statusHistoryRepository.findByStatusOrderByDateDesc(status);
@@ -248,21 +589,83 @@ public class RoomService {
      */
     public void generateHistoryForRoom(Room room, int daysAhead) {
         LocalDate today = LocalDate.now();
-        for (int i = 0; i < daysAhead; i++) {
-            LocalDate date = today.plusDays(i);
-            // skip if already present
-            List<RoomStatusHistory> existing = statusHistoryRepository.findByRoomAndDate(room, date);
-            if (!existing.isEmpty()) continue;
+        Set<String> existing = historyKeys(statusHistoryRepository.findStatusEntriesForRoomBetween(
+                room, today, today.plusDays(daysAhead - 1)));
+        insertMissingHistory(List.of(room), today, daysAhead, existing);
+    }
+
+    /**
+     * Generate missing status history entries for every room for the next n days.
+     * Existing (room, date) pairs are fetched with one query and the new rows are
+     * written in batches of room.history.batch-size. Returns the number of rows created.
+     */
+    public int generateHistoryForAllRooms(int daysAhead) {
+        LocalDate today = LocalDate.now();
+        Set<String> existing = historyKeys(statusHistoryRepository.findStatusEntriesBetween(
+                today, today.plusDays(daysAhead - 1)));
+        return insertMissingHistory(getAllRooms(), today, daysAhead, existing);
+    }
+
+    private int insertMissingHistory(List<Room> rooms, LocalDate startDate, int daysAhead, Set<String> existing) {
+        List<RoomStatusHistory> batch = new ArrayList<>(historyBatchSize);
+        int created = 0;
+        for (Room room : rooms) {
+            for (int i = 0; i < daysAhead; i++) {
+                LocalDate date = startDate.plusDays(i);
+                // skip if already present
+                if (existing.contains(historyKey(room.getRoomId(), date))) continue;
+
+                batch.add(generatedHistory(room, date));
+
+                if (batch.size() >= historyBatchSize) {
+                    created += flushHistoryBatch(batch);
+                }
+            }
+        }
+        created += flushHistoryBatch(batch);
+        return created;
+    }
+
+    // saveAll runs in one transaction, so Hibernate sends the inserts as a single JDBC batch
+    private int flushHistoryBatch(List<RoomStatusHistory> batch) {
+        if (batch.isEmpty()) return 0;
+        statusHistoryRepository.saveAll(batch);
+        int size = recordGeneratedHistory(batch);
+        batch.clear();
+        return size;
+    }
+
+    // A system-generated history row with a random status
+    RoomStatusHistory generatedHistory(Room room, LocalDate date) {
+        RoomStatusHistory history = new RoomStatusHistory();
+        history.setRoom(room);
+        history.setDate(date);
+        history.setStatus(pickRandomStatus());
+        history.setChangedBy("SYSTEM");
+        history.setChangedAt(LocalDateTime.now());
+        return history;
+    }
+
+    // Apply saved generated history rows to the availability index and metrics
+    int recordGeneratedHistory(List<RoomStatusHistory> saved) {
+        for (RoomStatusHistory history : saved) {
+            availabilityIndex.apply(history.getRoom().getRoomId(), history.getDate(), history.getStatus());
+        }
+        statisticsCache.invalidate();
+        historyRowsCounter.increment(saved.size());
+        return saved.size();
+    }
 
-            RoomStatus randomStatus = pickRandomStatus();
-            RoomStatusHistory history = new RoomStatusHistory();
-            history.setRoom(room);
-            history.setDate(date);
-            history.setStatus(randomStatus);
-            history.setChangedBy("SYSTEM");
-            history.setChangedAt(LocalDateTime.now());
-            statusHistoryRepository.save(history);
+    private Set<String> historyKeys(List<RoomStatusEntryDTO> entries) {
+        Set<String> keys = new HashSet<>();
+        for (RoomStatusEntryDTO entry : entries) {
+            keys.add(historyKey(entry.getRoomId(), entry.getDate()));
         }
+        return keys;
+    }
+
+    private String historyKey(String roomId, LocalDate date) {
+        return roomId + "|" + date;
     }
 
     private RoomStatus pickRandomStatus() {
@@ -275,11 +678,41 @@ public class RoomService {
     // scheduled job ensures each room always has at least 30 days of history ahead
     @Scheduled(cron = "0 0 0 * * ?") // every midnight
     public void refreshHistory() {
-        List<Room> rooms = getAllRooms();
-        for (Room r : rooms) {
-            generateHistoryForRoom(r, 30);
+        long start = System.nanoTime();
+        int created = generateHistoryForAllRooms(30);
+        long elapsed = System.nanoTime() - start;
+
+        historyRefreshTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        long rowsPerSecond = elapsed > 0 ? created * 1_000_000_000L / elapsed : 0;
+        historyRefreshRowsPerSecond.set(rowsPerSecond);
+        System.out.println("[Scheduled] room status history refreshed: " + created + " rows in "
+                + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms (" + rowsPerSecond + " rows/s)");
+    }
+
+    // ----------------------- availability index -----------------------
+
+    // Build the in-memory availability index once the application (and DataInitializer) is up
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAvailabilityIndex() {
+        long start = System.currentTimeMillis();
+        availabilityIndex.rebuild(roomRepository.findAll(), statusHistoryRepository.findAllStatusEntries());
+        statisticsCache.invalidate();
+        System.out.println("Availability index built for " + availabilityIndex.roomCount() + " rooms and "
+                + availabilityIndex.dateCount() + " dates in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Compare the availability index with the latest status per (room, date) in the database
+     */
+    public IndexConsistencyDTO checkAvailabilityIndex() {
+        Map<LocalDate, Map<String, RoomStatus>> expected = new HashMap<>();
+        for (RoomStatusEntryDTO entry : statusHistoryRepository.findAllStatusEntries()) {
+            // entries come oldest first, so the last put for a (date, room) is the current status
+            expected.computeIfAbsent(entry.getDate(), d -> new HashMap<>()).put(entry.getRoomId(), entry.getStatus());
         }
-        System.out.println("[Scheduled] room status history refreshed for " + rooms.size() + " rooms");
+        List<String> samples = new ArrayList<>();
+        int mismatches = availabilityIndex.findMismatches(expected, samples, 50);
+        return new IndexConsistencyDTO(availabilityIndex.roomCount(), expected.size(), mismatches, samples);
     }
 
     // ========== ADDITIONAL ENDPOINTS ==========
@@ -288,113 +721,76 @@ public class RoomService {
      * Get room type summary information
      */
     public List<RoomTypeSummaryDTO> getRoomTypeSummary() {
-        // Ensure room types exist (fallback if DataInitializer didn't run)
-        ensureRoomTypesExist();
-        
-        List<RoomTypeEntity> roomTypes = roomTypeRepository.findAll();
-        return roomTypes.stream()
-                .map(entity -> new RoomTypeSummaryDTO(
-                        entity.getRoomType().toString(),
-                        entity.getPricePerNight(),
-                        entity.getRoomType() == RoomType.SINGLE ? 1 : 2, // capacity based on type
-                        entity.getImagePath()
-                ))
-                .toList();
+        return roomTypeService.getRoomTypeSummary();
     }
 
     /**
      * Get room type image path
      */
     public String getRoomTypeImage(RoomType roomType) {
-        // Ensure room types exist (fallback if DataInitializer didn't run)
-        ensureRoomTypesExist();
-        
-        RoomTypeEntity entity = roomTypeRepository.findByRoomType(roomType);
-        return entity != null ? entity.getImagePath() : "Image not found for room type: " + roomType;
+        String imagePath = roomTypeService.getImagePath(roomType);
+        return imagePath != null ? imagePath : "Image not found for room type: " + roomType;
     }
 
     /**
-     * Ensure room types exist in database (fallback method)
+     * Get overall room statistics (served from the statistics cache)
      */
-    private void ensureRoomTypesExist() {
-        // Check and create SINGLE type
-        if (roomTypeRepository.findByRoomType(RoomType.SINGLE) == null) {
-            RoomTypeEntity singleType = new RoomTypeEntity();
-            singleType.setRoomType(RoomType.SINGLE);
-            singleType.setPricePerNight(5000.0);
-            singleType.setImagePath("/Upload/Single.jpg");
-            roomTypeRepository.saveAndFlush(singleType);
-        }
-        
-        // Check and create DOUBLE type
-        if (roomTypeRepository.findByRoomType(RoomType.DOUBLE) == null) {
-            RoomTypeEntity doubleType = new RoomTypeEntity();
-            doubleType.setRoomType(RoomType.DOUBLE);
-            doubleType.setPricePerNight(8000.0);
-            doubleType.setImagePath("/Upload/Double.jpg");
-            roomTypeRepository.saveAndFlush(doubleType);
-        }
-        
-        // Check and create DELUXE type
-        if (roomTypeRepository.findByRoomType(RoomType.DELUXE) == null) {
-            RoomTypeEntity deluxeType = new RoomTypeEntity();
-            deluxeType.setRoomType(RoomType.DELUXE);
-            deluxeType.setPricePerNight(12000.0);
-            deluxeType.setImagePath("/Upload/Deluxe.jpg");
-            roomTypeRepository.saveAndFlush(deluxeType);
-        }
+    public StatisticsDTO getStatistics() {
+        return statisticsCache.getStatistics();
     }
 
     /**
-     * Get overall room statistics
+     * Get statistics broken down by room type (served from the statistics cache)
      */
-    public StatisticsDTO getStatistics() {
-        int totalRooms = (int) roomRepository.count();
-        int availableRooms = getAvailableRooms().size();
-        int occupiedRooms = getOccupiedRooms().size();
-        int maintenanceRooms = getMaintenanceRooms().size();
-
-        return new StatisticsDTO(totalRooms, availableRooms, occupiedRooms, maintenanceRooms);
+    public StatisticsByTypeDTO getStatisticsByType() {
+        return statisticsCache.getStatisticsByType(this::loadStatisticsByType);
     }
 
     /**
-     * Get statistics broken down by room type
+     * Compute statistics broken down by room type.
+     * Uses two grouped queries (totals per type, latest status per type) regardless of how
+     * many rooms there are; prices come from the room type snapshot.
      */
-    public StatisticsByTypeDTO getStatisticsByType() {
-        List<Room> allRooms = getAllRooms();
-        java.util.Map<String, StatisticsByTypeDTO.TypeStatistics> statsMap = new java.util.HashMap<>();
-
-        // Initialize stats for each room type
-        for (RoomType type : RoomType.values()) {
-            RoomTypeEntity typeEntity = roomTypeRepository.findByRoomType(type);
-            double price = typeEntity != null ? typeEntity.getPricePerNight() : 0.0;
-            statsMap.put(type.toString(), new StatisticsByTypeDTO.TypeStatistics(type.toString(), 0, 0, 0, 0, price));
-        }
-
-        // Count rooms by type and status
-        for (Room room : allRooms) {
-            String typeKey = room.getRoomType().toString();
-            StatisticsByTypeDTO.TypeStatistics stats = statsMap.get(typeKey);
-
-            if (stats != null) {
-                stats.setTotal(stats.getTotal() + 1);
-
-                // Get latest status for this room
-                RoomStatusHistory latestStatus = statusHistoryRepository.findLatestStatusByRoom(room);
-                if (latestStatus != null) {
-                    RoomStatus status = latestStatus.getStatus();
-                    if (status == RoomStatus.AVAILABLE) {
-                        stats.setAvailable(stats.getAvailable() + 1);
-                    } else if (status == RoomStatus.OCCUPIED) {
-                        stats.setOccupied(stats.getOccupied() + 1);
-                    } else if (status == RoomStatus.MAINTENANCE) {
-                        stats.setMaintenance(stats.getMaintenance() + 1);
-                    }
-                }
-            }
+    private StatisticsByTypeDTO loadStatisticsByType() {
+        RoomType[] types = RoomType.values();
+        double[] prices = new double[types.length];
+        int[] totals = new int[types.length];
+        // counts indexed by [type][status]
+        int[][] counts = new int[types.length][RoomStatus.values().length];
+
+        for (RoomType type : types) {
+            prices[type.ordinal()] = roomTypeService.getPricePerNight(type);
+        }
+        for (RoomTypeStatusCountDTO row : roomRepository.countRoomsGroupedByType()) {
+            totals[row.getRoomType().ordinal()] = (int) row.getCount();
+        }
+        for (RoomTypeStatusCountDTO row : statusHistoryRepository.countLatestStatusGroupedByRoomType()) {
+            counts[row.getRoomType().ordinal()][row.getStatus().ordinal()] = (int) row.getCount();
+        }
+
+        Map<String, StatisticsByTypeDTO.TypeStatistics> statsMap = new HashMap<>();
+        for (RoomType type : types) {
+            int[] byStatus = counts[type.ordinal()];
+            statsMap.put(type.toString(), new StatisticsByTypeDTO.TypeStatistics(
+                    type.toString(),
+                    totals[type.ordinal()],
+                    byStatus[RoomStatus.AVAILABLE.ordinal()],
+                    byStatus[RoomStatus.OCCUPIED.ordinal()],
+                    byStatus[RoomStatus.MAINTENANCE.ordinal()],
+                    prices[type.ordinal()]));
         }
 
         return new StatisticsByTypeDTO(statsMap);
     }
 
+    // Result of one status change transaction; replayed when an earlier request with the same key already made it
+    private static class StatusChange {
+        private final RoomStatusHistory history;
+        private final boolean replayed;
+
+        StatusChange(RoomStatusHistory history, boolean replayed) {
+            this.history = history;
+            this.replayed = replayed;
+        }
+    }
 }
@@ -0,0 +1,218 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusCountDTO;
+import com.nsbm.group03.roomManagementService.Dto.StatisticsByTypeDTO;
+import com.nsbm.group03.roomManagementService.Dto.StatisticsDTO;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+
+/**
+ * Cache for the dashboard statistics endpoints.
+ * Today's per-status room counters are loaded once per day bucket (from the availability index,
+ * or with a grouped count query before the index is built) and then adjusted on every status change.
+ * Entries older than room.statistics.max-staleness are reloaded on the next read. Changes recorded while
+ * the counters are reloaded are replayed onto the reloaded ones, unless the index sequence they were loaded
+ * at shows they already include them.
+ */
+@Component
+public class RoomStatisticsCache {
+
+    private final RoomRepository roomRepository;
+    private final RoomStatusHistoryRepository statusHistoryRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final long maxStalenessNanos;
+
+    private final Object lock = new Object();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Counters counters;                      // written under lock
+    private volatile CachedStatisticsByType statisticsByType;
+    private List<Change> changedDuringReload;                // guarded by lock
+    private boolean invalidatedDuringReload;                 // guarded by lock
+
+    public RoomStatisticsCache(RoomRepository roomRepository,
+                               RoomStatusHistoryRepository statusHistoryRepository,
+                               RoomAvailabilityIndex availabilityIndex,
+                               @Value("${room.statistics.max-staleness:30s}") Duration maxStaleness) {
+        this.roomRepository = roomRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    // Overall statistics for today
+    public StatisticsDTO getStatistics() {
+        LocalDate today = LocalDate.now();
+        Counters current = counters;
+        if (current == null || !current.isFresh(today, maxStalenessNanos)) {
+            current = reload(today);
+        }
+        return new StatisticsDTO(
+                current.total,
+                current.byStatus.get(RoomStatus.AVAILABLE.ordinal()),
+                current.byStatus.get(RoomStatus.OCCUPIED.ordinal()),
+                current.byStatus.get(RoomStatus.MAINTENANCE.ordinal()));
+    }
+
+    // Statistics by type, recomputed with the given loader when missing, invalidated or stale
+    public StatisticsByTypeDTO getStatisticsByType(Supplier<StatisticsByTypeDTO> loader) {
+        CachedStatisticsByType current = statisticsByType;
+        if (current == null || System.nanoTime() - current.loadedAt > maxStalenessNanos) {
+            current = new CachedStatisticsByType(loader.get(), System.nanoTime());
+            statisticsByType = current;
+        }
+        return current.value;
+    }
+
+    /**
+     * Apply a single status change. previous is the room's status on that date before the
+     * change (null if it had none) and sequence the availability index sequence number after it;
+     * only changes for the cached day bucket touch the counters.
+     */
+    public void recordStatusChange(LocalDate date, RoomStatus previous, RoomStatus current, long sequence) {
+        Change change = new Change(date, previous, current, sequence);
+        synchronized (lock) {
+            Counters bucket = counters;
+            if (bucket != null && !bucket.apply(change)) {
+                counters = null;
+            }
+            if (changedDuringReload != null) changedDuringReload.add(change);
+            // latest status per room may have changed, so the by-type view is recomputed on next read
+            statisticsByType = null;
+        }
+    }
+
+    // Drop everything, e.g. after rooms are added or removed or history is generated in bulk
+    public void invalidate() {
+        synchronized (lock) {
+            counters = null;
+            statisticsByType = null;
+            if (changedDuringReload != null) invalidatedDuringReload = true;
+        }
+    }
+
+    // One reload at a time; readers that waited for it use its result
+    private Counters reload(LocalDate date) {
+        reloadLock.lock();
+        try {
+            Counters current = counters;
+            if (current != null && current.isFresh(date, maxStalenessNanos)) return current;
+
+            synchronized (lock) {
+                changedDuringReload = new ArrayList<>();
+                invalidatedDuringReload = false;
+            }
+            Counters fresh;
+            try {
+                fresh = loadCounters(date);
+            } catch (RuntimeException e) {
+                synchronized (lock) {
+                    changedDuringReload = null;
+                }
+                throw e;
+            }
+            synchronized (lock) {
+                // changes recorded while the counts were loaded; the ones they already include are skipped
+                boolean valid = !invalidatedDuringReload;
+                for (Change change : changedDuringReload) {
+                    valid &= fresh.apply(change);
+                }
+                changedDuringReload = null;
+                // counts that may be wrong are served to this reader only, the next read loads again
+                if (valid) counters = fresh;
+            }
+            return fresh;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Counters loadCounters(LocalDate date) {
+        AtomicIntegerArray byStatus = new AtomicIntegerArray(RoomStatus.values().length);
+        long sequence;
+        if (availabilityIndex.isReady()) {
+            RoomAvailabilityIndex.StatusCounts counts = availabilityIndex.countsOn(date);
+            for (RoomStatus status : RoomStatus.values()) {
+                byStatus.set(status.ordinal(), counts.get(status));
+            }
+            sequence = counts.getSequence();
+        } else {
+            for (RoomStatusCountDTO row : statusHistoryRepository.countLatestStatusByDate(date)) {
+                byStatus.set(row.getStatus().ordinal(), (int) row.getCount());
+            }
+            sequence = Counters.UNKNOWN_SEQUENCE;
+        }
+        return new Counters(date, (int) roomRepository.count(), byStatus, sequence, System.nanoTime());
+    }
+
+    // Per-status counters for one day bucket, as of an availability index sequence number
+    private static class Counters {
+        // loaded by the count query, so it is unknown which index changes they include
+        private static final long UNKNOWN_SEQUENCE = -1;
+
+        private final LocalDate date;
+        private final int total;
+        private final AtomicIntegerArray byStatus;
+        private final long sequence;
+        private final long loadedAt;
+
+        Counters(LocalDate date, int total, AtomicIntegerArray byStatus, long sequence, long loadedAt) {
+            this.date = date;
+            this.total = total;
+            this.byStatus = byStatus;
+            this.sequence = sequence;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isFresh(LocalDate today, long maxStalenessNanos) {
+            return date.equals(today) && System.nanoTime() - loadedAt <= maxStalenessNanos;
+        }
+
+        // Count a change unless these counters already include it; false if that cannot be told
+        boolean apply(Change change) {
+            if (!date.equals(change.date) || change.previous == change.current) return true;
+            if (sequence == UNKNOWN_SEQUENCE) return false;
+            if (change.sequence <= sequence) return true;
+            if (change.previous != null) {
+                byStatus.decrementAndGet(change.previous.ordinal());
+            }
+            byStatus.incrementAndGet(change.current.ordinal());
+            return true;
+        }
+    }
+
+    private static class Change {
+        private final LocalDate date;
+        private final RoomStatus previous;
+        private final RoomStatus current;
+        private final long sequence;
+
+        Change(LocalDate date, RoomStatus previous, RoomStatus current, long sequence) {
+            this.date = date;
+            this.previous = previous;
+            this.current = current;
+            this.sequence = sequence;
+        }
+    }
+
+    private static class CachedStatisticsByType {
+        private final StatisticsByTypeDTO value;
+        private final long loadedAt;
+
+        CachedStatisticsByType(StatisticsByTypeDTO value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusSnapshotDTO;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes room status changes to Server-Sent Events subscribers.
+ * Every change gets a sequence number; the SSE event id ("epoch-sequence") is the resume token.
+ * The most recent changes are kept in a replay buffer so a reconnecting client (Last-Event-ID)
+ * only receives what it missed, as long as the service has not restarted in between.
+ * Each client has its own bounded queue; a client that falls behind has its queue dropped
+ * and receives a snapshot of the current statuses instead.
+ * Events are sent from the application task executor, so they run on virtual threads when
+ * spring.threads.virtual.enabled is set and on its platform thread pool otherwise.
+ */
+@Component
+public class RoomStatusEventPublisher {
+
+    private static final String CHANGE_EVENT = "status-change";
+    private static final String SNAPSHOT_EVENT = "snapshot";
+
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final int replayBufferSize;
+    private final int clientQueueSize;
+    private final long emitterTimeoutMillis;
+
+    private final ArrayDeque<Event> replayBuffer = new ArrayDeque<>();
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+    private final Executor senders;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private long sequence = 0; // guarded by replayBuffer
+    private final Map<String, Long> publishedVersions = new HashMap<>(); // room id -> version of its last change, guarded by replayBuffer
+
+    public RoomStatusEventPublisher(RoomAvailabilityIndex availabilityIndex,
+                                    @Value("${room.events.replay-buffer-size:1024}") int replayBufferSize,
+                                    @Value("${room.events.client-queue-size:256}") int clientQueueSize,
+                                    @Value("${room.events.timeout:30m}") Duration emitterTimeout,
+                                    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor senders) {
+        this.availabilityIndex = availabilityIndex;
+        this.senders = senders;
+        this.replayBufferSize = replayBufferSize;
+        this.clientQueueSize = clientQueueSize;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+    }
+
+    /**
+     * Open a stream. With a lastEventId still in the replay buffer the missed changes are
+     * sent first; otherwise the stream starts with a snapshot.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Client client = new Client(emitter);
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(e -> clients.remove(client));
+
+        Long resumeFrom = parseToken(lastEventId);
+        synchronized (replayBuffer) {
+            Event oldest = replayBuffer.peekFirst();
+            boolean canResume = resumeFrom != null
+                    && resumeFrom <= sequence
+                    && (resumeFrom == sequence || (oldest != null && oldest.sequence <= resumeFrom + 1));
+            if (canResume) {
+                for (Event event : replayBuffer) {
+                    if (event.sequence > resumeFrom) client.offer(event);
+                }
+            } else {
+                client.needsSnapshot = true;
+            }
+            clients.add(client);
+        }
+        client.scheduleDrain();
+        return emitter;
+    }
+
+    /**
+     * Called by RoomService after a committed status change made at the given room version.
+     * Changes of concurrent requests arrive here in any order; one older than a change already
+     * published for the same room is dropped, so clients never see a room go back to an outdated status.
+     */
+    public void publish(RoomStatusHistoryDTO change, long roomVersion) {
+        synchronized (replayBuffer) {
+            Long published = publishedVersions.get(change.getRoomId());
+            if (published != null && published > roomVersion) return;
+            publishedVersions.put(change.getRoomId(), roomVersion);
+            append(change);
+        }
+        scheduleDrains();
+    }
+
+    // caller holds replayBuffer
+    private void append(RoomStatusHistoryDTO change) {
+        Event event = new Event(++sequence, change);
+        replayBuffer.addLast(event);
+        if (replayBuffer.size() > replayBufferSize) {
+            replayBuffer.removeFirst();
+        }
+        for (Client client : clients) {
+            client.offer(event);
+        }
+    }
+
+    private void scheduleDrains() {
+        for (Client client : clients) {
+            client.scheduleDrain();
+        }
+    }
+
+    public int subscriberCount() {
+        return clients.size();
+    }
+
+    // Comment line every 15 seconds keeps proxies from closing idle streams and detects dead clients
+    @Scheduled(fixedRate = 15000)
+    public void heartbeat() {
+        for (Client client : clients) {
+            senders.execute(() -> {
+                try {
+                    client.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    client.close();
+                }
+            });
+        }
+    }
+
+    // The executor belongs to Spring and is shut down with the context
+    @PreDestroy
+    public void shutdown() {
+        for (Client client : clients) {
+            client.emitter.complete();
+        }
+    }
+
+    private String token(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    // Sequence number from a resume token issued by this instance, or null
+    private Long parseToken(String token) {
+        if (token == null || !token.startsWith(epoch + "-")) return null;
+        try {
+            return Long.parseLong(token.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private RoomStatusSnapshotDTO snapshot() {
+        long at;
+        synchronized (replayBuffer) {
+            at = sequence;
+        }
+        LocalDate today = LocalDate.now();
+        return new RoomStatusSnapshotDTO(at, today, availabilityIndex.statusesOn(today));
+    }
+
+    private static class Event {
+        private final long sequence;
+        private final RoomStatusHistoryDTO change;
+
+        Event(long sequence, RoomStatusHistoryDTO change) {
+            this.sequence = sequence;
+            this.change = change;
+        }
+    }
+
+    // One subscriber with its own bounded queue, drained by at most one sender at a time
+    private class Client {
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Event> queue = new ArrayBlockingQueue<>(clientQueueSize);
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private volatile boolean needsSnapshot = false;
+        private volatile boolean closed = false;
+
+        Client(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // Never blocks the publisher: when the queue is full the client is switched to a snapshot
+        void offer(Event event) {
+            if (!queue.offer(event)) {
+                queue.clear();
+                needsSnapshot = true;
+            }
+        }
+
+        void scheduleDrain() {
+            if (closed || !draining.compareAndSet(false, true)) return;
+            senders.execute(this::drain);
+        }
+
+        private void drain() {
+            try {
+                if (needsSnapshot) {
+                    needsSnapshot = false;
+                    queue.clear();
+                    RoomStatusSnapshotDTO snapshot = snapshot();
+                    emitter.send(SseEmitter.event()
+                            .id(token(snapshot.getSequence()))
+                            .name(SNAPSHOT_EVENT)
+                            .data(snapshot, MediaType.APPLICATION_JSON));
+                }
+                List<Event> batch = new ArrayList<>();
+                queue.drainTo(batch);
+                for (Event event : batch) {
+                    emitter.send(SseEmitter.event()
+                            .id(token(event.sequence))
+                            .name(CHANGE_EVENT)
+                            .data(event.change, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && (needsSnapshot || !queue.isEmpty())) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            closed = true;
+            clients.remove(this);
+            try {
+                emitter.completeWithError(new IOException("Status stream client disconnected"));
+            } catch (IllegalStateException e) {
+                // already completed
+            }
+        }
+    }
+}
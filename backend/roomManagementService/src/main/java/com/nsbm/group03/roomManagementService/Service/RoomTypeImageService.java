@@ -0,0 +1,158 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.ImageIO;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+/**
+ * Resolves room type images from the RoomTypeService snapshot instead of the database, and keeps
+ * pre-generated thumbnails next to them. Files are served as Resources by RoomController,
+ * so they are streamed from disk rather than read fully onto the heap.
+ */
+@Service
+public class RoomTypeImageService {
+
+    private final RoomTypeService roomTypeService;
+    private final Path thumbnailDir;
+    private final int thumbnailWidth;
+
+    private final Map<RoomType, ImageEntry> images = new ConcurrentHashMap<>();
+
+    public RoomTypeImageService(RoomTypeService roomTypeService,
+                                @Value("${room.images.thumbnail-dir:${java.io.tmpdir}/room-thumbnails}") String thumbnailDir,
+                                @Value("${room.images.thumbnail-width:320}") int thumbnailWidth) {
+        this.roomTypeService = roomTypeService;
+        this.thumbnailDir = Paths.get(thumbnailDir);
+        this.thumbnailWidth = thumbnailWidth;
+    }
+
+    // Resolve every room type image once and generate the thumbnails up front
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (RoomType type : RoomType.values()) {
+            ImageEntry entry = entryFor(type);
+            if (entry != null) {
+                generateThumbnail(entry);
+            }
+        }
+        System.out.println("Room type images loaded: " + images.size());
+    }
+
+    /**
+     * Image file for a room type, or null if none is configured or the file is missing
+     */
+    public Path getImage(RoomType roomType) {
+        ImageEntry entry = entryFor(roomType);
+        return entry != null && entry.path != null && Files.isRegularFile(entry.path) ? entry.path : null;
+    }
+
+    /**
+     * Thumbnail for a room type, regenerated if the source image changed since it was made.
+     * Returns the original image when no thumbnail can be produced (e.g. unsupported format).
+     */
+    public Path getThumbnail(RoomType roomType) {
+        ImageEntry entry = entryFor(roomType);
+        if (entry == null || entry.path == null || !Files.isRegularFile(entry.path)) return null;
+        if (entry.thumbnailSourceModified != lastModified(entry.path)) {
+            generateThumbnail(entry);
+        }
+        return entry.thumbnail != null ? entry.thumbnail : entry.path;
+    }
+
+    public MediaType getMediaType(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".jpg") || name.endsWith(".jpeg")) {
+            return MediaType.IMAGE_JPEG;
+        } else if (name.endsWith(".png")) {
+            return MediaType.IMAGE_PNG;
+        } else if (name.endsWith(".gif")) {
+            return MediaType.IMAGE_GIF;
+        } else if (name.endsWith(".webp")) {
+            return MediaType.parseMediaType("image/webp");
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    // Entry for the room type's current image path; replaced when RoomTypeService reports a new path
+    private ImageEntry entryFor(RoomType roomType) {
+        String imagePath = roomTypeService.getImagePath(roomType);
+        if (imagePath == null) return null;
+        ImageEntry entry = images.get(roomType);
+        if (entry == null || !Objects.equals(entry.imagePath, imagePath)) {
+            entry = new ImageEntry(roomType, imagePath);
+            images.put(roomType, entry);
+        }
+        return entry;
+    }
+
+    // Scale the source image down to the configured width
+    private synchronized void generateThumbnail(ImageEntry entry) {
+        if (entry.path == null || !Files.isRegularFile(entry.path)) return;
+        long sourceModified = lastModified(entry.path);
+        if (entry.thumbnailSourceModified == sourceModified) return;
+        // remember the attempt even if it fails, so a bad file is not re-read on every request
+        entry.thumbnailSourceModified = sourceModified;
+        try {
+            BufferedImage source = ImageIO.read(entry.path.toFile());
+            if (source == null) {
+                entry.thumbnail = null; // format not supported by ImageIO
+                return;
+            }
+
+            int width = Math.min(thumbnailWidth, source.getWidth());
+            int height = Math.max(1, source.getHeight() * width / source.getWidth());
+            BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = scaled.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+            g.dispose();
+
+            Files.createDirectories(thumbnailDir);
+            Path target = thumbnailDir.resolve(entry.roomType.name().toLowerCase() + "-" + width + ".jpg");
+            ImageIO.write(scaled, "jpg", target.toFile());
+            entry.thumbnail = target;
+        } catch (IOException e) {
+            System.out.println("Could not generate thumbnail for " + entry.roomType + ": " + e.getMessage());
+        }
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    // Image location of one room type and its generated thumbnail
+    private static class ImageEntry {
+        private final RoomType roomType;
+        private final String imagePath;
+        private final Path path;
+        private volatile Path thumbnail;
+        private volatile long thumbnailSourceModified = -1;
+
+        ImageEntry(RoomType roomType, String imagePath) {
+            this.roomType = roomType;
+            this.imagePath = imagePath;
+            this.path = Paths.get(imagePath);
+        }
+    }
+}
@@ -1,5 +1,194 @@
 package com.nsbm.group03.roomManagementService.Service;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomTypeSummaryDTO;
+import com.nsbm.group03.roomManagementService.Entity.RoomTypeEntity;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomTypeRepository;
+
+/**
+ * Room type data (price, image, capacity) served from an immutable in-memory snapshot.
+ * The snapshot is loaded once at startup and replaced as a whole whenever a room type
+ * is changed through this service, so reads never touch the database.
+ */
+@Service
 public class RoomTypeService {
-    
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomStatisticsCache statisticsCache;
+
+    private final AtomicReference<Map<RoomType, RoomTypeInfo>> snapshot = new AtomicReference<>();
+
+    // guards snapshot reloads; a lock rather than synchronized so a virtual thread waiting on JDBC does not pin its carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // ========== SNAPSHOT LOADING ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        ensureRoomTypesExist();
+        reloadSnapshot();
+        System.out.println("Room type snapshot loaded: " + snapshot.get().size() + " types");
+    }
+
+    // Read all room types and swap in a new snapshot
+    private Map<RoomType, RoomTypeInfo> reloadSnapshot() {
+        Map<RoomType, RoomTypeInfo> fresh = new EnumMap<>(RoomType.class);
+        for (RoomTypeEntity entity : roomTypeRepository.findAll()) {
+            fresh.put(entity.getRoomType(), new RoomTypeInfo(
+                    entity.getRoomType(),
+                    entity.getPricePerNight(),
+                    entity.getRoomType() == RoomType.SINGLE ? 1 : 2, // capacity based on type
+                    entity.getImagePath()));
+        }
+        Map<RoomType, RoomTypeInfo> immutable = Collections.unmodifiableMap(fresh);
+        snapshot.set(immutable);
+        return immutable;
+    }
+
+    // Current snapshot; loaded on first use if a request arrives before startup finished
+    private Map<RoomType, RoomTypeInfo> current() {
+        Map<RoomType, RoomTypeInfo> types = snapshot.get();
+        if (types != null) return types;
+        reloadLock.lock();
+        try {
+            types = snapshot.get();
+            return types != null ? types : reloadSnapshot();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // ========== READS ==========
+
+    public RoomTypeInfo getRoomType(RoomType type) {
+        return current().get(type);
+    }
+
+    public List<RoomTypeSummaryDTO> getRoomTypeSummary() {
+        return current().values().stream()
+                .map(info -> new RoomTypeSummaryDTO(
+                        info.getRoomType().toString(),
+                        info.getPricePerNight(),
+                        info.getCapacity(),
+                        info.getImagePath()))
+                .toList();
+    }
+
+    public String getImagePath(RoomType type) {
+        RoomTypeInfo info = current().get(type);
+        return info != null ? info.getImagePath() : null;
+    }
+
+    public double getPricePerNight(RoomType type) {
+        RoomTypeInfo info = current().get(type);
+        return info != null ? info.getPricePerNight() : 0.0;
+    }
+
+    // ========== MUTATIONS ==========
+
+    /**
+     * Update the price of a room type (null leaves it unchanged) and publish a new snapshot
+     */
+    public RoomTypeSummaryDTO updateRoomType(RoomType type, Double pricePerNight) {
+        RoomTypeInfo info;
+        reloadLock.lock();
+        try {
+            RoomTypeEntity entity = roomTypeRepository.findByRoomType(type);
+            if (entity == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Room type " + type + " not found");
+            }
+            if (pricePerNight != null) {
+                entity.setPricePerNight(pricePerNight);
+            }
+            roomTypeRepository.save(entity);
+            info = reloadSnapshot().get(type);
+        } finally {
+            reloadLock.unlock();
+        }
+
+        statisticsCache.invalidate(); // statistics by type include the price
+        return new RoomTypeSummaryDTO(info.getRoomType().toString(), info.getPricePerNight(), info.getCapacity(), info.getImagePath());
+    }
+
+    /**
+     * Ensure room types exist in database (fallback if DataInitializer didn't run)
+     */
+    private void ensureRoomTypesExist() {
+        // Check and create SINGLE type
+        if (roomTypeRepository.findByRoomType(RoomType.SINGLE) == null) {
+            RoomTypeEntity singleType = new RoomTypeEntity();
+            singleType.setRoomType(RoomType.SINGLE);
+            singleType.setPricePerNight(5000.0);
+            singleType.setImagePath("/Upload/Single.jpg");
+            roomTypeRepository.saveAndFlush(singleType);
+        }
+
+        // Check and create DOUBLE type
+        if (roomTypeRepository.findByRoomType(RoomType.DOUBLE) == null) {
+            RoomTypeEntity doubleType = new RoomTypeEntity();
+            doubleType.setRoomType(RoomType.DOUBLE);
+            doubleType.setPricePerNight(8000.0);
+            doubleType.setImagePath("/Upload/Double.jpg");
+            roomTypeRepository.saveAndFlush(doubleType);
+        }
+
+        // Check and create DELUXE type
+        if (roomTypeRepository.findByRoomType(RoomType.DELUXE) == null) {
+            RoomTypeEntity deluxeType = new RoomTypeEntity();
+            deluxeType.setRoomType(RoomType.DELUXE);
+            deluxeType.setPricePerNight(12000.0);
+            deluxeType.setImagePath("/Upload/Deluxe.jpg");
+            roomTypeRepository.saveAndFlush(deluxeType);
+        }
+    }
+
+    /**
+     * Immutable view of one room type in the snapshot
+     */
+    public static class RoomTypeInfo {
+        private final RoomType roomType;
+        private final double pricePerNight;
+        private final int capacity;
+        private final String imagePath;
+
+        public RoomTypeInfo(RoomType roomType, double pricePerNight, int capacity, String imagePath) {
+            this.roomType = roomType;
+            this.pricePerNight = pricePerNight;
+            this.capacity = capacity;
+            this.imagePath = imagePath;
+        }
+
+        public RoomType getRoomType() {
+            return roomType;
+        }
+
+        public double getPricePerNight() {
+            return pricePerNight;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public String getImagePath() {
+            return imagePath;
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package com.nsbm.group03.roomManagementService.Controller;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomDTO;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * List endpoints never return more than one page, also when the caller sends no cursor or limit;
+ * following X-Next-Cursor reaches every row once.
+ */
+@SpringBootTest(properties = {
+        "room.pagination.default-page-size=2"
+})
+@ActiveProfiles("test")
+class RoomControllerPagingTest {
+
+    @Autowired
+    private RoomController roomController;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Test
+    void getAllRooms_IsCappedAndWalkedWithTheCursor() {
+        for (String number : List.of("P01", "P02", "P03", "P04", "P05")) {
+            roomRepository.save(new Room(null, number, RoomType.SINGLE, 5000.0, 1, RoomStatus.AVAILABLE));
+        }
+
+        ResponseEntity<List<RoomDTO>> first = roomController.getAllRooms(null, null);
+        assertEquals(2, first.getBody().size(), "no limit still gets the default page size");
+
+        List<String> numbers = new ArrayList<>();
+        ResponseEntity<List<RoomDTO>> page = first;
+        while (true) {
+            page.getBody().forEach(room -> numbers.add(room.getRoomNumber()));
+            String cursor = page.getHeaders().getFirst(RoomController.NEXT_CURSOR_HEADER);
+            if (cursor == null) break;
+            page = roomController.getAllRooms(cursor, null);
+            assertTrue(page.getBody().size() <= 2);
+        }
+        assertEquals(roomRepository.count(), numbers.size());
+        assertEquals(numbers.size(), new HashSet<>(numbers).size());
+
+        assertEquals(3, roomController.getAllRooms(null, 3).getBody().size());
+    }
+}
@@ -0,0 +1,145 @@
+package com.nsbm.group03.roomManagementService.Controller;
+
+import com.nsbm.group03.roomManagementService.RoomManagementServiceApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test of the Tomcat connector with platform threads (the default 200-thread pool) and with
+ * virtual threads (spring.threads.virtual.enabled=true). The service is started on H2 once per mode and
+ * each of 500 and 5,000 concurrent keep-alive connections issues GET /api/rooms/{roomNumber}, a blocking
+ * JDBC lookup, in a closed loop. Prints throughput and latency percentiles per mode and connection count
+ * (last run, client and server sharing one CPU: 500 conns platform 247 req/s p99 5225 ms vs virtual 569 req/s
+ * p99 1464 ms; 5,000 conns platform 583 req/s p99 14859 ms vs virtual 712 req/s p99 9641 ms).
+ * Takes about two minutes and needs ~10k open files, run with -Dloadtest=true.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class VirtualThreadLoadTest {
+
+    private static final int[] CONNECTIONS = {500, 5_000};
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final Duration MEASURE = Duration.ofSeconds(15);
+
+    @Test
+    void platformThreadsVersusVirtualThreads() throws Exception {
+        System.out.printf("%-9s %6s %10s %9s %9s %9s %7s%n", "threads", "conns", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext app = start(virtual)) {
+                int port = Integer.parseInt(app.getEnvironment().getProperty("local.server.port"));
+                for (int connections : CONNECTIONS) {
+                    Result result = run(port, connections);
+                    System.out.printf("%-9s %6d %10.0f %9.1f %9.1f %9.1f %7d%n",
+                            virtual ? "virtual" : "platform", connections, result.throughput(),
+                            result.percentile(50), result.percentile(99), result.percentile(100), result.errors);
+                    assertTrue(result.latencies.length > 0, "no request completed");
+                }
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(RoomManagementServiceApplication.class).profiles("test").run(
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.port=0",
+                "--server.tomcat.max-connections=10000",
+                "--server.tomcat.accept-count=1000",
+                "--spring.main.banner-mode=off");
+    }
+
+    // Closed loop: every connection sends its next request as soon as the previous one is answered
+    private Result run(int port, int connections) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        long measureFrom = System.nanoTime() + WARM_UP.toNanos();
+        long measureUntil = measureFrom + MEASURE.toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        List<Future<long[]>> workers = new ArrayList<>(connections);
+        try (ExecutorService drivers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < connections; c++) {
+                URI uri = URI.create("http://localhost:" + port + "/api/rooms/" + (101 + c % 10));
+                workers.add(drivers.submit(() -> {
+                    HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    long now;
+                    while ((now = System.nanoTime()) < measureUntil) {
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long done = System.nanoTime();
+                        // requests answered inside the window count, even if sent during warm-up
+                        if (done < measureFrom || done > measureUntil) continue;
+                        if (!ok) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+                        samples[count++] = done - now;
+                    }
+                    return Arrays.copyOf(samples, count);
+                }));
+            }
+        }
+        client.shutdownNow();
+
+        int total = 0;
+        List<long[]> all = new ArrayList<>(connections);
+        for (Future<long[]> worker : workers) {
+            long[] samples = worker.get();
+            all.add(samples);
+            total += samples.length;
+        }
+        long[] latencies = new long[total];
+        int at = 0;
+        for (long[] samples : all) {
+            System.arraycopy(samples, 0, latencies, at, samples.length);
+            at += samples.length;
+        }
+        Arrays.sort(latencies);
+        return new Result(latencies, errors.get());
+    }
+
+    private static class Result {
+        private final long[] latencies; // sorted, nanoseconds
+        private final long errors;
+
+        Result(long[] latencies, long errors) {
+            this.latencies = latencies;
+            this.errors = errors;
+        }
+
+        double throughput() {
+            return latencies.length / (double) MEASURE.toSeconds();
+        }
+
+        double percentile(int p) {
+            if (latencies.length == 0) return 0;
+            int index = (int) Math.ceil(p / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import com.nsbm.group03.roomManagementService.Dto.HistoryCursor;
+import com.nsbm.group03.roomManagementService.Dto.RoomDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryDTO;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class RoomHistoryKeysetPageTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 5);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomStatusHistoryRepository statusHistoryRepository;
+
+    private Room room;
+
+    // 25 rooms; room R00 gets 23 changes on DATE, several sharing the same changedAt
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 25; i++) {
+            Room r = new Room(null, String.format("R%02d", i), RoomType.DOUBLE, 8000.0, 2, RoomStatus.AVAILABLE);
+            entityManager.persist(r);
+            if (i == 0) room = r;
+        }
+        RoomStatus[] statuses = RoomStatus.values();
+        LocalDateTime base = DATE.atStartOfDay();
+        for (int i = 0; i < 23; i++) {
+            entityManager.persist(new RoomStatusHistory(null, room, DATE, statuses[i % statuses.length], "ADMIN",
+                    base.plusMinutes(i / 4)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void historyPageByRoom_WalksEveryRowOnceInOrder() {
+        List<RoomStatusHistoryDTO> all = new ArrayList<>();
+        List<RoomStatusHistoryDTO> page = statusHistoryRepository.findHistoryPageByRoom(room, Limit.of(5));
+        while (!page.isEmpty()) {
+            all.addAll(page);
+            HistoryCursor cursor = HistoryCursor.decode(HistoryCursor.after(page.get(page.size() - 1)).encode());
+            page = statusHistoryRepository.findHistoryPageByRoomAfter(room, cursor.getChangedAt(), cursor.getId(), Limit.of(5));
+        }
+
+        assertEquals(23, all.size());
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < all.size(); i++) {
+            assertTrue(ids.add(all.get(i).getId()));
+            assertEquals("R00", all.get(i).getRoomNumber());
+            if (i > 0) {
+                RoomStatusHistoryDTO prev = all.get(i - 1);
+                int byTime = prev.getChangedAt().compareTo(all.get(i).getChangedAt());
+                assertTrue(byTime > 0 || (byTime == 0 && prev.getId().compareTo(all.get(i).getId()) > 0));
+            }
+        }
+    }
+
+    @Test
+    void historyPageByDate_ReturnsOnlyThatDate() {
+        assertEquals(10, statusHistoryRepository.findHistoryPageByDate(DATE, Limit.of(10)).size());
+        assertTrue(statusHistoryRepository.findHistoryPageByDate(DATE.plusDays(1), Limit.of(10)).isEmpty());
+    }
+
+    @Test
+    void roomPage_WalksRoomsByNumber() {
+        List<String> numbers = new ArrayList<>();
+        String after = "";
+        List<RoomDTO> page;
+        while (!(page = roomRepository.findRoomPage(after, Limit.of(7))).isEmpty()) {
+            page.forEach(r -> numbers.add(r.getRoomNumber()));
+            after = page.get(page.size() - 1).getRoomNumber();
+        }
+
+        assertEquals(25, numbers.size());
+        assertEquals("R00", numbers.get(0));
+        assertEquals("R24", numbers.get(24));
+    }
+
+    @Test
+    void decode_RejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> HistoryCursor.decode("not a cursor!"));
+    }
+}
@@ -0,0 +1,164 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusCountDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusEntryDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomTypeStatusCountDTO;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the per-room latest-status lookup used by the old getStatisticsByType
+ * with the grouped aggregate query, on an in-memory H2 database.
+ * Prints statement count and latency for each room count
+ * (last run: 100 rooms 101 vs 1 statements, 1k rooms 1001 vs 1, 10k rooms 10001 vs 1 - about 285 s vs 0.3 s).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class RoomStatisticsQueryBenchmarkTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomStatusHistoryRepository statusHistoryRepository;
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 1_000})
+    void latestStatusCounts_AggregateQueryMatchesPerRoomLookup(int roomCount) {
+        compare(roomCount);
+    }
+
+    // The per-room path takes minutes at this size, run with -Dbenchmark=true
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void latestStatusCounts_TenThousandRooms() {
+        compare(10_000);
+    }
+
+    // Rows of a room that tie on changedAt must still count the room once, with the same status as the lookup
+    @Test
+    void latestStatusCounts_TiedTimestamps_CountEachRoomOnce() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime changedAt = today.atTime(9, 0);
+        Map<String, RoomStatus> latest = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            Room room = new Room(null, "T" + i, RoomType.DOUBLE, 8000.0, 2, RoomStatus.AVAILABLE);
+            entityManager.persist(room);
+            entityManager.persist(new RoomStatusHistory(null, room, today, RoomStatus.AVAILABLE, "SYSTEM", changedAt));
+            entityManager.persist(new RoomStatusHistory(null, room, today, RoomStatus.OCCUPIED, "ADMIN", changedAt));
+            entityManager.persist(new RoomStatusHistory(null, room, today, RoomStatus.MAINTENANCE, "ADMIN", changedAt));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        for (Room room : roomRepository.findAll()) {
+            latest.put(room.getRoomId(), statusHistoryRepository.findLatestStatusByRoom(room).getStatus());
+        }
+        Map<String, Integer> expected = new HashMap<>();
+        for (RoomStatus status : latest.values()) {
+            expected.merge(status.name(), 1, Integer::sum);
+        }
+
+        Map<String, Integer> byType = new HashMap<>();
+        for (RoomTypeStatusCountDTO row : statusHistoryRepository.countLatestStatusGroupedByRoomType()) {
+            assertEquals(RoomType.DOUBLE, row.getRoomType());
+            byType.put(row.getStatus().name(), (int) row.getCount());
+        }
+        Map<String, Integer> byDate = new HashMap<>();
+        for (RoomStatusCountDTO row : statusHistoryRepository.countLatestStatusByDate(today)) {
+            byDate.put(row.getStatus().name(), (int) row.getCount());
+        }
+        assertEquals(expected, byType);
+        assertEquals(expected, byDate);
+        assertEquals(20, byType.values().stream().mapToInt(Integer::intValue).sum());
+
+        // the index is rebuilt from the entries in the same order, so its last entry per room is the latest
+        Map<String, RoomStatus> replayed = new HashMap<>();
+        for (RoomStatusEntryDTO entry : statusHistoryRepository.findAllStatusEntries()) {
+            replayed.put(entry.getRoomId(), entry.getStatus());
+        }
+        assertEquals(latest, replayed);
+    }
+
+    private void compare(int roomCount) {
+        seed(roomCount);
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        // Old path: load every room, then one latest-status query per room
+        statistics.clear();
+        long start = System.nanoTime();
+        Map<String, Integer> perRoom = new HashMap<>();
+        for (Room room : roomRepository.findAll()) {
+            RoomStatusHistory latest = statusHistoryRepository.findLatestStatusByRoom(room);
+            perRoom.merge(room.getRoomType() + "/" + latest.getStatus(), 1, Integer::sum);
+        }
+        long perRoomNanos = System.nanoTime() - start;
+        long perRoomStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        // New path: one grouped query
+        statistics.clear();
+        start = System.nanoTime();
+        Map<String, Integer> aggregate = new HashMap<>();
+        for (RoomTypeStatusCountDTO row : statusHistoryRepository.countLatestStatusGroupedByRoomType()) {
+            aggregate.put(row.getRoomType() + "/" + row.getStatus(), (int) row.getCount());
+        }
+        long aggregateNanos = System.nanoTime() - start;
+        long aggregateStatements = statistics.getPrepareStatementCount();
+
+        System.out.printf("[benchmark] %,d rooms: per-room %d statements / %.1f ms, aggregate %d statements / %.1f ms%n",
+                roomCount, perRoomStatements, perRoomNanos / 1e6, aggregateStatements, aggregateNanos / 1e6);
+
+        assertEquals(perRoom, aggregate);
+        assertEquals(roomCount + 1, perRoomStatements);
+        assertEquals(1, aggregateStatements);
+    }
+
+    // Each room gets a generated row and a later manual change, so "latest" is the second row
+    private void seed(int roomCount) {
+        RoomType[] types = RoomType.values();
+        RoomStatus[] statuses = RoomStatus.values();
+        LocalDate today = LocalDate.now();
+        LocalDateTime generatedAt = today.atStartOfDay();
+
+        for (int i = 0; i < roomCount; i++) {
+            RoomType type = types[i % types.length];
+            Room room = new Room(null, "B" + i, type, 5000.0, type == RoomType.SINGLE ? 1 : 2, RoomStatus.AVAILABLE);
+            entityManager.persist(room);
+            entityManager.persist(new RoomStatusHistory(null, room, today, RoomStatus.AVAILABLE, "SYSTEM", generatedAt));
+            entityManager.persist(new RoomStatusHistory(null, room, today, statuses[i % statuses.length], "ADMIN",
+                    generatedAt.plusHours(1).plusNanos(i * 1000L)));
+            if (i % 500 == 499) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
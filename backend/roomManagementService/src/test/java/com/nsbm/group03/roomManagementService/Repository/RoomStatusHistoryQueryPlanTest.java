@@ -0,0 +1,275 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan regression suite for RoomStatusHistoryRepository.
+ * Each repository method is run against H2 with 200 rooms x 30 days of history; the SQL Hibernate
+ * generated is captured and re-run with EXPLAIN ANALYZE, and the test asserts which index the plan
+ * uses and how many rows it reads. A dropped index or a query rewritten so it can no longer use one
+ * shows up as a table scan or a scan count near the table size (6,000+ rows).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryQueryPlanTest$CapturingInspector"
+})
+class RoomStatusHistoryQueryPlanTest {
+
+    private static final int ROOMS = 200;
+    private static final int DAYS = 30;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 1);
+    private static final LocalDate DAY = FIRST_DAY.plusDays(10);
+    private static final String TABLE_SCAN = "ROOM_STATUS_HISTORY.tableScan";
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+    // H2 always adds its own foreign key index on room_id, so room-only lookups may seek either that
+    // index or a composite one starting with room_id (MySQL reuses the composite index for the key)
+    private static final Pattern ROOM_SEEK = Pattern.compile("PUBLIC\\.\\w+: ROOM_ID = ");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RoomStatusHistoryRepository repository;
+
+    private Room room;
+
+    // One row per room and day, plus a manual change for every tenth room (6,020 rows)
+    @BeforeEach
+    void seed() {
+        entityManager.createNativeQuery("INSERT INTO room (room_id, room_number, room_type, price_per_night, capacity, status, version) "
+                + "SELECT 'room-' || X, 'P' || X, CASE MOD(X, 3) WHEN 0 THEN 'SINGLE' WHEN 1 THEN 'DOUBLE' ELSE 'DELUXE' END, "
+                + "5000, 2, 'AVAILABLE', 0 FROM SYSTEM_RANGE(0, " + (ROOMS - 1) + ")").executeUpdate();
+        entityManager.createNativeQuery("INSERT INTO room_status_history (id, room_id, date, status, changed_by, changed_at) "
+                + "SELECT CAST(RANDOM_UUID() AS VARCHAR), 'room-' || MOD(X, " + ROOMS + "), "
+                + "DATEADD(DAY, X / " + ROOMS + ", DATE '" + FIRST_DAY + "'), "
+                + "CASE MOD(X, 3) WHEN 0 THEN 'AVAILABLE' WHEN 1 THEN 'OCCUPIED' ELSE 'MAINTENANCE' END, 'SYSTEM', "
+                + "DATEADD(SECOND, X, TIMESTAMP '" + FIRST_DAY.atStartOfDay() + "') "
+                + "FROM SYSTEM_RANGE(0, " + (ROOMS * DAYS - 1) + ")").executeUpdate();
+        entityManager.createNativeQuery("INSERT INTO room_status_history (id, room_id, date, status, changed_by, changed_at) "
+                + "SELECT CAST(RANDOM_UUID() AS VARCHAR), 'room-' || (X * 10), DATE '" + DAY + "', 'MAINTENANCE', 'ADMIN', "
+                + "TIMESTAMP '" + DAY.atTime(12, 0) + "' FROM SYSTEM_RANGE(0, " + (ROOMS / 10 - 1) + ")").executeUpdate();
+        entityManager.clear();
+        room = entityManager.find(Room.class, "room-7");
+        CapturingInspector.statements.clear();
+    }
+
+    // ========== ROOM ACCESS PATHS (room, date) ==========
+
+    @Test
+    void findByRoomOrderByDateDesc_UsesRoomIndex() {
+        String plan = explain(() -> repository.findByRoomOrderByDateDesc(room), "room-7");
+        assertIndexScan(plan, ROOM_SEEK, DAYS);
+    }
+
+    @Test
+    void findByRoomAndDate_UsesRoomDateIndex() {
+        String plan = explain(() -> repository.findByRoomAndDate(room, DAY), "room-7", DAY);
+        assertIndexScan(plan, index("IDX_RSH_ROOM_DATE"), 2);
+    }
+
+    @Test
+    void findByRoomAndDateBetween_UsesRoomDateIndex() {
+        LocalDate end = DAY.plusDays(6);
+        String plan = explain(() -> repository.findByRoomAndDateBetweenOrderByDateDesc(room, DAY, end), "room-7", DAY, end);
+        assertIndexScan(plan, index("IDX_RSH_ROOM_DATE"), 8);
+    }
+
+    @Test
+    void findByRoomAndStatus_UsesRoomIndex() {
+        String plan = explain(() -> repository.findByRoomAndStatus(room, RoomStatus.OCCUPIED), "room-7", "OCCUPIED");
+        assertIndexScan(plan, ROOM_SEEK, DAYS);
+    }
+
+    @Test
+    void findByRoomAndDateBefore_UsesRoomDateIndex() {
+        String plan = explain(() -> repository.findByRoomAndDateBefore(room, DAY), "room-7", DAY);
+        assertIndexScan(plan, index("IDX_RSH_ROOM_DATE"), 11);
+    }
+
+    @Test
+    void findStatusEntriesForRoomBetween_UsesRoomDateIndex() {
+        LocalDate end = DAY.plusDays(6);
+        String plan = explain(() -> repository.findStatusEntriesForRoomBetween(room, DAY, end), "room-7", DAY, end);
+        assertIndexScan(plan, index("IDX_RSH_ROOM_DATE"), 8);
+    }
+
+    // ========== LATEST CHANGE / HISTORY PAGES (room, changedAt) ==========
+
+    @Test
+    void findLatestStatusByRoom_UsesRoomChangedAtIndex() {
+        String plan = explain(() -> repository.findLatestStatusByRoom(room), "room-7");
+        assertIndexScan(plan, ROOM_SEEK, DAYS);
+    }
+
+    @Test
+    void findHistoryPageByRoom_UsesRoomIndex() {
+        String plan = explain(() -> repository.findHistoryPageByRoom(room, Limit.of(11)), "room-7", 11);
+        assertIndexScan(plan, ROOM_SEEK, DAYS);
+    }
+
+    @Test
+    void findHistoryPageByRoomAfter_UsesRoomIndex() {
+        LocalDateTime changedAt = DAY.atStartOfDay();
+        String plan = explain(() -> repository.findHistoryPageByRoomAfter(room, changedAt, "zzz", Limit.of(11)),
+                "room-7", changedAt, changedAt, "zzz", 11);
+        assertIndexScan(plan, ROOM_SEEK, DAYS);
+    }
+
+    // ========== DATE ACCESS PATHS (date, status) ==========
+
+    @Test
+    void findByDateOrderByChangedAtDesc_UsesDateIndex() {
+        String plan = explain(() -> repository.findByDateOrderByChangedAtDesc(DAY), DAY);
+        assertIndexScan(plan, index("IDX_RSH_DATE_STATUS"), ROOMS + ROOMS / 10);
+    }
+
+    @Test
+    void findOccupiedRoomsByDate_UsesDateStatusIndex() {
+        String plan = explain(() -> repository.findOccupiedRoomsByDate(DAY), DAY);
+        assertIndexScan(plan, index("IDX_RSH_"), ROOMS / 3 + 1);
+    }
+
+    @Test
+    void findAvailableRoomsByDate_UsesDateStatusIndex() {
+        String plan = explain(() -> repository.findAvailableRoomsByDate(DAY), DAY);
+        assertIndexScan(plan, index("IDX_RSH_"), ROOMS / 3 + 1);
+    }
+
+    @Test
+    void findMaintenanceRoomsByDate_UsesDateStatusIndex() {
+        String plan = explain(() -> repository.findMaintenanceRoomsByDate(DAY), DAY);
+        assertIndexScan(plan, index("IDX_RSH_"), ROOMS / 3 + ROOMS / 10 + 1);
+    }
+
+    @Test
+    void findStatusEntriesBetween_UsesDateIndex() {
+        LocalDate end = DAY.plusDays(1);
+        String plan = explain(() -> repository.findStatusEntriesBetween(DAY, end), DAY, end);
+        assertIndexScan(plan, index("IDX_RSH_DATE_STATUS"), 2 * ROOMS + ROOMS / 10);
+    }
+
+    @Test
+    void findRoomIdsWithHistoryBefore_UsesDateIndex() {
+        LocalDate before = FIRST_DAY.plusDays(2);
+        String plan = explain(() -> repository.findRoomIdsWithHistoryBefore(before), before);
+        // H2 range cursors treat the upper bound as inclusive and filter afterwards, so the cutoff day is read too
+        assertIndexScan(plan, index("IDX_RSH_DATE_STATUS"), 3 * ROOMS);
+    }
+
+    @Test
+    void findHistoryPageByDate_UsesDateIndex() {
+        String plan = explain(() -> repository.findHistoryPageByDate(DAY, Limit.of(11)), DAY, 11);
+        assertIndexScan(plan, index("IDX_RSH_DATE_STATUS"), ROOMS + ROOMS / 10);
+    }
+
+    @Test
+    void countLatestStatusByDate_UsesDateAndRoomDateIndexes() {
+        String plan = explain(() -> repository.countLatestStatusByDate(DAY), DAY, DAY, DAY);
+        assertIndexScan(plan, index("IDX_RSH_DATE_STATUS"), ROOMS + ROOMS / 10);
+        assertTrue(plan.contains("IDX_RSH_ROOM_DATE"), "subquery should use the (room, date) index:\n" + plan);
+    }
+
+    // ========== STATUS ACCESS PATHS (status, date) ==========
+
+    @Test
+    void findByStatusAndDateOrderByChangedAtDesc_UsesStatusOrDateIndex() {
+        String plan = explain(() -> repository.findByStatusAndDateOrderByChangedAtDesc(RoomStatus.OCCUPIED, DAY), "OCCUPIED", DAY);
+        assertIndexScan(plan, index("IDX_RSH_"), ROOMS / 3 + 1);
+    }
+
+    @Test
+    void findByStatusOrderByDateDesc_UsesStatusDateIndex() {
+        String plan = explain(() -> repository.findByStatusOrderByDateDesc(RoomStatus.OCCUPIED), "OCCUPIED");
+        assertIndexScan(plan, index("IDX_RSH_STATUS_DATE"), ROOMS * DAYS / 3 + 1);
+    }
+
+    @Test
+    void findByStatusOrderByChangedAtDesc_UsesStatusDateIndex() {
+        String plan = explain(() -> repository.findByStatusOrderByChangedAtDesc(RoomStatus.OCCUPIED), "OCCUPIED");
+        assertIndexScan(plan, index("IDX_RSH_STATUS_DATE"), ROOMS * DAYS / 3 + 1);
+    }
+
+    // ========== WHOLE-TABLE READS ==========
+
+    // Reads every row by design; the per-room MAX(changedAt) lookup must still be an index seek
+    @Test
+    void countLatestStatusGroupedByRoomType_SubqueryUsesRoomChangedAtIndex() {
+        String plan = explain(() -> repository.countLatestStatusGroupedByRoomType());
+        assertTrue(plan.contains("IDX_RSH_ROOM_CHANGED_AT"), "subquery should use the (room, changedAt) index:\n" + plan);
+    }
+
+    // ----------------------- helpers -----------------------
+
+    /**
+     * Run the repository call, then EXPLAIN ANALYZE the first statement it issued with the
+     * given parameter values (in the order they appear in the SQL)
+     */
+    private String explain(Runnable query, Object... params) {
+        CapturingInspector.statements.clear();
+        query.run();
+        assertFalse(CapturingInspector.statements.isEmpty(), "no SQL captured");
+        String sql = CapturingInspector.statements.get(0);
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN ANALYZE " + sql)) {
+                for (int i = 0; i < params.length; i++) {
+                    statement.setObject(i + 1, params[i]);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+    }
+
+    private static Pattern index(String prefix) {
+        return Pattern.compile("PUBLIC\\." + prefix + "\\w*: ");
+    }
+
+    // Plan reads room_status_history through the expected index and at most maxRows rows
+    private void assertIndexScan(String plan, Pattern expectedIndex, int maxRows) {
+        assertFalse(plan.contains(TABLE_SCAN), "unexpected table scan:\n" + plan);
+        assertTrue(expectedIndex.matcher(plan).find(), "expected " + expectedIndex + " in plan:\n" + plan);
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        assertTrue(matcher.find(), "no scanCount in plan:\n" + plan);
+        long scanned = Long.parseLong(matcher.group(1));
+        assertTrue(scanned <= maxRows + 1, "scanned " + scanned + " rows, expected at most " + maxRows + ":\n" + plan);
+    }
+
+    /**
+     * Records the SQL of every statement Hibernate prepares
+     */
+    public static class CapturingInspector implements StatementInspector {
+        private static final long serialVersionUID = 1L;
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusEntryDTO;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomAvailabilityIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 5);
+
+    private RoomAvailabilityIndex index;
+    private Room room101;
+    private Room room102;
+
+    @BeforeEach
+    void setUp() {
+        room101 = new Room("id-101", "101", RoomType.SINGLE, 5000.0, 1, RoomStatus.AVAILABLE);
+        room102 = new Room("id-102", "102", RoomType.SINGLE, 5000.0, 1, RoomStatus.AVAILABLE);
+
+        index = new RoomAvailabilityIndex();
+        index.rebuild(List.of(room102, room101), List.of(
+                new RoomStatusEntryDTO("id-101", DAY, RoomStatus.AVAILABLE),
+                new RoomStatusEntryDTO("id-102", DAY, RoomStatus.AVAILABLE),
+                new RoomStatusEntryDTO("id-102", DAY, RoomStatus.OCCUPIED)));
+    }
+
+    @Test
+    void rebuild_LatestEntryPerRoomAndDateWins() {
+        assertTrue(index.isReady());
+        assertEquals(List.of(room101), index.roomsWithStatus(DAY, RoomStatus.AVAILABLE));
+        assertEquals(RoomStatus.OCCUPIED, index.statusOf("id-102", DAY));
+        assertEquals(1, index.countWithStatus(DAY, RoomStatus.OCCUPIED));
+    }
+
+    @Test
+    void apply_MovesRoomBetweenStatuses() {
+        assertEquals(RoomStatus.OCCUPIED, index.apply("id-102", DAY, RoomStatus.AVAILABLE), "returns the replaced status");
+        assertNull(index.apply("id-102", DAY.plusDays(1), RoomStatus.AVAILABLE));
+
+        assertEquals(List.of(room101, room102), index.roomsWithStatus(DAY, RoomStatus.AVAILABLE));
+        assertEquals(0, index.countWithStatus(DAY, RoomStatus.OCCUPIED));
+    }
+
+    @Test
+    void removeRoom_ClearsAllDates() {
+        index.removeRoom("id-101");
+
+        assertTrue(index.roomsWithStatus(DAY, RoomStatus.AVAILABLE).isEmpty());
+        assertNull(index.statusOf("id-101", DAY));
+        assertEquals(1, index.roomCount());
+    }
+
+    @Test
+    void roomsAvailableForStay_IntersectsNightsAndAppliesFilters() {
+        LocalDate nextDay = DAY.plusDays(1);
+        index.apply("id-101", nextDay, RoomStatus.AVAILABLE);
+        index.apply("id-102", nextDay, RoomStatus.AVAILABLE);
+
+        assertEquals(List.of(room101), index.roomsAvailableForStay(DAY, nextDay.plusDays(1), null, null));
+        assertEquals(List.of(room101, room102), index.roomsAvailableForStay(nextDay, nextDay.plusDays(1), RoomType.SINGLE, 1));
+        assertTrue(index.roomsAvailableForStay(nextDay, nextDay.plusDays(1), RoomType.DOUBLE, null).isEmpty());
+        assertTrue(index.roomsAvailableForStay(nextDay, nextDay.plusDays(1), null, 2).isEmpty());
+        assertTrue(index.roomsAvailableForStay(DAY, nextDay.plusDays(2), null, null).isEmpty()); // no history for the last night
+    }
+
+    @Test
+    void findMismatches_ReportsDifferencesInBothDirections() {
+        Map<LocalDate, Map<String, RoomStatus>> expected = new HashMap<>();
+        expected.put(DAY, new HashMap<>(Map.of("id-101", RoomStatus.MAINTENANCE)));
+
+        List<String> samples = new ArrayList<>();
+        int mismatches = index.findMismatches(expected, samples, 10);
+
+        assertEquals(2, mismatches); // 101 has the wrong status, 102 is missing from the db view
+        assertEquals(2, samples.size());
+    }
+}
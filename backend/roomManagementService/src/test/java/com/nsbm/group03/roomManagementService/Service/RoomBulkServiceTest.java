@@ -0,0 +1,113 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import com.nsbm.group03.roomManagementService.Dto.BulkRowResultDTO;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Enum.BulkRowOutcome;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk import and bulk status updates on H2, with a small chunk size so uploads span several chunks.
+ */
+@SpringBootTest(properties = {
+        "room.bulk.chunk-size=3"
+})
+@ActiveProfiles("test")
+class RoomBulkServiceTest {
+
+    @Autowired
+    private RoomBulkService roomBulkService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomStatusHistoryRepository statusHistoryRepository;
+
+    @Test
+    void importRooms_Csv_ReportsEveryRowAndGeneratesHistory() throws Exception {
+        String upload = String.join("\n",
+                "roomNumber,roomType,pricePerNight,capacity",
+                "B01,SINGLE,4500,1",
+                "B02,deluxe,,",                 // price and capacity from the room type
+                "",
+                "B03,SUITE,1000,2",              // unknown type
+                "B01,DOUBLE,8000,2",             // created by the first chunk
+                "101,DOUBLE,8000,2",             // created by DataInitializer
+                "B04,DOUBLE,-1,2",               // negative price
+                "B05,DOUBLE,8000,2",
+                "B05,SINGLE,4500,1");            // same number again in the same chunk
+        List<BulkRowResultDTO> results = new ArrayList<>();
+        List<Integer> chunkSizes = new ArrayList<>();
+        roomBulkService.importRooms(reader(upload), RoomBulkService.Format.CSV, chunk -> {
+            chunkSizes.add(chunk.size());
+            results.addAll(chunk);
+        });
+
+        assertEquals(List.of(3, 3, 2), chunkSizes);
+        assertEquals(List.of(2L, 3L, 5L, 6L, 7L, 8L, 9L, 10L), results.stream().map(BulkRowResultDTO::getLine).toList());
+        assertEquals(List.of(BulkRowOutcome.CREATED, BulkRowOutcome.CREATED, BulkRowOutcome.INVALID,
+                        BulkRowOutcome.EXISTS, BulkRowOutcome.EXISTS, BulkRowOutcome.INVALID, BulkRowOutcome.CREATED,
+                        BulkRowOutcome.INVALID),
+                results.stream().map(BulkRowResultDTO::getOutcome).toList());
+
+        Room deluxe = roomService.getRoomByNumber("B02");
+        assertEquals(RoomType.DELUXE, deluxe.getRoomType());
+        assertEquals(2, deluxe.getCapacity());
+        assertTrue(deluxe.getPricePerNight() > 0);
+        assertEquals(30, statusHistoryRepository.findByRoomOrderByDateDesc(roomService.getRoomByNumber("B01")).size());
+        assertEquals(RoomType.SINGLE, roomService.getRoomByNumber("B01").getRoomType());
+        assertNull(roomService.getRoomByNumber("B04"));
+        assertEquals(RoomType.DOUBLE, roomService.getRoomByNumber("B05").getRoomType());
+    }
+
+    @Test
+    void updateStatuses_Ndjson_AppliesRowsInOrder() throws Exception {
+        String upload = String.join("\n",
+                "{\"roomNumber\":\"201\",\"status\":\"MAINTENANCE\",\"changedBy\":\"BULK\"}",
+                "{\"roomNumber\":\"202\",\"status\":\"OCCUPIED\"}",
+                "{\"roomNumber\":\"201\",\"status\":\"OCCUPIED\",\"changedBy\":\"BULK\"}",
+                "{\"roomNumber\":\"999\",\"status\":\"OCCUPIED\"}",
+                "{\"roomNumber\":\"203\",\"status\":\"CLOSED\"}",
+                "not json");
+        List<BulkRowResultDTO> results = new ArrayList<>();
+        roomBulkService.updateStatuses(reader(upload), RoomBulkService.Format.NDJSON, results::addAll);
+
+        assertEquals(List.of(BulkRowOutcome.UPDATED, BulkRowOutcome.UPDATED, BulkRowOutcome.UPDATED,
+                        BulkRowOutcome.NOT_FOUND, BulkRowOutcome.INVALID, BulkRowOutcome.INVALID),
+                results.stream().map(BulkRowResultDTO::getOutcome).toList());
+        assertEquals(RoomStatus.OCCUPIED, roomService.getRoomByNumber("201").getStatus());
+        assertEquals(RoomStatus.OCCUPIED, roomService.getRoomByNumber("202").getStatus());
+        // changedBy defaults to ADMIN, as for single status changes
+        assertEquals(1, statusHistoryRepository.findByRoomOrderByDateDesc(roomService.getRoomByNumber("202")).stream()
+                .filter(row -> row.getDate().equals(LocalDate.now()) && "ADMIN".equals(row.getChangedBy()))
+                .count());
+    }
+
+    @Test
+    void updateStatuses_UnchangedStatus_StillBumpsRoomVersion() throws Exception {
+        Room before = roomService.getRoomByNumber("204");
+        String upload = "{\"roomNumber\":\"204\",\"status\":\"" + before.getStatus() + "\"}";
+        roomBulkService.updateStatuses(reader(upload), RoomBulkService.Format.NDJSON, results -> {});
+
+        // the forced increment is what makes a concurrent single change of the room fail
+        assertTrue(roomService.getRoomByNumber("204").getVersion() > before.getVersion());
+    }
+
+    private BufferedReader reader(String upload) {
+        return new BufferedReader(new StringReader(upload));
+    }
+}
@@ -0,0 +1,111 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryArchiveRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({RoomHistoryArchiveService.class, RoomAvailabilityIndex.class})
+class RoomHistoryArchiveServiceTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2026, 3, 1);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RoomHistoryArchiveService archiveService;
+
+    @Autowired
+    private RoomStatusHistoryRepository statusHistoryRepository;
+
+    @Autowired
+    private RoomStatusHistoryArchiveRepository archiveRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    private Room room;
+
+    // One row per day from 2026-01-01 to 2026-03-31, plus a second change on 2026-02-10
+    @BeforeEach
+    void seed() {
+        room = new Room(null, "301", RoomType.DELUXE, 12000.0, 2, RoomStatus.AVAILABLE);
+        entityManager.persist(room);
+        RoomStatus[] statuses = RoomStatus.values();
+        for (LocalDate day = LocalDate.of(2026, 1, 1); day.isBefore(LocalDate.of(2026, 4, 1)); day = day.plusDays(1)) {
+            entityManager.persist(new RoomStatusHistory(null, room, day, statuses[day.getDayOfMonth() % statuses.length],
+                    "SYSTEM", day.atStartOfDay()));
+        }
+        entityManager.persist(new RoomStatusHistory(null, room, LocalDate.of(2026, 2, 10), RoomStatus.MAINTENANCE,
+                "MAINTENANCE", LocalDate.of(2026, 2, 10).atTime(9, 30)));
+        entityManager.flush();
+        entityManager.clear();
+        availabilityIndex.rebuild(List.of(room), statusHistoryRepository.findAllStatusEntries());
+    }
+
+    @Test
+    void archiveBefore_MovesOldMonthsIntoCompressedChunks() {
+        List<RoomStatusHistory> before = statusHistoryRepository.findByRoomAndDateBetweenOrderByDateDesc(
+                room, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 28));
+
+        int moved = archiveService.archiveBefore(CUTOFF);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(31 + 28 + 1, moved);
+        assertEquals(before.size(), moved);
+        assertEquals(31, statusHistoryRepository.count());
+        assertEquals(2, archiveRepository.count()); // January and February
+        assertNull(availabilityIndex.statusOf(room.getRoomId(), LocalDate.of(2026, 2, 10)));
+        assertNotNull(availabilityIndex.statusOf(room.getRoomId(), CUTOFF));
+
+        List<RoomStatusHistory> archived = archiveService.findArchived(room, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 28));
+        Comparator<RoomStatusHistory> byId = Comparator.comparing(RoomStatusHistory::getId);
+        before.sort(byId);
+        archived.sort(byId);
+        assertEquals(before.size(), archived.size());
+        for (int i = 0; i < before.size(); i++) {
+            assertEquals(before.get(i).getId(), archived.get(i).getId());
+            assertEquals(before.get(i).getDate(), archived.get(i).getDate());
+            assertEquals(before.get(i).getStatus(), archived.get(i).getStatus());
+            assertEquals(before.get(i).getChangedBy(), archived.get(i).getChangedBy());
+            assertEquals(before.get(i).getChangedAt(), archived.get(i).getChangedAt());
+        }
+    }
+
+    @Test
+    void findArchived_FiltersToTheRequestedDays() {
+        archiveService.archiveBefore(CUTOFF);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<RoomStatusHistory> rows = archiveService.findArchived(room, LocalDate.of(2026, 2, 9), LocalDate.of(2026, 2, 11));
+        assertEquals(4, rows.size()); // three days plus the extra change on the 10th
+        assertTrue(rows.stream().allMatch(r -> "301".equals(r.getRoom().getRoomNumber())));
+    }
+
+    @Test
+    void archiveBefore_IsIdempotent() {
+        archiveService.archiveBefore(CUTOFF);
+        assertEquals(0, archiveService.archiveBefore(CUTOFF));
+    }
+}
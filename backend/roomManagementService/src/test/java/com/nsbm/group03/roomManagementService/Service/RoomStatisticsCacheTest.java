@@ -0,0 +1,136 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusCountDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusEntryDTO;
+import com.nsbm.group03.roomManagementService.Dto.StatisticsDTO;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoomStatisticsCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private RoomRepository roomRepository;
+    private RoomStatusHistoryRepository statusHistoryRepository;
+    private RoomAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        roomRepository = mock(RoomRepository.class);
+        statusHistoryRepository = mock(RoomStatusHistoryRepository.class);
+        when(roomRepository.count()).thenReturn(3L);
+
+        index = new RoomAvailabilityIndex();
+        index.rebuild(List.of(room("101"), room("102"), room("103")), List.of(
+                new RoomStatusEntryDTO("id-101", TODAY, RoomStatus.AVAILABLE),
+                new RoomStatusEntryDTO("id-102", TODAY, RoomStatus.AVAILABLE),
+                new RoomStatusEntryDTO("id-103", TODAY, RoomStatus.OCCUPIED)));
+    }
+
+    @Test
+    void recordedChanges_AdjustCountersWithoutReloading() {
+        RoomStatisticsCache cache = cache(Duration.ofHours(1));
+        assertCounts(cache.getStatistics(), 2, 1, 0);
+
+        change(cache, "id-101", RoomStatus.MAINTENANCE);
+        change(cache, "id-103", RoomStatus.AVAILABLE);
+        cache.recordStatusChange(TODAY.plusDays(1), null, RoomStatus.OCCUPIED, Long.MAX_VALUE); // other day bucket
+
+        assertCounts(cache.getStatistics(), 2, 0, 1);
+        verify(roomRepository, times(1)).count();
+    }
+
+    @Test
+    void staleCounters_AreReloaded() {
+        RoomStatisticsCache fresh = cache(Duration.ofHours(1));
+        RoomStatisticsCache stale = cache(Duration.ZERO);
+        assertCounts(fresh.getStatistics(), 2, 1, 0);
+        assertCounts(stale.getStatistics(), 2, 1, 0);
+
+        // a change the caches are not told about only shows up after a reload
+        index.apply("id-101", TODAY, RoomStatus.OCCUPIED);
+
+        assertCounts(fresh.getStatistics(), 2, 1, 0);
+        assertCounts(stale.getStatistics(), 1, 2, 0);
+    }
+
+    @Test
+    void indexNotReady_CountsWithQuery_AndDropsCountersOnChange() {
+        when(statusHistoryRepository.countLatestStatusByDate(TODAY)).thenReturn(List.of(
+                new RoomStatusCountDTO(RoomStatus.AVAILABLE, 1L),
+                new RoomStatusCountDTO(RoomStatus.MAINTENANCE, 2L)));
+        RoomStatisticsCache cache = new RoomStatisticsCache(roomRepository, statusHistoryRepository,
+                new RoomAvailabilityIndex(), Duration.ofHours(1));
+
+        assertCounts(cache.getStatistics(), 1, 0, 2);
+        verify(statusHistoryRepository, times(1)).countLatestStatusByDate(TODAY);
+
+        // the query counts cannot tell whether they include a change, so the next read counts again
+        cache.recordStatusChange(TODAY, RoomStatus.MAINTENANCE, RoomStatus.AVAILABLE, 1);
+        cache.getStatistics();
+        verify(statusHistoryRepository, times(2)).countLatestStatusByDate(TODAY);
+    }
+
+    @Test
+    void changesDuringReload_AreReplayedOnce() {
+        RoomStatisticsCache cache = cache(Duration.ZERO);
+        // made before the reload reads the index, but recorded while it runs: already counted
+        long earlier = index.apply("id-101", TODAY, RoomStatus.OCCUPIED, 1).getSequence();
+        // made and recorded while the reload runs, after it read the index: replayed
+        when(roomRepository.count()).thenAnswer(invocation -> {
+            cache.recordStatusChange(TODAY, RoomStatus.AVAILABLE, RoomStatus.OCCUPIED, earlier);
+            change(cache, "id-102", RoomStatus.MAINTENANCE);
+            return 3L;
+        });
+
+        assertCounts(cache.getStatistics(), 0, 2, 1);
+    }
+
+    @Test
+    void invalidateDuringReload_ResultIsNotKept() {
+        RoomStatisticsCache cache = cache(Duration.ofHours(1));
+        when(roomRepository.count()).thenAnswer(invocation -> {
+            cache.invalidate();
+            return 3L;
+        }).thenReturn(3L);
+
+        assertCounts(cache.getStatistics(), 2, 1, 0);
+        assertCounts(cache.getStatistics(), 2, 1, 0);
+        verify(roomRepository, times(2)).count();
+        assertCounts(cache.getStatistics(), 2, 1, 0);
+        verify(roomRepository, times(2)).count();
+    }
+
+    private RoomStatisticsCache cache(Duration maxStaleness) {
+        return new RoomStatisticsCache(roomRepository, statusHistoryRepository, index, maxStaleness);
+    }
+
+    // A committed status change as RoomService propagates it: index first, then the cache
+    private void change(RoomStatisticsCache cache, String roomId, RoomStatus status) {
+        RoomAvailabilityIndex.Update update = index.apply(roomId, TODAY, status, Long.MAX_VALUE);
+        cache.recordStatusChange(TODAY, update.getPrevious(), status, update.getSequence());
+    }
+
+    private void assertCounts(StatisticsDTO statistics, int available, int occupied, int maintenance) {
+        assertEquals(3, statistics.getTotalRooms());
+        assertEquals(available, statistics.getAvailableRooms(), "available");
+        assertEquals(occupied, statistics.getOccupiedRooms(), "occupied");
+        assertEquals(maintenance, statistics.getMaintenanceRooms(), "maintenance");
+    }
+
+    private static Room room(String number) {
+        return new Room("id-" + number, number, RoomType.SINGLE, 5000.0, 1, RoomStatus.AVAILABLE);
+    }
+}
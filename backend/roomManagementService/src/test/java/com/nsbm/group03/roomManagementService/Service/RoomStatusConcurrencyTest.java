@@ -0,0 +1,174 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import com.nsbm.group03.roomManagementService.Dto.IndexConsistencyDTO;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers one room with status changes from 64 threads on H2 and checks that every request is
+ * recorded exactly once: no lost room updates and no duplicate history rows, even when requests
+ * are repeated with the same Idempotency-Key, and the availability index ends up matching the database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=16"
+})
+@ActiveProfiles("test")
+class RoomStatusConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final String ROOM = "101"; // created by DataInitializer
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomStatusHistoryRepository statusHistoryRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Test
+    void concurrentStatusChanges_EachRequestRecordedExactlyOnce() throws Exception {
+        Room before = roomService.getRoomByNumber(ROOM);
+        RoomStatus[] statuses = RoomStatus.values();
+        AtomicInteger exhausted = new AtomicInteger();
+
+        List<String[]> results = runConcurrently(i -> {
+            String key = "stress-" + i;
+            RoomStatus status = statuses[i % statuses.length];
+            String first = changeUntilCommitted(key, status, exhausted);
+            // duplicate delivery of the same request must not add a row
+            String repeated = roomService.updateRoomStatus(ROOM, status, "STRESS", key).getId();
+            return new String[] {first, repeated};
+        });
+
+        Set<String> returnedIds = new HashSet<>();
+        for (String[] result : results) {
+            assertEquals(result[0], result[1], "repeated request returned a different history row");
+            returnedIds.add(result[0]);
+        }
+        assertEquals(THREADS, returnedIds.size());
+
+        Room after = roomService.getRoomByNumber(ROOM);
+        List<RoomStatusHistory> rows = new ArrayList<>(statusHistoryRepository.findByRoomOrderByDateDesc(after));
+        rows.removeIf(row -> row.getIdempotencyKey() == null || !row.getIdempotencyKey().startsWith("stress-"));
+        assertEquals(THREADS, rows.size(), "history rows for " + THREADS + " requests");
+        Set<String> rowIds = new HashSet<>();
+        Set<String> keys = new HashSet<>();
+        for (RoomStatusHistory row : rows) {
+            rowIds.add(row.getId());
+            keys.add(row.getIdempotencyKey());
+        }
+        assertEquals(returnedIds, rowIds);
+        assertEquals(THREADS, keys.size());
+
+        // every committed change bumped the version, and the room holds the status of the last one
+        assertTrue(after.getVersion() >= before.getVersion() + THREADS,
+                "version " + before.getVersion() + " -> " + after.getVersion());
+        RoomStatusHistory last = rows.stream().max(Comparator.comparing(RoomStatusHistory::getChangedAt)).orElseThrow();
+        assertEquals(last.getStatus(), after.getStatus());
+
+        // the after-commit index updates arrived in any order, yet the index agrees with the database
+        assertEquals(after.getStatus(), availabilityIndex.statusOf(after.getRoomId(), last.getDate()));
+        IndexConsistencyDTO consistency = roomService.checkAvailabilityIndex();
+        assertTrue(consistency.isConsistent(), "index differs from the database: " + consistency.getMismatches());
+
+        System.out.printf("[stress] %d threads, %d requests exhausted the service retries and were resent%n",
+                THREADS, exhausted.get());
+    }
+
+    @Test
+    void concurrentDuplicates_SameKeyRecordedOnce() throws Exception {
+        String key = "duplicate-" + System.nanoTime();
+        AtomicInteger exhausted = new AtomicInteger();
+
+        List<String> ids = runConcurrently(i -> changeUntilCommitted(key, RoomStatus.MAINTENANCE, exhausted));
+
+        assertEquals(1, new HashSet<>(ids).size(), "all duplicates should return the same history row");
+        RoomStatusHistory row = statusHistoryRepository.findByIdempotencyKey(key);
+        assertNotNull(row);
+        assertEquals(ids.get(0), row.getId());
+    }
+
+    @Test
+    void statusChangeForDate_VersionedAndIdempotent() {
+        Room before = roomService.getRoomByNumber(ROOM);
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        RoomStatus status = before.getStatus() == RoomStatus.MAINTENANCE ? RoomStatus.OCCUPIED : RoomStatus.MAINTENANCE;
+        String key = "for-date-" + System.nanoTime();
+
+        RoomStatusHistory first = roomService.updateRoomStatusForDate(ROOM, status, tomorrow, "STRESS", key);
+        RoomStatusHistory repeated = roomService.updateRoomStatusForDate(ROOM, status, tomorrow, "STRESS", key);
+
+        assertEquals(first.getId(), repeated.getId(), "repeated request returned a different history row");
+        assertEquals(tomorrow, first.getDate());
+        Room after = roomService.getRoomByNumber(ROOM);
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(before.getStatus(), after.getStatus(), "a change for another date must not touch the room's status");
+        assertEquals(status, availabilityIndex.statusOf(after.getRoomId(), tomorrow));
+        IndexConsistencyDTO consistency = roomService.checkAvailabilityIndex();
+        assertTrue(consistency.isConsistent(), "index differs from the database: " + consistency.getMismatches());
+    }
+
+    // A client that resends with the same key until the change is committed
+    private String changeUntilCommitted(String key, RoomStatus status, AtomicInteger exhausted) {
+        while (true) {
+            try {
+                return roomService.updateRoomStatus(ROOM, status, "STRESS", key).getId();
+            } catch (OptimisticLockingFailureException | PessimisticLockingFailureException e) {
+                exhausted.incrementAndGet();
+            }
+        }
+    }
+
+    private <T> List<T> runConcurrently(Task<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int n = i;
+                futures.add(pool.submit((Callable<T>) () -> {
+                    start.await();
+                    return task.run(n);
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(2, TimeUnit.MINUTES));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private interface Task<T> {
+        T run(int thread) throws Exception;
+    }
+}
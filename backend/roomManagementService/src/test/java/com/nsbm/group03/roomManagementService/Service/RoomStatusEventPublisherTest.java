@@ -0,0 +1,236 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Status stream clients resume from Last-Event-ID with just the changes they missed, and a client
+ * whose queue overflows gets a snapshot instead while the other clients keep receiving every change.
+ * The sender executor can be paused to hold back deliveries and make clients fall behind.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "room.events.client-queue-size=2"
+})
+@ActiveProfiles("test")
+class RoomStatusEventPublisherTest {
+
+    private static final String ROOM = "102"; // created by DataInitializer
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomStatusEventPublisher publisher;
+
+    @Autowired
+    private PausableExecutor senders;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<Stream<String>> openStreams = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void closeStreams() {
+        senders.resume();
+        openStreams.forEach(Stream::close);
+    }
+
+    @Test
+    void reconnect_WithLastEventId_ReceivesOnlyMissedChanges() throws Exception {
+        BlockingQueue<Event> first = open(null);
+        assertEquals("snapshot", next(first).name);
+        roomService.updateRoomStatus(ROOM, RoomStatus.OCCUPIED, "STREAM");
+        Event seen = next(first);
+        assertEquals("status-change", seen.name);
+        assertTrue(seen.data.contains("\"status\":\"OCCUPIED\""), seen.data);
+        openStreams.get(0).close();
+
+        // missed while disconnected
+        roomService.updateRoomStatus(ROOM, RoomStatus.MAINTENANCE, "STREAM");
+        roomService.updateRoomStatus(ROOM, RoomStatus.AVAILABLE, "STREAM");
+
+        BlockingQueue<Event> resumed = open(seen.id);
+        Event maintenance = next(resumed);
+        assertEquals("status-change", maintenance.name, "resumed without a snapshot");
+        assertEquals(token(seen.id, sequence(seen.id) + 1), maintenance.id);
+        assertTrue(maintenance.data.contains("\"status\":\"MAINTENANCE\""), maintenance.data);
+        Event available = next(resumed);
+        assertEquals(token(seen.id, sequence(seen.id) + 2), available.id);
+        assertTrue(available.data.contains("\"status\":\"AVAILABLE\""), available.data);
+        assertNull(resumed.poll(500, TimeUnit.MILLISECONDS), "nothing is sent twice");
+
+        // a token from another instance cannot be resumed
+        assertEquals("snapshot", next(open("0-1")).name);
+    }
+
+    @Test
+    void laggingClient_GetsSnapshot_OthersKeepTheirChanges() throws Exception {
+        BlockingQueue<Event> lagging = open(null);
+        Event start = next(lagging);
+        assertEquals("snapshot", start.name);
+
+        // three changes while nothing is delivered: one more than the client queue holds
+        senders.pause();
+        roomService.updateRoomStatus(ROOM, RoomStatus.OCCUPIED, "STREAM");
+        roomService.updateRoomStatus(ROOM, RoomStatus.MAINTENANCE, "STREAM");
+        roomService.updateRoomStatus(ROOM, RoomStatus.AVAILABLE, "STREAM");
+        long firstChange = sequence(start.id) + 1;
+        // resumes after the first change, so only two are pending for it; the response only
+        // starts with its first event, so wait for the subscription before resuming
+        int subscribers = publisher.subscriberCount();
+        CompletableFuture<BlockingQueue<Event>> connecting = openAsync(token(start.id, firstChange));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (publisher.subscriberCount() == subscribers && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(subscribers + 1, publisher.subscriberCount());
+        senders.resume();
+        BlockingQueue<Event> keepingUp = connecting.get(5, TimeUnit.SECONDS);
+
+        Event snapshot = next(lagging);
+        assertEquals("snapshot", snapshot.name, "the lagging client's queue was dropped");
+        assertEquals(token(start.id, firstChange + 2), snapshot.id);
+        assertTrue(snapshot.data.contains("\"" + ROOM + "\":\"AVAILABLE\""), snapshot.data);
+
+        Event maintenance = next(keepingUp);
+        assertEquals("status-change", maintenance.name);
+        assertTrue(maintenance.data.contains("\"status\":\"MAINTENANCE\""), maintenance.data);
+        assertTrue(next(keepingUp).data.contains("\"status\":\"AVAILABLE\""));
+
+        // after its snapshot the lagging client gets changes again
+        roomService.updateRoomStatus(ROOM, RoomStatus.OCCUPIED, "STREAM");
+        Event afterSnapshot = next(lagging);
+        assertEquals("status-change", afterSnapshot.name);
+        assertEquals(token(start.id, firstChange + 3), afterSnapshot.id);
+        assertEquals(afterSnapshot.id, next(keepingUp).id);
+    }
+
+    private BlockingQueue<Event> open(String lastEventId) throws Exception {
+        return openAsync(lastEventId).get(5, TimeUnit.SECONDS);
+    }
+
+    private CompletableFuture<BlockingQueue<Event>> openAsync(String lastEventId) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/rooms/status-stream"))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofLines()).thenApply(this::read);
+    }
+
+    private BlockingQueue<Event> read(HttpResponse<Stream<String>> response) {
+        assertEquals(200, response.statusCode());
+        openStreams.add(response.body());
+
+        BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+        Thread reader = new Thread(() -> {
+            Event event = new Event();
+            try {
+                for (String line : (Iterable<String>) response.body()::iterator) {
+                    if (line.startsWith("id:")) event.id = line.substring(3);
+                    else if (line.startsWith("event:")) event.name = line.substring(6);
+                    else if (line.startsWith("data:")) event.data = line.substring(5);
+                    else if (line.isEmpty() && event.name != null) {
+                        events.add(event);
+                        event = new Event();
+                    }
+                }
+            } catch (RuntimeException e) {
+                // stream closed by the test
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+        return events;
+    }
+
+    private Event next(BlockingQueue<Event> events) throws InterruptedException {
+        Event event = events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event, "no event within 5 s");
+        return event;
+    }
+
+    // Event ids are "epoch-sequence"
+    private long sequence(String id) {
+        return Long.parseLong(id.substring(id.lastIndexOf('-') + 1));
+    }
+
+    private String token(String sameEpochAs, long sequence) {
+        return sameEpochAs.substring(0, sameEpochAs.lastIndexOf('-') + 1) + sequence;
+    }
+
+    private static class Event {
+        String id;
+        String name;
+        String data;
+    }
+
+    @TestConfiguration
+    static class SenderConfig {
+
+        // replaces Spring Boot's application task executor, which the publisher sends from
+        @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+        PausableExecutor applicationTaskExecutor() {
+            return new PausableExecutor();
+        }
+    }
+
+    // Runs tasks on a thread pool, or holds them back while paused
+    static class PausableExecutor implements Executor {
+        private final ExecutorService threads = Executors.newCachedThreadPool();
+        private final List<Runnable> held = new ArrayList<>();
+        private boolean paused;
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            if (paused) {
+                held.add(task);
+            } else {
+                threads.execute(task);
+            }
+        }
+
+        synchronized void pause() {
+            paused = true;
+        }
+
+        synchronized void resume() {
+            paused = false;
+            held.forEach(threads::execute);
+            held.clear();
+        }
+
+        void shutdown() {
+            threads.shutdownNow();
+        }
+    }
+}
@@ -40,6 +40,13 @@ export default async function handler(req, res) {
 
     const response = await fetch(backendUrl, fetchOptions);
 
+    // Paginated list endpoints send the next page's cursor in a header
+    const nextCursor = response.headers.get('x-next-cursor');
+    if (nextCursor) {
+      res.setHeader('X-Next-Cursor', nextCursor);
+      res.setHeader('Access-Control-Expose-Headers', 'X-Next-Cursor');
+    }
+
     // Handle different content types
     const contentType = response.headers.get('content-type');
     if (contentType && contentType.includes('application/json')) {
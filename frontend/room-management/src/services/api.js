@@ -37,9 +37,23 @@ api.interceptors.response.use(
   }
 );
 
+// List endpoints return one page at a time, with the cursor of the next page in the X-Next-Cursor header.
+// Follows the cursor to the last page and resolves like api.get, with every item in data.
+const getAllPages = async (url, params = {}) => {
+  const items = [];
+  let cursor;
+  let response;
+  do {
+    response = await api.get(url, { params: cursor ? { ...params, cursor } : params });
+    if (Array.isArray(response.data)) items.push(...response.data);
+    cursor = response.headers['x-next-cursor'];
+  } while (cursor);
+  return { ...response, data: items };
+};
+
 export const roomService = {
   // CRUD
-  getAllRooms: () => api.get('/rooms'),
+  getAllRooms: () => getAllPages('/rooms'),
   getRoomByNumber: (roomNumber) => api.get(`/rooms/${roomNumber}`),
   createRoom: (roomData) => api.post('/rooms', roomData),
   deleteRoom: (roomNumber) => api.delete(`/rooms/${roomNumber}`),
@@ -70,13 +84,13 @@ export const roomService = {
     api.post(`/rooms/${roomNumber}/available-after-maintenance`, null, { params: { changedBy } }),
 
   // Status History
-  getStatusHistory: (roomNumber) => api.get(`/rooms/${roomNumber}/status-history`),
+  getStatusHistory: (roomNumber) => getAllPages(`/rooms/${roomNumber}/status-history`),
   getStatusHistoryByDate: (roomNumber, date) =>
     api.get(`/rooms/${roomNumber}/status-history/by-date`, { params: { date } }),
   getStatusHistoryByDateRange: (roomNumber, startDate, endDate) =>
     api.get(`/rooms/${roomNumber}/status-history/by-date-range`, { params: { startDate, endDate } }),
   getLatestRoomStatus: (roomNumber) => api.get(`/rooms/${roomNumber}/latest-status`),
-  getAllRoomsStatusHistoryByDate: (date) => api.get('/rooms/history/by-date', { params: { date } }),
+  getAllRoomsStatusHistoryByDate: (date) => getAllPages('/rooms/history/by-date', { date }),
 };
 
 export const authService = {